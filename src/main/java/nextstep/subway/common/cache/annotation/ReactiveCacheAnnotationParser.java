@@ -1,6 +1,7 @@
 package nextstep.subway.common.cache.annotation;
 
 import nextstep.subway.common.cache.domain.ReactiveCacheEvictOperation;
+import nextstep.subway.common.cache.domain.ReactiveCacheableAllOperation;
 import nextstep.subway.common.cache.domain.ReactiveCacheableOperation;
 import org.springframework.cache.annotation.CacheAnnotationParser;
 import org.springframework.cache.interceptor.CacheOperation;
@@ -21,6 +22,7 @@ public class ReactiveCacheAnnotationParser implements CacheAnnotationParser, Ser
 
     static {
         CACHE_OPERATION_ANNOTATIONS.add(ReactiveCacheable.class);
+        CACHE_OPERATION_ANNOTATIONS.add(ReactiveCacheableAll.class);
         CACHE_OPERATION_ANNOTATIONS.add(ReactiveCacheEvict.class);
         CACHE_OPERATION_ANNOTATIONS.add(ReactiveCaching.class);
     }
@@ -53,6 +55,10 @@ public class ReactiveCacheAnnotationParser implements CacheAnnotationParser, Ser
                 .isAssignableFrom(ReactiveCacheable.class)) {
             annotations.add(parseReactiveCacheableAnnotation(annotatedElement, (ReactiveCacheable) annotation));
         }
+        if (annotation.annotationType()
+                .isAssignableFrom(ReactiveCacheableAll.class)) {
+            annotations.add(parseReactiveCacheableAllAnnotation(annotatedElement, (ReactiveCacheableAll) annotation));
+        }
         if (annotation.annotationType()
                 .isAssignableFrom(ReactiveCacheEvict.class)) {
             annotations.add(parseReactiveCacheEvictAnnotation(annotatedElement, (ReactiveCacheEvict) annotation));
@@ -78,6 +84,15 @@ public class ReactiveCacheAnnotationParser implements CacheAnnotationParser, Ser
                 .build();
     }
 
+    private ReactiveCacheableAllOperation parseReactiveCacheableAllAnnotation(AnnotatedElement annotatedElement, ReactiveCacheableAll cacheableAll) {
+        return ReactiveCacheableAllOperation.builder()
+                .name(annotatedElement.toString())
+                .cacheNames(cacheableAll.value())
+                .key(cacheableAll.key())
+                .elementKey(cacheableAll.elementKey())
+                .build();
+    }
+
     private ReactiveCacheEvictOperation parseReactiveCacheEvictAnnotation(AnnotatedElement annotatedElement, ReactiveCacheEvict cacheEvict) {
         return ReactiveCacheEvictOperation.builder()
                 .name(annotatedElement.toString())
@@ -0,0 +1,30 @@
+package nextstep.subway.common.cache.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 키 컬렉션을 받아 Flux 를 반환하는 메서드의 원소를 키별로 캐시한다.
+ * 적중한 키는 한 번에 조회하고, 적중하지 않은 키만 원본 메서드로 조회해서 한 번에 저장한다.
+ * <pre>
+ * &#64;ReactiveCacheableAll(value = "station", key = "#stationIds", elementKey = "id")
+ * public Flux&lt;Station&gt; findAllById(Set&lt;Long&gt; stationIds)
+ * </pre>
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ReactiveCacheableAll {
+    String value();
+
+    /**
+     * 키 컬렉션 파라미터 (#파라미터명)
+     */
+    String key();
+
+    /**
+     * 반환 원소에서 키를 구하는 SpEL
+     */
+    String elementKey();
+}
@@ -1,16 +1,15 @@
 package nextstep.subway.common.cache.aspect;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
-import nextstep.subway.common.cache.domain.CacheRepository;
 import nextstep.subway.common.cache.domain.ReactiveCacheManager;
+import nextstep.subway.common.cache.domain.ReactiveCacheMetadata;
+import nextstep.subway.common.cache.domain.ReactiveCacheMetadataRegistry;
+import nextstep.subway.common.cache.domain.ReactiveCacheSupport;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
-import org.aspectj.lang.reflect.CodeSignature;
 import org.aspectj.lang.reflect.MethodSignature;
 import org.springframework.core.annotation.Order;
-import org.springframework.expression.spel.support.StandardEvaluationContext;
 import org.springframework.stereotype.Component;
 
 import java.lang.reflect.Method;
@@ -21,30 +20,31 @@ import java.util.function.Function;
 @Order(2)
 @Slf4j
 public class ReactiveCacheAspect {
-    private final CacheRepository<String, Object> cacheRepository;
-    private final ObjectMapper objectMapper;
+    private final ReactiveCacheSupport reactiveCacheSupport;
+    private final ReactiveCacheMetadataRegistry reactiveCacheMetadataRegistry;
 
-    public ReactiveCacheAspect(CacheRepository<String, Object> cacheRepository, ObjectMapper objectMapper) {
-        this.cacheRepository = cacheRepository;
-        this.objectMapper = objectMapper;
+    public ReactiveCacheAspect(ReactiveCacheSupport reactiveCacheSupport,
+                               ReactiveCacheMetadataRegistry reactiveCacheMetadataRegistry) {
+        this.reactiveCacheSupport = reactiveCacheSupport;
+        this.reactiveCacheMetadataRegistry = reactiveCacheMetadataRegistry;
     }
 
     @Around("@annotation(nextstep.subway.common.cache.annotation.ReactiveCacheable)" +
+            " || @annotation(nextstep.subway.common.cache.annotation.ReactiveCacheableAll)" +
             " || @annotation(nextstep.subway.common.cache.annotation.ReactiveCacheEvict)" +
             " || @annotation(nextstep.subway.common.cache.annotation.ReactiveCaching)")
     public Object doAround(ProceedingJoinPoint joinPoint) {
-        Function<String, Object> proceed = getProceed(joinPoint);
-        Method method = getMethod(joinPoint);
-        StandardEvaluationContext standardEvaluationContext = createStandardEvaluationContext(joinPoint);
-        return ReactiveCacheManager.of(cacheRepository::get, cacheRepository::put, cacheRepository::evict, proceed,
-                                       method, standardEvaluationContext, objectMapper)
+        Function<Object[], Object> proceed = getProceed(joinPoint);
+        ReactiveCacheMetadata metadata = reactiveCacheMetadataRegistry.get(getMethod(joinPoint));
+        reactiveCacheMetadataRegistry.registerProxy(metadata, joinPoint.getThis());
+        return ReactiveCacheManager.of(reactiveCacheSupport, proceed, metadata, joinPoint.getArgs())
                 .get();
     }
 
-    private static Function<String, Object> getProceed(ProceedingJoinPoint joinPoint) {
-        return key -> {
+    private static Function<Object[], Object> getProceed(ProceedingJoinPoint joinPoint) {
+        return args -> {
             try {
-                return joinPoint.proceed();
+                return joinPoint.proceed(args);
             } catch (Throwable e) {
                 throw new IllegalStateException(e);
             }
@@ -55,15 +55,4 @@ public class ReactiveCacheAspect {
         MethodSignature methodSignature = (MethodSignature) joinPoint.getSignature();
         return methodSignature.getMethod();
     }
-
-    private StandardEvaluationContext createStandardEvaluationContext(ProceedingJoinPoint joinPoint) {
-        StandardEvaluationContext context = new StandardEvaluationContext();
-        CodeSignature codeSignature = (CodeSignature) joinPoint.getSignature();
-        String[] parameterNames = codeSignature.getParameterNames();
-        Object[] args = joinPoint.getArgs();
-        for (int i = 0; i < parameterNames.length; i++) {
-            context.setVariable(parameterNames[i], args[i]);
-        }
-        return context;
-    }
 }
@@ -0,0 +1,9 @@
+package nextstep.subway.common.cache.codec;
+
+import com.fasterxml.jackson.databind.JavaType;
+
+public interface CacheCodec {
+    byte[] encode(Object value);
+
+    <T> T decode(byte[] bytes, JavaType javaType);
+}
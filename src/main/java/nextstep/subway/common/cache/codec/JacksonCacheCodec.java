@@ -0,0 +1,33 @@
+package nextstep.subway.common.cache.codec;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+
+public class JacksonCacheCodec implements CacheCodec {
+    private final ObjectMapper objectMapper;
+
+    public JacksonCacheCodec(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public byte[] encode(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public <T> T decode(byte[] bytes, JavaType javaType) {
+        try {
+            return objectMapper.readValue(bytes, javaType);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package nextstep.subway.common.cache.domain;
+
+import org.springframework.transaction.NoTransactionException;
+import org.springframework.transaction.reactive.TransactionSynchronization;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+import reactor.core.publisher.Mono;
+
+/**
+ * 바깥 트랜잭션에 참여 중이면 커밋된 뒤에 실행하고, 롤백되면 실행하지 않는다.
+ * 트랜잭션이 없으면 바로 실행한다.
+ */
+class AfterCommitSynchronization implements TransactionSynchronization {
+    private final Mono<Void> action;
+
+    private AfterCommitSynchronization(Mono<Void> action) {
+        this.action = action;
+    }
+
+    // @formatter:off
+    static Mono<Void> afterCommit(Mono<Void> action) {
+        return TransactionSynchronizationManager.forCurrentTransaction()
+                .filter(manager -> manager.isSynchronizationActive() && manager.isActualTransactionActive())
+                .doOnNext(manager -> manager.registerSynchronization(new AfterCommitSynchronization(action)))
+                .map(manager -> true)
+                .onErrorResume(NoTransactionException.class, e -> Mono.empty())
+                .switchIfEmpty(action.thenReturn(true))
+                .then();
+    }
+    // @formatter:on
+
+    @Override
+    public Mono<Void> afterCompletion(int status) {
+        if (status != STATUS_COMMITTED) {
+            return Mono.empty();
+        }
+        return action;
+    }
+}
@@ -0,0 +1,60 @@
+package nextstep.subway.common.cache.domain;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Flux 캐시 헤더
+ * 원소는 {@code key#id#0 ~ key#id#(count - 1)} 청크 키에 나눠서 저장하고, 헤더는 모든 청크 저장이 끝난 뒤 마지막에 저장한다.
+ * 청크 키에 쓰는 쪽마다 다른 id 를 넣으므로 같은 키를 여러 곳에서 동시에 써도 헤더는 자기가 쓴 청크만 가리킨다.
+ * id 가 없는 헤더(이전 형식)는 {@code key#0 ~ key#(count - 1)} 청크를 가리킨다.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+@Getter
+public class CacheChunks implements Serializable {
+    private static final long serialVersionUID = 6208830581423049361L;
+    private static final String CHUNK_KEY_FORMAT = "%s#%d";
+    private static final String ID_CHUNK_KEY_FORMAT = "%s#%s#%d";
+
+    public static final JavaType JAVA_TYPE = TypeFactory.defaultInstance()
+            .constructType(CacheChunks.class);
+
+    private int count;
+    private String id;
+
+    private CacheChunks(int count, String id) {
+        this.count = count;
+        this.id = id;
+    }
+
+    public static CacheChunks of(int count) {
+        return new CacheChunks(count, null);
+    }
+
+    public static CacheChunks of(int count, String id) {
+        return new CacheChunks(count, id);
+    }
+
+    public static String newId() {
+        return Long.toString(ThreadLocalRandom.current()
+                                     .nextLong() & Long.MAX_VALUE, Character.MAX_RADIX);
+    }
+
+    public static String chunkKey(String key, int index) {
+        return String.format(CHUNK_KEY_FORMAT, key, index);
+    }
+
+    public static String chunkKey(String key, String id, int index) {
+        return String.format(ID_CHUNK_KEY_FORMAT, key, id, index);
+    }
+
+    public String getChunkKey(String key, int index) {
+        return id == null ? chunkKey(key, index) : chunkKey(key, id, index);
+    }
+}
@@ -0,0 +1,26 @@
+package nextstep.subway.common.cache.domain;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+/**
+ * 캐시 이름별 세대 번호 저장소
+ * 캐시 키는 세대 번호를 포함하므로 세대 번호를 올리면 이전 세대의 키는 더 이상 조회되지 않고 TTL 로 만료된다.
+ */
+public interface CacheGenerationRepository {
+    Mono<Long> get(String cacheName);
+
+    Mono<Void> increment(Collection<String> cacheNames);
+
+    /**
+     * @return 올린 세대 번호. 읽은 세대 번호 + 1 이 아니면 그 사이에 다른 요청이 올린 것이다.
+     */
+    Mono<Long> incrementAndGet(String cacheName);
+
+    /**
+     * 세대 번호가 바뀐 캐시 이름을 발행한다. 다른 인스턴스에서 바뀐 경우도 포함한다.
+     */
+    Flux<String> changes();
+}
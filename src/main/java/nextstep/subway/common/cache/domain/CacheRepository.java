@@ -1,14 +1,42 @@
 package nextstep.subway.common.cache.domain;
 
+import com.fasterxml.jackson.databind.JavaType;
 import reactor.core.publisher.Mono;
 
 import java.time.Duration;
+import java.util.List;
+import java.util.Map;
 
 public interface CacheRepository<K, V> {
-    Mono<V> get(K id);
+    Mono<V> get(K id, JavaType javaType);
+
+    /**
+     * 읽고 수정해서 다시 쓰는 경우에 사용한다. 로컬 복사본이나 복제 노드를 거치지 않고 마스터에서 읽는다.
+     */
+    default Mono<V> getLatest(K id, JavaType javaType) {
+        return get(id, javaType);
+    }
+
+    /**
+     * 없는 키는 같은 위치에 null 을 담는다.
+     */
+    Mono<List<V>> multiGet(List<K> ids, JavaType javaType);
 
     Mono<V> put(K id, V data);
     Mono<V> put(K id, V data, Duration timeout);
 
+    Mono<Void> multiPut(Map<K, V> data, Duration timeout);
+
+    Mono<Boolean> putIfAbsent(K id, V data, Duration timeout);
+
     Mono<Long> evict(K id);
+
+    Mono<Long> size(K id);
+
+    /**
+     * false 면 호출해도 바로 실패하므로 캐시를 건너뛰고 원본을 호출한다.
+     */
+    default boolean isAvailable() {
+        return true;
+    }
 }
@@ -0,0 +1,16 @@
+package nextstep.subway.common.cache.domain;
+
+/**
+ * 원본에 없는 키를 나타내는 캐시 값
+ * 원본 조회가 비어 있으면 짧은 TTL 로 저장해서, 없는 키를 반복해서 조회해도 원본까지 가지 않게 한다.
+ */
+public final class CacheTombstone {
+    public static final CacheTombstone INSTANCE = new CacheTombstone();
+
+    private CacheTombstone() {
+    }
+
+    public static boolean isTombstone(Object value) {
+        return value == INSTANCE;
+    }
+}
@@ -0,0 +1,12 @@
+package nextstep.subway.common.cache.domain;
+
+/**
+ * 회로가 열려서 Redis 를 호출하지 않은 경우. 원본 메서드로 대체하므로 스택 트레이스를 만들지 않는다.
+ */
+public class CacheUnavailableException extends RuntimeException {
+    private static final long serialVersionUID = 4270319850164735263L;
+
+    public CacheUnavailableException() {
+        super("캐시 저장소를 사용할 수 없습니다.", null, false, false);
+    }
+}
@@ -0,0 +1,201 @@
+package nextstep.subway.common.cache.domain;
+
+import lombok.extern.slf4j.Slf4j;
+import nextstep.subway.common.cache.metrics.ReactiveCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 캐시 저장을 모아서 쓰는 크기 제한 큐
+ * 같은 키를 여러 번 저장하면 마지막 값만 남기고 큐의 끝으로 옮기므로, 키 사이의 저장 순서는 마지막 저장 순서를 따른다.
+ * 한 번에 배치 1개만 파이프라이닝으로 쓰고, Redis 가 느려서 큐가 가득 차면 새 키는 버리고 메트릭으로 남긴다.
+ * 큰 값의 인코딩이 이벤트 루프를 막지 않도록 배치는 boundedElastic 에서 쓴다.
+ * 쓰는 중인 배치의 키를 취소하면 배치를 다 쓴 뒤에 그 키를 다시 삭제한다.
+ */
+@Slf4j
+@Component
+public class CacheWriteBehindQueue {
+    private final CacheRepository<String, Object> cacheRepository;
+    private final ReactiveCacheMetrics metrics;
+    private final int maxPending;
+    private final int batchSize;
+    private final Scheduler scheduler;
+    private final Map<String, PendingWrite> pending = new LinkedHashMap<>();
+    private final Set<String> removedWhileWriting = new HashSet<>();
+    private Set<String> writing = Set.of();
+    private final AtomicBoolean draining = new AtomicBoolean();
+
+    @Autowired
+    public CacheWriteBehindQueue(CacheRepository<String, Object> cacheRepository, ReactiveCacheMetrics metrics,
+                                 @Value("${reactive-cache.write-behind.max-pending:10000}") int maxPending,
+                                 @Value("${reactive-cache.write-behind.batch-size:128}") int batchSize) {
+        this(cacheRepository, metrics, maxPending, batchSize, Schedulers.boundedElastic());
+    }
+
+    CacheWriteBehindQueue(CacheRepository<String, Object> cacheRepository, ReactiveCacheMetrics metrics,
+                          int maxPending, int batchSize, Scheduler scheduler) {
+        if (maxPending < 1 || batchSize < 1) {
+            throw new IllegalArgumentException("쓰기 큐 크기와 배치 크기는 1 이상이어야 합니다.");
+        }
+        this.cacheRepository = cacheRepository;
+        this.metrics = metrics;
+        this.maxPending = maxPending;
+        this.batchSize = batchSize;
+        this.scheduler = scheduler;
+        metrics.writeQueue(this, CacheWriteBehindQueue::size);
+    }
+
+    /**
+     * @return 큐가 가득 찼거나 저장소 회로가 열려 있어서 버렸으면 false
+     */
+    public boolean offer(String cacheName, String key, Object value, Duration timeout) {
+        if (!cacheRepository.isAvailable()) {
+            metrics.writeDropped(cacheName);
+            return false;
+        }
+        synchronized (pending) {
+            PendingWrite previous = pending.remove(key);
+            if (previous == null && pending.size() >= maxPending) {
+                metrics.writeDropped(cacheName);
+                return false;
+            }
+            pending.put(key, new PendingWrite(cacheName, value, timeout));
+            if (previous != null) {
+                metrics.writeCoalesced(cacheName);
+            }
+        }
+        drain();
+        return true;
+    }
+
+    /**
+     * 아직 쓰지 않은 저장을 취소한다. 키를 삭제하기 전에 호출해서 삭제 뒤에 이전 값이 저장되지 않게 한다.
+     * 이미 저장소로 보낸 배치에 들어 있으면 삭제보다 늦게 저장될 수 있으므로 배치를 다 쓴 뒤에 한 번 더 삭제한다.
+     */
+    public void remove(String key) {
+        synchronized (pending) {
+            pending.remove(key);
+            if (writing.contains(key)) {
+                removedWhileWriting.add(key);
+            }
+        }
+    }
+
+    public int size() {
+        synchronized (pending) {
+            return pending.size();
+        }
+    }
+
+    // @formatter:off
+    private void drain() {
+        if (!draining.compareAndSet(false, true)) {
+            return;
+        }
+        Map<Duration, Map<String, PendingWrite>> batch = poll();
+        if (batch.isEmpty()) {
+            draining.set(false);
+            if (size() > 0) {
+                drain();
+            }
+            return;
+        }
+        Flux.fromIterable(batch.entrySet())
+                .concatMap(entry -> write(entry.getKey(), entry.getValue()))
+                .then(Mono.defer(this::evictRemovedWhileWriting))
+                .subscribeOn(scheduler)
+                .doFinally(signal -> {
+                    draining.set(false);
+                    drain();
+                })
+                .subscribe();
+    }
+    // @formatter:on
+
+    /**
+     * 큐 앞에서 배치 크기만큼 꺼내서 TTL 별로 나눈다. 같은 TTL 안에서는 큐 순서를 유지한다.
+     */
+    private Map<Duration, Map<String, PendingWrite>> poll() {
+        Map<Duration, Map<String, PendingWrite>> batch = new LinkedHashMap<>();
+        synchronized (pending) {
+            Iterator<Map.Entry<String, PendingWrite>> iterator = pending.entrySet()
+                    .iterator();
+            for (int i = 0; i < batchSize && iterator.hasNext(); i++) {
+                Map.Entry<String, PendingWrite> entry = iterator.next();
+                batch.computeIfAbsent(entry.getValue().timeout, timeout -> new LinkedHashMap<>())
+                        .put(entry.getKey(), entry.getValue());
+                iterator.remove();
+            }
+            Set<String> keys = new HashSet<>();
+            batch.values()
+                    .forEach(writes -> keys.addAll(writes.keySet()));
+            writing = keys;
+        }
+        return batch;
+    }
+
+    // @formatter:off
+    private Mono<Void> evictRemovedWhileWriting() {
+        Set<String> keys;
+        synchronized (pending) {
+            writing = Set.of();
+            if (removedWhileWriting.isEmpty()) {
+                return Mono.empty();
+            }
+            keys = new LinkedHashSet<>(removedWhileWriting);
+            removedWhileWriting.clear();
+        }
+        log.debug("cache evict keys removed while writing: {}", keys);
+        return Flux.fromIterable(keys)
+                .concatMap(key -> cacheRepository.evict(key)
+                        .onErrorResume(throwable -> {
+                            log.debug("cache evict after write behind failed key: {}", key, throwable);
+                            return Mono.empty();
+                        }))
+                .then();
+    }
+    // @formatter:on
+
+    // @formatter:off
+    private Mono<Void> write(Duration timeout, Map<String, PendingWrite> writes) {
+        Map<String, Object> values = new LinkedHashMap<>(writes.size());
+        writes.forEach((key, write) -> values.put(key, write.value));
+        log.debug("cache write behind keys: {}", values.keySet());
+        return cacheRepository.multiPut(values, timeout)
+                .onErrorResume(throwable -> {
+                    log.debug("cache write behind failed", throwable);
+                    Set<String> cacheNames = new LinkedHashSet<>();
+                    writes.values()
+                            .forEach(write -> cacheNames.add(write.cacheName));
+                    cacheNames.forEach(metrics::putFailure);
+                    return Mono.empty();
+                });
+    }
+    // @formatter:on
+
+    private static class PendingWrite {
+        private final String cacheName;
+        private final Object value;
+        private final Duration timeout;
+
+        private PendingWrite(String cacheName, Object value, Duration timeout) {
+            this.cacheName = cacheName;
+            this.value = value;
+            this.timeout = timeout;
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package nextstep.subway.common.cache.domain;
+
+import com.fasterxml.jackson.databind.JavaType;
+import lombok.extern.slf4j.Slf4j;
+import nextstep.subway.common.cache.metrics.ReactiveCacheMetrics;
+import org.springframework.dao.DataAccessException;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * 캐시 저장소 호출마다 제한 시간을 두고, 실패하거나 느린 호출이 연속으로 쌓이면 회로를 열어서 저장소를 호출하지 않는다.
+ * 느린 호출(slow-call)은 조회만 센다. 쓰기는 큰 값(노선 목록)을 한 번에 보내서 원래 오래 걸리므로 write-timeout 을 넘을 때만 실패로 센다.
+ * 시간은 저장소가 돌려준 Mono 를 구독할 때부터 재므로, 호출할 때 바로 하는 인코딩은 들어가지 않는다.
+ * 회로가 열린 동안에는 {@link CacheUnavailableException} 으로 바로 실패하고, 캐시 매니저는 원본 메서드를 호출한다.
+ * 복구 여부는 open-duration 마다 백그라운드에서 가벼운 조회로 확인해서, 성공하면 회로를 닫는다.
+ */
+@Slf4j
+public class CircuitBreakerCacheRepository<V> implements CacheRepository<String, V> {
+    private static final String PROBE_KEY = "reactive-cache:probe";
+
+    private final CacheRepository<String, V> cacheRepository;
+    private final Duration readTimeout;
+    private final Duration writeTimeout;
+    private final long slowCallNanos;
+    private final int failureThreshold;
+    private final Duration openDuration;
+    private final Scheduler scheduler;
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+    private final AtomicInteger failures = new AtomicInteger();
+
+    public CircuitBreakerCacheRepository(CacheRepository<String, V> cacheRepository, ReactiveCacheMetrics metrics,
+                                         Duration readTimeout, Duration writeTimeout, Duration slowCall,
+                                         int failureThreshold, Duration openDuration) {
+        this(cacheRepository, metrics, readTimeout, writeTimeout, slowCall, failureThreshold, openDuration,
+             Schedulers.parallel());
+    }
+
+    CircuitBreakerCacheRepository(CacheRepository<String, V> cacheRepository, ReactiveCacheMetrics metrics,
+                                  Duration readTimeout, Duration writeTimeout, Duration slowCall,
+                                  int failureThreshold, Duration openDuration, Scheduler scheduler) {
+        if (failureThreshold < 1) {
+            throw new IllegalArgumentException("회로를 여는 연속 실패 횟수는 1 이상이어야 합니다.");
+        }
+        this.cacheRepository = cacheRepository;
+        this.readTimeout = readTimeout;
+        this.writeTimeout = writeTimeout;
+        this.slowCallNanos = slowCall.toNanos();
+        this.failureThreshold = failureThreshold;
+        this.openDuration = openDuration;
+        this.scheduler = scheduler;
+        metrics.circuitBreaker(this, repository -> repository.state.get()
+                .ordinal());
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return state.get() == State.CLOSED;
+    }
+
+    @Override
+    public Mono<V> get(String key, JavaType javaType) {
+        return read(() -> cacheRepository.get(key, javaType));
+    }
+
+    @Override
+    public Mono<V> getLatest(String key, JavaType javaType) {
+        return read(() -> cacheRepository.getLatest(key, javaType));
+    }
+
+    @Override
+    public Mono<List<V>> multiGet(List<String> keys, JavaType javaType) {
+        return read(() -> cacheRepository.multiGet(keys, javaType));
+    }
+
+    @Override
+    public Mono<V> put(String key, V value) {
+        return write(() -> cacheRepository.put(key, value));
+    }
+
+    @Override
+    public Mono<V> put(String key, V value, Duration timeout) {
+        return write(() -> cacheRepository.put(key, value, timeout));
+    }
+
+    @Override
+    public Mono<Void> multiPut(Map<String, V> values, Duration timeout) {
+        return write(() -> cacheRepository.multiPut(values, timeout));
+    }
+
+    @Override
+    public Mono<Boolean> putIfAbsent(String key, V value, Duration timeout) {
+        return write(() -> cacheRepository.putIfAbsent(key, value, timeout));
+    }
+
+    @Override
+    public Mono<Long> evict(String key) {
+        return write(() -> cacheRepository.evict(key));
+    }
+
+    @Override
+    public Mono<Long> size(String key) {
+        return read(() -> cacheRepository.size(key));
+    }
+
+    private <T> Mono<T> read(Supplier<Mono<T>> operation) {
+        return call(operation, readTimeout, true);
+    }
+
+    /**
+     * 쓰기는 성공해도 연속 실패 횟수를 바꾸지 않아서, 조회가 느려지는 것을 가리지 않는다.
+     */
+    private <T> Mono<T> write(Supplier<Mono<T>> operation) {
+        return call(operation, writeTimeout, false);
+    }
+
+    // @formatter:off
+    private <T> Mono<T> call(Supplier<Mono<T>> operation, Duration timeout, boolean read) {
+        return Mono.defer(() -> {
+            if (!isAvailable()) {
+                return Mono.error(new CacheUnavailableException());
+            }
+            Mono<T> call = operation.get();
+            long start = scheduler.now(TimeUnit.NANOSECONDS);
+            return call.timeout(timeout, scheduler)
+                    .doOnSuccess(result -> {
+                        if (read) {
+                            onReadSuccess(scheduler.now(TimeUnit.NANOSECONDS) - start);
+                        }
+                    })
+                    .doOnError(this::onError);
+        });
+    }
+    // @formatter:on
+
+    private void onReadSuccess(long elapsedNanos) {
+        if (elapsedNanos > slowCallNanos) {
+            onFailure();
+            return;
+        }
+        failures.set(0);
+    }
+
+    /**
+     * 코덱 오류처럼 저장소 상태와 관계없는 실패는 세지 않는다.
+     */
+    private void onError(Throwable throwable) {
+        if (throwable instanceof TimeoutException || throwable instanceof DataAccessException) {
+            onFailure();
+        }
+    }
+
+    private void onFailure() {
+        if (failures.incrementAndGet() >= failureThreshold && state.compareAndSet(State.CLOSED, State.OPEN)) {
+            log.warn("cache circuit opened after {} consecutive failures", failureThreshold);
+            probeLater();
+        }
+    }
+
+    // @formatter:off
+    private void probeLater() {
+        Mono.delay(openDuration, scheduler)
+                .then(Mono.defer(() -> {
+                    state.set(State.HALF_OPEN);
+                    return cacheRepository.size(PROBE_KEY)
+                            .timeout(readTimeout, scheduler);
+                }))
+                .subscribe(size -> {}, throwable -> {
+                    log.debug("cache circuit probe failed", throwable);
+                    state.set(State.OPEN);
+                    probeLater();
+                }, () -> {
+                    failures.set(0);
+                    state.set(State.CLOSED);
+                    log.info("cache circuit closed");
+                });
+    }
+    // @formatter:on
+
+    /**
+     * 순서대로 메트릭 값 0, 1, 2
+     */
+    private enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+}
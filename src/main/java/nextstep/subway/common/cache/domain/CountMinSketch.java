@@ -0,0 +1,65 @@
+package nextstep.subway.common.cache.domain;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * 문자열 키의 빈도를 고정 크기로 추정하는 Count-Min 스케치
+ * 추정값은 실제 빈도보다 작지 않고, 충돌한 다른 키의 빈도만큼 클 수 있다.
+ */
+public class CountMinSketch {
+    private static final int DEPTH = 4;
+
+    private final AtomicIntegerArray counters;
+    private final int widthMask;
+
+    private CountMinSketch(int width) {
+        this.counters = new AtomicIntegerArray(width * DEPTH);
+        this.widthMask = width - 1;
+    }
+
+    /**
+     * @param width 행마다 카운터 수. 2의 거듭제곱으로 올린다.
+     */
+    public static CountMinSketch of(int width) {
+        if (width < 1 || width > (1 << 24)) {
+            throw new IllegalArgumentException("Count-Min 스케치 너비는 1 이상 2^24 이하여야 합니다.");
+        }
+        return new CountMinSketch(Integer.highestOneBit(width * 2 - 1));
+    }
+
+    /**
+     * @return 증가시킨 뒤의 추정 빈도
+     */
+    public int increment(String key) {
+        long hash = mix(key.hashCode());
+        int hash1 = (int) hash;
+        int hash2 = (int) (hash >>> 32);
+        int estimate = Integer.MAX_VALUE;
+        for (int i = 0; i < DEPTH; i++) {
+            int index = i * (widthMask + 1) + ((hash1 + i * hash2) & widthMask);
+            estimate = Math.min(estimate, counters.incrementAndGet(index));
+        }
+        return estimate;
+    }
+
+    /**
+     * 모든 카운터를 절반으로 줄여서 예전 빈도의 비중을 낮춘다.
+     */
+    public void halve() {
+        for (int i = 0; i < counters.length(); i++) {
+            counters.getAndUpdate(i, count -> count >>> 1);
+        }
+    }
+
+    /**
+     * MurmurHash3 finalizer
+     */
+    private static long mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return key;
+    }
+}
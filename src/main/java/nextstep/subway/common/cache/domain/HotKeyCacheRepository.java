@@ -0,0 +1,211 @@
+package nextstep.subway.common.cache.domain;
+
+import com.fasterxml.jackson.databind.JavaType;
+import lombok.extern.slf4j.Slf4j;
+import nextstep.subway.common.cache.metrics.ReactiveCacheMetrics;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 조회 빈도를 Count-Min 스케치로 세서, window 안에 threshold 번 넘게 조회한 키는 로컬에 복사해 둔다.
+ * 로컬 복사본은 validation-interval 동안만 쓰고 다시 저장소에서 읽는다.
+ * 무효화는 세대 번호로 키가 바뀌므로 바로 반영되고, 같은 키를 덮어쓰는 다른 인스턴스의 저장은 최대 validation-interval 만큼 늦게 반영된다.
+ * 로컬 복사본은 여러 요청이 같은 객체를 공유하므로 읽기 전용으로 다뤄야 한다.
+ */
+@Slf4j
+public class HotKeyCacheRepository<V> implements CacheRepository<String, V> {
+    private final CacheRepository<String, V> cacheRepository;
+    private final ReactiveCacheMetrics metrics;
+    private final CountMinSketch sketch;
+    private final int threshold;
+    private final long validationNanos;
+    private final long windowNanos;
+    private final int maxEntries;
+    private final Map<String, LocalEntry<V>> entries = new ConcurrentHashMap<>();
+    private final AtomicLong windowStart = new AtomicLong(System.nanoTime());
+
+    public HotKeyCacheRepository(CacheRepository<String, V> cacheRepository, ReactiveCacheMetrics metrics,
+                                 int threshold, Duration validationInterval, Duration window, int maxEntries) {
+        if (threshold < 1 || maxEntries < 1) {
+            throw new IllegalArgumentException("핫 키 기준 횟수와 로컬 복사본 수는 1 이상이어야 합니다.");
+        }
+        this.cacheRepository = cacheRepository;
+        this.metrics = metrics;
+        this.sketch = CountMinSketch.of(maxEntries * 64);
+        this.threshold = threshold;
+        this.validationNanos = validationInterval.toNanos();
+        this.windowNanos = window.toNanos();
+        this.maxEntries = maxEntries;
+        metrics.localEntries(entries, Map::size);
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return cacheRepository.isAvailable();
+    }
+
+    // @formatter:off
+    @Override
+    public Mono<V> get(String key, JavaType javaType) {
+        return Mono.defer(() -> {
+            long now = System.nanoTime();
+            boolean hot = record(key, now);
+            V local = getLocal(key, now);
+            if (local != null) {
+                return Mono.just(local);
+            }
+            return cacheRepository.get(key, javaType)
+                    .doOnNext(value -> {
+                        if (hot) {
+                            putLocal(key, value, now);
+                        }
+                    });
+        });
+    }
+    // @formatter:on
+
+    @Override
+    public Mono<V> getLatest(String key, JavaType javaType) {
+        return cacheRepository.getLatest(key, javaType);
+    }
+
+    // @formatter:off
+    @Override
+    public Mono<List<V>> multiGet(List<String> keys, JavaType javaType) {
+        return Mono.defer(() -> {
+            long now = System.nanoTime();
+            List<V> values = new ArrayList<>(keys.size());
+            List<String> missingKeys = new ArrayList<>();
+            Set<String> hotKeys = new HashSet<>();
+            for (String key : keys) {
+                if (record(key, now)) {
+                    hotKeys.add(key);
+                }
+                V local = getLocal(key, now);
+                values.add(local);
+                if (local == null) {
+                    missingKeys.add(key);
+                }
+            }
+            if (missingKeys.isEmpty()) {
+                return Mono.just(values);
+            }
+            return cacheRepository.multiGet(missingKeys, javaType)
+                    .map(missingValues -> {
+                        for (int i = 0, j = 0; i < values.size(); i++) {
+                            if (values.get(i) != null) {
+                                continue;
+                            }
+                            V value = missingValues.get(j++);
+                            values.set(i, value);
+                            if (value != null && hotKeys.contains(keys.get(i))) {
+                                putLocal(keys.get(i), value, now);
+                            }
+                        }
+                        return values;
+                    });
+        });
+    }
+    // @formatter:on
+
+    @Override
+    public Mono<V> put(String key, V value) {
+        return Mono.defer(() -> {
+            entries.remove(key);
+            return cacheRepository.put(key, value);
+        });
+    }
+
+    @Override
+    public Mono<V> put(String key, V value, Duration timeout) {
+        return Mono.defer(() -> {
+            entries.remove(key);
+            return cacheRepository.put(key, value, timeout);
+        });
+    }
+
+    @Override
+    public Mono<Void> multiPut(Map<String, V> values, Duration timeout) {
+        return Mono.defer(() -> {
+            values.keySet()
+                    .forEach(entries::remove);
+            return cacheRepository.multiPut(values, timeout);
+        });
+    }
+
+    @Override
+    public Mono<Boolean> putIfAbsent(String key, V value, Duration timeout) {
+        return cacheRepository.putIfAbsent(key, value, timeout);
+    }
+
+    @Override
+    public Mono<Long> evict(String key) {
+        return Mono.defer(() -> {
+            entries.remove(key);
+            return cacheRepository.evict(key);
+        });
+    }
+
+    @Override
+    public Mono<Long> size(String key) {
+        return cacheRepository.size(key);
+    }
+
+    /**
+     * window 가 지나면 스케치를 절반으로 줄이고 만료된 복사본을 정리한다.
+     *
+     * @return 핫 키면 true
+     */
+    private boolean record(String key, long now) {
+        long start = windowStart.get();
+        if (now - start > windowNanos && windowStart.compareAndSet(start, now)) {
+            sketch.halve();
+            entries.values()
+                    .removeIf(entry -> entry.isExpired(now));
+        }
+        return sketch.increment(key) > threshold;
+    }
+
+    private V getLocal(String key, long now) {
+        LocalEntry<V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.isExpired(now)) {
+            entries.remove(key, entry);
+            return null;
+        }
+        metrics.localHit(ReactiveCacheMetadata.getCacheName(key));
+        return entry.value;
+    }
+
+    private void putLocal(String key, V value, long now) {
+        if (entries.size() >= maxEntries && !entries.containsKey(key)) {
+            return;
+        }
+        log.debug("cache hot key: {}", key);
+        entries.put(key, new LocalEntry<>(value, now + validationNanos));
+    }
+
+    private static class LocalEntry<V> {
+        private final V value;
+        private final long expiresAt;
+
+        private LocalEntry(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired(long now) {
+            return now - expiresAt > 0;
+        }
+    }
+}
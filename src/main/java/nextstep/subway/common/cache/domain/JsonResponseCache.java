@@ -0,0 +1,100 @@
+package nextstep.subway.common.cache.domain;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import lombok.extern.slf4j.Slf4j;
+import nextstep.subway.common.cache.metrics.ReactiveCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * 목록 응답을 JSON 으로 인코딩한 바이트를 캐시 이름의 세대 번호별로 캐시한다.
+ * 적중하면 캐시된 DTO 를 역직렬화해서 다시 JSON 으로 인코딩하지 않고, 바이트를 그대로 응답 버퍼로 감싸서 쓴다.
+ * 목록 캐시를 고치면({@link ReactiveCacheTemplate#append}, removeIf) 세대 번호가 올라가므로,
+ * 고치기 전에 시작한 인코딩이 늦게 저장돼도 이전 세대의 키에 남을 뿐 조회되지 않는다.
+ */
+@Slf4j
+@Component
+public class JsonResponseCache {
+    private static final String RESPONSE_KEY_FORMAT = "%s:json";
+    private static final JavaType BYTES_TYPE = TypeFactory.defaultInstance()
+            .constructType(byte[].class);
+
+    private final CacheRepository<String, Object> cacheRepository;
+    private final CacheGenerationRepository cacheGenerationRepository;
+    private final CacheWriteBehindQueue writeBehindQueue;
+    private final ReactiveCacheMetrics metrics;
+    private final ObjectMapper objectMapper;
+    private final Set<String> cacheNames;
+    private final Duration ttl;
+
+    public JsonResponseCache(ReactiveCacheSupport support, ObjectMapper objectMapper,
+                             @Value("${reactive-cache.json-response.cache-names:}") Set<String> cacheNames) {
+        this.cacheRepository = support.getCacheRepository();
+        this.cacheGenerationRepository = support.getCacheGenerationRepository();
+        this.writeBehindQueue = support.getCacheWriteBehindQueue();
+        this.metrics = support.getReactiveCacheMetrics();
+        this.objectMapper = objectMapper;
+        this.cacheNames = cacheNames;
+        this.ttl = support.getTtl();
+    }
+
+    /**
+     * @param cacheKey 목록 캐시의 키({@code name:g{generation}})
+     */
+    public static String getKey(String cacheKey) {
+        return String.format(RESPONSE_KEY_FORMAT, cacheKey);
+    }
+
+    /**
+     * 지정하지 않은 캐시 이름이거나 저장소를 쓸 수 없으면 캐시하지 않고 인코딩만 한다.
+     */
+    // @formatter:off
+    public <T> Mono<byte[]> get(String cacheName, Flux<T> source) {
+        if (!cacheNames.contains(cacheName) || !cacheRepository.isAvailable()) {
+            return encode(source);
+        }
+        String metricName = getKey(cacheName);
+        return cacheGenerationRepository.get(cacheName)
+                .map(generation -> getKey(ReactiveCacheMetadata.getKey(cacheName, generation, null)))
+                .onErrorResume(throwable -> fallback(metricName, throwable))
+                .flatMap(key -> cacheRepository.get(key, BYTES_TYPE)
+                        .cast(byte[].class)
+                        .onErrorResume(throwable -> fallback(metricName, throwable))
+                        .doOnNext(bytes -> metrics.hit(metricName))
+                        .switchIfEmpty(Mono.defer(() -> encode(source)
+                                .doOnNext(bytes -> {
+                                    metrics.miss(metricName);
+                                    metrics.payload(metricName, bytes.length);
+                                    writeBehindQueue.offer(metricName, key, bytes, ttl);
+                                }))))
+                .switchIfEmpty(Mono.defer(() -> encode(source)));
+    }
+    // @formatter:on
+
+    private <T> Mono<T> fallback(String metricName, Throwable throwable) {
+        log.debug("json response cache failed, encode without cache. name: {}", metricName, throwable);
+        metrics.fallback(metricName);
+        return Mono.empty();
+    }
+
+    private <T> Mono<byte[]> encode(Flux<T> source) {
+        return source.collectList()
+                .map(this::writeValueAsBytes);
+    }
+
+    private byte[] writeValueAsBytes(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("응답을 JSON 으로 인코딩할 수 없습니다.", e);
+        }
+    }
+}
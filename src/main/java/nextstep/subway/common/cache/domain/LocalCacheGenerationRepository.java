@@ -0,0 +1,47 @@
+package nextstep.subway.common.cache.domain;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 단일 인스턴스용 세대 번호 저장소
+ */
+public class LocalCacheGenerationRepository implements CacheGenerationRepository {
+    private final Map<String, Long> generations = new ConcurrentHashMap<>();
+    private final Sinks.Many<String> changes = Sinks.many()
+            .multicast()
+            .directBestEffort();
+
+    @Override
+    public Mono<Long> get(String cacheName) {
+        return Mono.just(generations.getOrDefault(cacheName, 0L));
+    }
+
+    @Override
+    public Mono<Void> increment(Collection<String> cacheNames) {
+        return Mono.fromRunnable(() -> cacheNames.forEach(this::incrementNow));
+    }
+
+    @Override
+    public Mono<Long> incrementAndGet(String cacheName) {
+        return Mono.fromCallable(() -> incrementNow(cacheName));
+    }
+
+    @Override
+    public Flux<String> changes() {
+        return changes.asFlux();
+    }
+
+    private long incrementNow(String cacheName) {
+        long generation = generations.merge(cacheName, 1L, Long::sum);
+        synchronized (changes) {
+            changes.tryEmitNext(cacheName);
+        }
+        return generation;
+    }
+}
@@ -0,0 +1,74 @@
+package nextstep.subway.common.cache.domain;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * long 키용 블룸 필터
+ * {@link #mightContain(long)} 이 false 면 추가한 적 없는 키이고, true 면 추가했을 수도 있는 키다.
+ */
+public class LongBloomFilter {
+    private static final double LN2 = Math.log(2);
+
+    private final AtomicLongArray bits;
+    private final long bitSize;
+    private final int hashCount;
+
+    private LongBloomFilter(long bitSize, int hashCount) {
+        this.bits = new AtomicLongArray((int) ((bitSize + Long.SIZE - 1) / Long.SIZE));
+        this.bitSize = bitSize;
+        this.hashCount = hashCount;
+    }
+
+    public static LongBloomFilter of(int expectedSize, double falsePositiveRate) {
+        if (expectedSize < 1 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("블룸 필터 크기는 1 이상, 오탐률은 0 과 1 사이여야 합니다.");
+        }
+        long bitSize = Math.max(Long.SIZE, (long) Math.ceil(-expectedSize * Math.log(falsePositiveRate) / (LN2 * LN2)));
+        int hashCount = Math.max(1, (int) Math.round((double) bitSize / expectedSize * LN2));
+        return new LongBloomFilter(bitSize, hashCount);
+    }
+
+    public void add(long key) {
+        long hash = mix(key);
+        int hash1 = (int) hash;
+        int hash2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long index = index(hash1 + i * hash2);
+            int word = (int) (index >>> 6);
+            long mask = 1L << index;
+            long current = bits.get(word);
+            while ((current & mask) == 0 && !bits.compareAndSet(word, current, current | mask)) {
+                current = bits.get(word);
+            }
+        }
+    }
+
+    public boolean mightContain(long key) {
+        long hash = mix(key);
+        int hash1 = (int) hash;
+        int hash2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long index = index(hash1 + i * hash2);
+            if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private long index(int combinedHash) {
+        return (combinedHash & Integer.MAX_VALUE) % bitSize;
+    }
+
+    /**
+     * MurmurHash3 finalizer
+     */
+    private static long mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return key;
+    }
+}
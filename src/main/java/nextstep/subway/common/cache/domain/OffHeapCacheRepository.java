@@ -0,0 +1,388 @@
+package nextstep.subway.common.cache.domain;
+
+import com.fasterxml.jackson.databind.JavaType;
+import lombok.extern.slf4j.Slf4j;
+import nextstep.subway.common.cache.codec.CacheCodec;
+import nextstep.subway.common.cache.metrics.ReactiveCacheMetrics;
+import reactor.core.publisher.Mono;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Redis 없이 인코딩한 값을 다이렉트 ByteBuffer 슬랩에 저장하는 단일 인스턴스용 캐시 저장소
+ * <p>
+ * 슬랩은 block-size 크기의 블록으로 나누고, 항목 1개는 [키 길이 int][키][값] 을 블록 체인에 이어서 쓴다.
+ * 인덱스는 선형 탐사 해시 테이블(int 배열)에 항목의 첫 블록 번호만 담고, 항목 메타데이터도 첫 블록 번호로 찾는 배열에 둔다.
+ * 빈 블록이 모자라면 CLOCK 으로 최근에 읽지 않은 항목부터 지운다. 만료된 항목은 읽을 때와 CLOCK 이 지나갈 때 지운다.
+ * <p>
+ * 모든 접근은 락 1개로 보호한다. 락 안에서는 바이트 복사만 하고 인코딩과 디코딩은 락 밖에서 한다.
+ */
+@Slf4j
+public class OffHeapCacheRepository implements CacheRepository<String, Object> {
+    private static final byte[] TOMBSTONE = {0};
+    private static final int SLAB_SIZE = 1 << 20;
+    private static final int MIN_BLOCK_SIZE = 16;
+    private static final long NO_EXPIRY = 0;
+
+    private final CacheCodec cacheCodec;
+    private final ReactiveCacheMetrics reactiveCacheMetrics;
+    private final int blockSize;
+    private final int blockCount;
+    private final int blocksPerSlab;
+    private final ByteBuffer[] slabs;
+    private final int[] nextBlocks;
+    private final int[] freeBlocks;
+    private final int[] entryLengths;
+    private final long[] expiresAt;
+    private final boolean[] referenced;
+    private final int[] table;
+    private final int[] tableHashes;
+    private final int mask;
+    private int freeCount;
+    private int entryCount;
+    private int clockHand;
+
+    public OffHeapCacheRepository(CacheCodec cacheCodec, ReactiveCacheMetrics reactiveCacheMetrics, long capacity,
+                                  int blockSize) {
+        if (blockSize < MIN_BLOCK_SIZE || blockSize > SLAB_SIZE || capacity < blockSize) {
+            throw new IllegalArgumentException(String.format(
+                    "블록 크기는 %d 이상 %d 이하, 전체 크기는 블록 크기 이상이어야 합니다.", MIN_BLOCK_SIZE, SLAB_SIZE));
+        }
+        this.cacheCodec = cacheCodec;
+        this.reactiveCacheMetrics = reactiveCacheMetrics;
+        this.blockSize = blockSize;
+        this.blockCount = Math.toIntExact(capacity / blockSize);
+        this.blocksPerSlab = SLAB_SIZE / blockSize;
+        this.slabs = new ByteBuffer[(blockCount + blocksPerSlab - 1) / blocksPerSlab];
+        for (int i = 0; i < slabs.length; i++) {
+            int blocks = Math.min(blocksPerSlab, blockCount - i * blocksPerSlab);
+            slabs[i] = ByteBuffer.allocateDirect(blocks * blockSize);
+        }
+        this.nextBlocks = new int[blockCount];
+        this.freeBlocks = new int[blockCount];
+        for (int i = 0; i < blockCount; i++) {
+            freeBlocks[i] = blockCount - 1 - i;
+        }
+        this.freeCount = blockCount;
+        this.entryLengths = new int[blockCount];
+        this.expiresAt = new long[blockCount];
+        this.referenced = new boolean[blockCount];
+        int tableSize = Integer.highestOneBit(Math.max(2, blockCount) * 4 - 1);
+        this.table = new int[tableSize];
+        this.tableHashes = new int[tableSize];
+        this.mask = tableSize - 1;
+        reactiveCacheMetrics.offHeapUsage(this, repository -> repository.usedBytes(),
+                                          repository -> repository.entryCount());
+    }
+
+    // @formatter:off
+    @Override
+    public Mono<Object> get(String key, JavaType javaType) {
+        return Mono.fromCallable(() -> read(key))
+                .map(bytes -> decode(bytes, javaType));
+    }
+    // @formatter:on
+
+    @Override
+    public Mono<List<Object>> multiGet(List<String> keys, JavaType javaType) {
+        return Mono.fromCallable(() -> {
+            List<Object> values = new ArrayList<>(keys.size());
+            for (String key : keys) {
+                byte[] bytes = read(key);
+                values.add(bytes == null ? null : decode(bytes, javaType));
+            }
+            return values;
+        });
+    }
+
+    @Override
+    public Mono<Object> put(String key, Object value) {
+        return Mono.fromCallable(() -> {
+            write(key, encode(key, value), NO_EXPIRY, false);
+            return value;
+        });
+    }
+
+    @Override
+    public Mono<Object> put(String key, Object value, Duration timeout) {
+        return Mono.fromCallable(() -> {
+            write(key, encode(key, value), expiresAt(timeout), false);
+            return value;
+        });
+    }
+
+    @Override
+    public Mono<Void> multiPut(Map<String, Object> values, Duration timeout) {
+        return Mono.fromRunnable(() -> {
+            long expiry = expiresAt(timeout);
+            values.forEach((key, value) -> write(key, encode(key, value), expiry, false));
+        });
+    }
+
+    @Override
+    public Mono<Boolean> putIfAbsent(String key, Object value, Duration timeout) {
+        return Mono.fromCallable(() -> write(key, encode(key, value), expiresAt(timeout), true));
+    }
+
+    @Override
+    public Mono<Long> evict(String key) {
+        return Mono.fromCallable(() -> {
+            byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+            synchronized (this) {
+                int slot = find(keyBytes, hash(key));
+                if (slot < 0) {
+                    return 0L;
+                }
+                remove(slot);
+                return 1L;
+            }
+        });
+    }
+
+    @Override
+    public Mono<Long> size(String key) {
+        return Mono.fromCallable(() -> read(key))
+                .map(bytes -> (long) bytes.length);
+    }
+
+    public synchronized void clear() {
+        Arrays.fill(table, 0);
+        for (int i = 0; i < blockCount; i++) {
+            freeBlocks[i] = blockCount - 1 - i;
+        }
+        freeCount = blockCount;
+        entryCount = 0;
+        clockHand = 0;
+    }
+
+    public synchronized int entryCount() {
+        return entryCount;
+    }
+
+    public synchronized long usedBytes() {
+        return (long) (blockCount - freeCount) * blockSize;
+    }
+
+    private byte[] read(String key) {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        synchronized (this) {
+            int slot = find(keyBytes, hash(key));
+            if (slot < 0) {
+                return null;
+            }
+            int head = table[slot] - 1;
+            if (isExpired(head, System.nanoTime())) {
+                remove(slot);
+                return null;
+            }
+            referenced[head] = true;
+            int valueOffset = Integer.BYTES + keyBytes.length;
+            return copyOut(head, valueOffset, entryLengths[head] - valueOffset);
+        }
+    }
+
+    /**
+     * @return ifAbsent 인데 이미 있거나, 전체 크기보다 커서 저장하지 못했으면 false
+     */
+    private boolean write(String key, byte[] value, long expiry, boolean ifAbsent) {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        int length = Integer.BYTES + keyBytes.length + value.length;
+        int blocks = (length + blockSize - 1) / blockSize;
+        if (blocks > blockCount) {
+            log.debug("cache value is larger than off-heap capacity, key: {}", key);
+            return false;
+        }
+        int hash = hash(key);
+        synchronized (this) {
+            int slot = find(keyBytes, hash);
+            if (slot >= 0) {
+                if (ifAbsent && !isExpired(table[slot] - 1, System.nanoTime())) {
+                    return false;
+                }
+                remove(slot);
+            }
+            while (freeCount < blocks) {
+                evictOne();
+            }
+            int head = allocate(blocks);
+            copyIn(head, ByteBuffer.allocate(Integer.BYTES)
+                    .putInt(keyBytes.length)
+                    .array(), 0);
+            copyIn(head, keyBytes, Integer.BYTES);
+            copyIn(head, value, Integer.BYTES + keyBytes.length);
+            entryLengths[head] = length;
+            expiresAt[head] = expiry;
+            referenced[head] = false;
+            insert(head, hash);
+            return true;
+        }
+    }
+
+    private int find(byte[] keyBytes, int hash) {
+        for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+            int head = table[slot] - 1;
+            if (head < 0) {
+                return -1;
+            }
+            if (tableHashes[slot] == hash && keyEquals(head, keyBytes)) {
+                return slot;
+            }
+        }
+    }
+
+    private void insert(int head, int hash) {
+        int slot = hash & mask;
+        while (table[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = head + 1;
+        tableHashes[slot] = hash;
+        entryCount++;
+    }
+
+    /**
+     * 선형 탐사 테이블에서 툼스톤 없이 지우려고, 뒤에 이어진 항목 중 원래 위치가 빈 칸 이전인 항목을 당겨 온다.
+     */
+    private void remove(int slot) {
+        release(table[slot] - 1);
+        entryCount--;
+        int empty = slot;
+        for (int current = (empty + 1) & mask; table[current] != 0; current = (current + 1) & mask) {
+            int ideal = tableHashes[current] & mask;
+            boolean stays = empty <= current ? empty < ideal && ideal <= current : empty < ideal || ideal <= current;
+            if (!stays) {
+                table[empty] = table[current];
+                tableHashes[empty] = tableHashes[current];
+                empty = current;
+            }
+        }
+        table[empty] = 0;
+    }
+
+    private void evictOne() {
+        long now = System.nanoTime();
+        while (true) {
+            int slot = clockHand;
+            clockHand = (clockHand + 1) & mask;
+            int head = table[slot] - 1;
+            if (head < 0) {
+                continue;
+            }
+            if (referenced[head] && !isExpired(head, now)) {
+                referenced[head] = false;
+                continue;
+            }
+            remove(slot);
+            return;
+        }
+    }
+
+    private int allocate(int blocks) {
+        int head = freeBlocks[--freeCount];
+        int block = head;
+        for (int i = 1; i < blocks; i++) {
+            int next = freeBlocks[--freeCount];
+            nextBlocks[block] = next;
+            block = next;
+        }
+        nextBlocks[block] = -1;
+        return head;
+    }
+
+    private void release(int head) {
+        for (int block = head; block >= 0; block = nextBlocks[block]) {
+            freeBlocks[freeCount++] = block;
+        }
+    }
+
+    private boolean keyEquals(int head, byte[] keyBytes) {
+        return slab(head).getInt(offset(head)) == keyBytes.length
+                && Arrays.equals(copyOut(head, Integer.BYTES, keyBytes.length), keyBytes);
+    }
+
+    private void copyIn(int head, byte[] source, int position) {
+        int block = skip(head, position);
+        int blockOffset = position % blockSize;
+        for (int copied = 0; copied < source.length; block = nextBlocks[block], blockOffset = 0) {
+            int length = Math.min(blockSize - blockOffset, source.length - copied);
+            ByteBuffer slab = slab(block);
+            slab.position(offset(block) + blockOffset);
+            slab.put(source, copied, length);
+            copied += length;
+        }
+    }
+
+    private byte[] copyOut(int head, int position, int length) {
+        byte[] target = new byte[length];
+        int block = skip(head, position);
+        int blockOffset = position % blockSize;
+        for (int copied = 0; copied < length; block = nextBlocks[block], blockOffset = 0) {
+            int chunk = Math.min(blockSize - blockOffset, length - copied);
+            ByteBuffer slab = slab(block);
+            slab.position(offset(block) + blockOffset);
+            slab.get(target, copied, chunk);
+            copied += chunk;
+        }
+        return target;
+    }
+
+    private int skip(int head, int position) {
+        int block = head;
+        for (int i = position / blockSize; i > 0; i--) {
+            block = nextBlocks[block];
+        }
+        return block;
+    }
+
+    private ByteBuffer slab(int block) {
+        return slabs[block / blocksPerSlab];
+    }
+
+    private int offset(int block) {
+        return (block % blocksPerSlab) * blockSize;
+    }
+
+    private boolean isExpired(int head, long now) {
+        return expiresAt[head] != NO_EXPIRY && now - expiresAt[head] > 0;
+    }
+
+    private static long expiresAt(Duration timeout) {
+        long expiry = System.nanoTime() + timeout.toNanos();
+        return expiry == NO_EXPIRY ? 1 : expiry;
+    }
+
+    /**
+     * MurmurHash3 32비트 finalizer
+     */
+    private static int hash(String key) {
+        int hash = key.hashCode();
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        hash *= 0xc2b2ae35;
+        hash ^= hash >>> 16;
+        return hash;
+    }
+
+    private Object decode(byte[] bytes, JavaType javaType) {
+        if (Arrays.equals(bytes, TOMBSTONE)) {
+            return CacheTombstone.INSTANCE;
+        }
+        return cacheCodec.decode(bytes, javaType);
+    }
+
+    private byte[] encode(String key, Object value) {
+        if (CacheTombstone.isTombstone(value)) {
+            return TOMBSTONE;
+        }
+        byte[] bytes = cacheCodec.encode(value);
+        reactiveCacheMetrics.payload(ReactiveCacheMetadata.getCacheName(key), bytes.length);
+        return bytes;
+    }
+}
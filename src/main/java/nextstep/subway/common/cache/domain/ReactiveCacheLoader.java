@@ -0,0 +1,28 @@
+package nextstep.subway.common.cache.domain;
+
+import org.reactivestreams.Publisher;
+import org.springframework.util.ReflectionUtils;
+import reactor.core.publisher.Flux;
+
+import java.lang.reflect.Method;
+
+/**
+ * 인자가 없는 캐시 메서드를 프록시로 다시 호출해서 캐시를 채운다.
+ */
+public class ReactiveCacheLoader {
+    private final Method method;
+    private final Object proxy;
+
+    private ReactiveCacheLoader(Method method, Object proxy) {
+        this.method = method;
+        this.proxy = proxy;
+    }
+
+    public static ReactiveCacheLoader of(Method method, Object proxy) {
+        return new ReactiveCacheLoader(method, proxy);
+    }
+
+    public Flux<?> load() {
+        return Flux.defer(() -> (Publisher<?>) ReflectionUtils.invokeMethod(method, proxy));
+    }
+}
@@ -1,264 +1,489 @@
 package nextstep.subway.common.cache.domain;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
-import nextstep.subway.common.cache.annotation.ReactiveCacheAnnotationParser;
-import org.springframework.cache.annotation.CacheAnnotationParser;
+import nextstep.subway.common.cache.metrics.ReactiveCacheMetrics;
 import org.springframework.cache.interceptor.CacheOperation;
-import org.springframework.expression.ExpressionParser;
-import org.springframework.expression.spel.standard.SpelExpressionParser;
-import org.springframework.expression.spel.support.StandardEvaluationContext;
-import org.springframework.util.StringUtils;
+import org.springframework.expression.EvaluationContext;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
 
-import java.lang.reflect.Method;
-import java.lang.reflect.ParameterizedType;
-import java.lang.reflect.Type;
+import java.time.Duration;
 import java.util.*;
-import java.util.function.BiFunction;
 import java.util.function.Function;
 
 @Slf4j
 public class ReactiveCacheManager {
-    private static final String CACHE_KEY_FORMAT = "%s:%s";
-    private static final int MAX_REACTIVE_CACHEABLE_COUNT = 1;
-    private static final CacheAnnotationParser CACHE_ANNOTATION_PARSER = new ReactiveCacheAnnotationParser();
-    private static final ExpressionParser EXPRESSION_PARSER = new SpelExpressionParser();
-
-    private final Function<String, Mono<Object>> get;
-    private final BiFunction<String, Object, Mono<Object>> put;
-    private final Function<String, Mono<Long>> evict;
+    private final CacheRepository<String, Object> cacheRepository;
+    private final CacheGenerationRepository cacheGenerationRepository;
+    private final CacheWriteBehindQueue writeBehindQueue;
+    private final ReactiveCacheMetrics metrics;
+    private final Function<Object[], Object> proceedWithArgs;
     private final Function<String, Object> proceed;
-    private final ObjectMapper objectMapper;
-    private final Method method;
-    private final TypeReference<?> typeReference;
-    private final StandardEvaluationContext standardEvaluationContext;
-    private final Collection<CacheOperation> cacheOperations;
-
-    ReactiveCacheManager(Function<String, Mono<Object>> get, BiFunction<String, Object, Mono<Object>> put,
-                         Function<String, Mono<Long>> evict, Function<String, Object> proceed,
-                         ObjectMapper objectMapper, Method method, StandardEvaluationContext standardEvaluationContext) {
-        this.get = get;
-        this.put = put;
-        this.evict = evict;
-        this.proceed = proceed;
-        this.objectMapper = objectMapper;
-        this.method = method;
-        this.typeReference = new TypeReference<>() {
-            @Override
-            public Type getType() {
-                return ((ParameterizedType) method.getGenericReturnType()).getActualTypeArguments()[0];
-            }
-        };
-        this.standardEvaluationContext = standardEvaluationContext;
-        this.cacheOperations = CACHE_ANNOTATION_PARSER.parseCacheAnnotations(method);
-        validate();
+    private final Object[] args;
+    private final ReactiveCacheMetadata metadata;
+    private final EvaluationContext evaluationContext;
+    private final int chunkSize;
+    private final Duration ttl;
+    private final Duration negativeTtl;
+    private final Duration doubleDeleteDelay;
+
+    ReactiveCacheManager(ReactiveCacheSupport support, Function<Object[], Object> proceedWithArgs, Object[] args,
+                         ReactiveCacheMetadata metadata, EvaluationContext evaluationContext) {
+        this.cacheRepository = support.getCacheRepository();
+        this.cacheGenerationRepository = support.getCacheGenerationRepository();
+        this.writeBehindQueue = support.getCacheWriteBehindQueue();
+        this.metrics = support.getReactiveCacheMetrics();
+        this.proceedWithArgs = proceedWithArgs;
+        this.proceed = key -> proceedWithArgs.apply(args);
+        this.args = args;
+        this.metadata = metadata;
+        this.evaluationContext = evaluationContext;
+        this.chunkSize = support.getChunkSize();
+        this.ttl = support.getTtl();
+        this.negativeTtl = support.getNegativeTtl();
+        this.doubleDeleteDelay = support.getDoubleDeleteDelay();
     }
 
-    public static ReactiveCacheManager of(Function<String, Mono<Object>> get,
-                                          BiFunction<String, Object, Mono<Object>> put,
-                                          Function<String, Mono<Long>> evict, Function<String, Object> proceed,
-                                          Method method, StandardEvaluationContext standardEvaluationContext,
-                                          ObjectMapper objectMapper) {
-        return new ReactiveCacheManager(get, put, evict, proceed, objectMapper, method, standardEvaluationContext);
+    public static ReactiveCacheManager of(ReactiveCacheSupport support, Function<Object[], Object> proceed,
+                                          ReactiveCacheMetadata metadata, Object[] args) {
+        return new ReactiveCacheManager(support, proceed, args, metadata, metadata.createEvaluationContext(args));
     }
 
-    // @formatter:off
-    private void validate() {
-        if (!isReturnFlux() && !isReturnMono()) {
-            throw new IllegalStateException("캐시 메서드의 반환 타입은 Mono<?> 또는 Flux<?> 만 지원합니다.");
+    public Object get() {
+        switch (metadata.getReturnType()) {
+            case FLUX:
+                return new ReactiveCacheFlux().get();
+            case MONO:
+                return new ReactiveCacheMono().get();
+            default:
+                return fallback("", proceed);
         }
-        if (cacheOperations.stream()
-                .filter(cacheOperation -> cacheOperation.getClass()
-                        .isAssignableFrom(ReactiveCacheableOperation.class))
-                .count() > MAX_REACTIVE_CACHEABLE_COUNT) {
-            throw new IllegalStateException("캐시 메서드의 @ReactiveCacheable 은 1개만 지원합니다.");
+    }
+
+    private ReactiveCacheMetadata.CacheKey getCacheKey(CacheOperation cacheOperation) {
+        List<ReactiveCacheMetadata.CacheKey> cacheKeys = metadata.getCacheKeys(cacheOperation);
+        if (cacheKeys.isEmpty()) {
+            throw new IllegalArgumentException("@ReactiveCacheable 캐시 키를 설정해주세요.");
         }
+        return cacheKeys.get(0);
     }
-    // @formatter:on
 
-    private boolean isReturnFlux() {
-        return method.getReturnType()
-                .isAssignableFrom(Flux.class);
+    // @formatter:off
+    private Mono<String> getKey(ReactiveCacheMetadata.CacheKey cacheKey) {
+        return cacheGenerationRepository.get(cacheKey.getCacheName())
+                .map(generation -> cacheKey.getKey(generation, evaluationContext));
     }
+    // @formatter:on
 
-    private boolean isReturnMono() {
-        return method.getReturnType()
-                .isAssignableFrom(Mono.class);
+    private static <T> T fallback(String key, Function<String, Object> proceed) {
+        log.debug("cache proceed key: {}", key);
+        return (T) proceed.apply(key);
     }
 
-    public Object get() {
-        if (isReturnFlux()) {
-            return new ReactiveCacheFlux().get();
-        }
-        if (isReturnMono()) {
-            return new ReactiveCacheMono().get();
-        }
+    /**
+     * 캐시 저장소 회로가 열려 있으면 세대 번호 조회도 하지 않고 원본을 호출한다.
+     */
+    private <T> T bypass(String cacheName) {
+        metrics.fallback(cacheName);
         return fallback("", proceed);
     }
 
-    private Optional<String> getKey(CacheOperation cacheOperation) {
-        return Optional.of(cacheOperation.getCacheNames())
-                .filter(cacheNames -> !cacheNames.isEmpty())
-                .map(cacheNames -> getKey(cacheNames.iterator()
-                                               .next(), cacheOperation.getKey()));
+    private void put(String cacheName, String key, Object o) {
+        log.debug("cache put key: {}", key);
+        put(cacheName, key, o, ttl);
     }
 
-    private String getKey(String key, String id) {
-        if (StringUtils.hasText(id) && (id.contains("#") || id.contains("'"))) {
-            String idValue = String.valueOf(EXPRESSION_PARSER.parseExpression(id)
-                                                    .getValue(standardEvaluationContext));
-            return String.format(CACHE_KEY_FORMAT, key, idValue);
+    /**
+     * 원본에 없는 키는 {@link CacheTombstone} 을 짧은 TTL 로 저장한다.
+     */
+    private void putAbsent(String cacheName, String key) {
+        if (!isNegativeCacheEnabled()) {
+            return;
         }
-        return key;
+        log.debug("cache put tombstone key: {}", key);
+        put(cacheName, key, CacheTombstone.INSTANCE, negativeTtl);
     }
 
-    public Set<String> getKeys(CacheOperation cacheOperation) {
-        Set<String> cacheNames = cacheOperation.getCacheNames();
-        if (cacheNames.isEmpty()) {
-            return Collections.emptySet();
-        }
-        Set<String> keys = new LinkedHashSet<>(cacheNames.size());
-        for (String cacheName : cacheNames) {
-            keys.add(getKey(cacheName, cacheOperation.getKey()));
+    private boolean put(String cacheName, String key, Object o, Duration timeout) {
+        return writeBehindQueue.offer(cacheName, key, o, timeout);
+    }
+
+    private void multiPut(String cacheName, Map<String, Object> values, Duration timeout) {
+        if (values.isEmpty()) {
+            return;
         }
-        return keys;
+        log.debug("cache multi put keys: {}", values.keySet());
+        values.forEach((key, value) -> put(cacheName, key, value, timeout));
     }
 
-    private static <T> T fallback(String key, Function<String, Object> proceed) {
-        log.debug("cache proceed key: {}", key);
-        return (T) proceed.apply(key);
+    private boolean isNegativeCacheEnabled() {
+        return !negativeTtl.isZero() && !negativeTtl.isNegative();
     }
 
+    /**
+     * 원본 메서드의 트랜잭션이 커밋된 뒤(결과가 완료된 뒤)에 무효화한다.
+     * 바깥 트랜잭션에 참여 중이면 바깥 트랜잭션이 커밋될 때 무효화하고, 롤백되면 무효화하지 않는다.
+     */
     // @formatter:off
-    private void put(String key, Object o) {
-        log.debug("cache put key: {}", key);
-        put.apply(key, o)
-                .onErrorResume(throwable -> Mono.empty())
+    private Mono<Object> evictAfterCompletion(List<CacheOperation> cacheEvictOperations) {
+        Mono<Void> evict = Mono.defer(() -> evict(cacheEvictOperations))
+                .doOnSuccess(v -> evictLater(cacheEvictOperations));
+        return AfterCommitSynchronization.afterCommit(evict)
+                .then(Mono.empty());
+    }
+    // @formatter:on
+
+    /**
+     * 커밋 직전에 이전 데이터를 읽은 요청이 무효화 이후에 캐시를 채우는 경우에 대비해서 한 번 더 무효화한다.
+     */
+    // @formatter:off
+    private void evictLater(List<CacheOperation> cacheEvictOperations) {
+        if (doubleDeleteDelay.isZero() || doubleDeleteDelay.isNegative()) {
+            return;
+        }
+        Mono.delay(doubleDeleteDelay)
+                .then(Mono.defer(() -> evict(cacheEvictOperations)))
                 .subscribe();
     }
     // @formatter:on
 
+    private Mono<Void> evict(List<CacheOperation> cacheEvictOperations) {
+        List<Mono<Void>> evicts = new ArrayList<>(cacheEvictOperations.size());
+        for (CacheOperation cacheOperation : cacheEvictOperations) {
+            evicts.add(evict(cacheOperation));
+        }
+        return Mono.when(evicts);
+    }
+
+    /**
+     * 키가 없는 캐시 이름은 세대 번호를 한 번에 올려서 이름 전체(키가 있는 항목 포함)를 무효화하고,
+     * 키가 있는 캐시는 현재 세대의 해당 키만 삭제한다.
+     */
     // @formatter:off
-    private void evict(CacheOperation cacheOperation) {
-        Set<String> keys = getKeys(cacheOperation);
-        if (keys.isEmpty()) {
-            throw new IllegalStateException("@ReactiveCacheEvict 캐시 키를 설정해주세요.");
+    private Mono<Void> evict(CacheOperation cacheOperation) {
+        List<ReactiveCacheMetadata.CacheKey> cacheKeys = metadata.getCacheKeys(cacheOperation);
+        if (cacheKeys.isEmpty()) {
+            return Mono.error(new IllegalStateException("@ReactiveCacheEvict 캐시 키를 설정해주세요."));
         }
 
-        for (String key : keys) {
-            log.debug("cache evict key: {}", key);
-            evict.apply(key)
-                    .onErrorResume(throwable -> Mono.empty())
-                    .subscribe();
+        List<Mono<?>> evicts = new ArrayList<>(cacheKeys.size());
+        Set<String> cacheNames = new LinkedHashSet<>(cacheKeys.size());
+        for (ReactiveCacheMetadata.CacheKey cacheKey : cacheKeys) {
+            if (!cacheKey.isDynamic()) {
+                cacheNames.add(cacheKey.getCacheName());
+                continue;
+            }
+            evicts.add(getKey(cacheKey).flatMap(this::evict)
+                               .onErrorResume(throwable -> {
+                                   metrics.evictFailure(cacheKey.getCacheName());
+                                   return Mono.empty();
+                               }));
         }
+        if (!cacheNames.isEmpty()) {
+            log.debug("cache evict names: {}", cacheNames);
+            evicts.add(cacheGenerationRepository.increment(cacheNames)
+                               .onErrorResume(throwable -> {
+                                   cacheNames.forEach(metrics::evictFailure);
+                                   return Mono.empty();
+                               }));
+        }
+        return Mono.when(evicts);
     }
     // @formatter:on
 
+    private Mono<Long> evict(String key) {
+        log.debug("cache evict key: {}", key);
+        writeBehindQueue.remove(key);
+        return cacheRepository.evict(key);
+    }
+
     private interface ReactiveCache {
         Object get();
     }
 
     private class ReactiveCacheFlux implements ReactiveCache {
         public Flux<?> get() {
-            if (cacheOperations == null || cacheOperations.isEmpty()) {
-                return fallback("", proceed);
+            Flux<Object> flux = metadata.getCacheableAllOperation()
+                    .map(this::getAll)
+                    .or(() -> metadata.getCacheableOperation()
+                            .map(this::get))
+                    .orElseGet(() -> Flux.defer(() -> fallback("", proceed)));
+            List<CacheOperation> cacheEvictOperations = metadata.getCacheEvictOperations();
+            if (cacheEvictOperations.isEmpty()) {
+                return flux;
+            }
+            return flux.concatWith(evictAfterCompletion(cacheEvictOperations));
+        }
+
+        // @formatter:off
+        private Flux<Object> get(CacheOperation cacheOperation) {
+            ReactiveCacheMetadata.CacheKey cacheKey = getCacheKey(cacheOperation);
+            String cacheName = cacheKey.getCacheName();
+            if (!cacheRepository.isAvailable()) {
+                return Flux.defer(() -> bypass(cacheName));
+            }
+            return getKey(cacheKey)
+                    .flatMap(key -> {
+                        log.debug("cache get key: {}", key);
+                        return cacheRepository.get(key, CacheChunks.JAVA_TYPE)
+                                .<Flux<Object>>map(chunks -> {
+                                    metrics.hit(cacheName);
+                                    return getChunks(cacheName, key, (CacheChunks) chunks);
+                                })
+                                .defaultIfEmpty(Flux.defer(() -> {
+                                    metrics.miss(cacheName);
+                                    return fallbackPut(cacheName, key, proceed);
+                                }));
+                    })
+                    .onErrorResume(throwable -> Mono.just(Flux.defer(() -> {
+                        metrics.fallback(cacheName);
+                        return fallback("", proceed);
+                    })))
+                    .flatMapMany(Function.identity());
+        }
+        // @formatter:on
+
+        /**
+         * 키 컬렉션의 원소별 캐시를 MGET 1번으로 조회하고, 없는 키만 모아서 원본 메서드를 1번 호출한다.
+         * 캐시된 원소를 먼저 내보내고 원본에서 읽은 원소를 이어서 내보내므로 원소 순서는 보장하지 않는다.
+         */
+        // @formatter:off
+        private Flux<Object> getAll(ReactiveCacheableAllOperation cacheOperation) {
+            String cacheName = cacheOperation.getCacheNames()
+                    .iterator()
+                    .next();
+            Collection<?> ids = (Collection<?>) args[metadata.getKeysParameterIndex()];
+            if (ids == null || ids.isEmpty()) {
+                return Flux.defer(() -> fallback("", proceed));
             }
-            boolean callProceed = true;
-            Flux<?> flux = Flux.just(1);
-            for (CacheOperation cacheOperation : cacheOperations) {
-                if (cacheOperation.getClass()
-                        .isAssignableFrom(ReactiveCacheableOperation.class)) {
-                    flux = flux.flatMap(o -> get(cacheOperation));
-                    callProceed = false;
+            if (!cacheRepository.isAvailable()) {
+                return Flux.defer(() -> bypass(cacheName));
+            }
+            List<Object> idList = new ArrayList<>(new LinkedHashSet<>(ids));
+            return cacheGenerationRepository.get(cacheName)
+                    .flatMap(generation -> {
+                        List<String> keys = new ArrayList<>(idList.size());
+                        for (Object id : idList) {
+                            keys.add(ReactiveCacheMetadata.getKey(cacheName, generation, id));
+                        }
+                        log.debug("cache multi get keys: {}", keys);
+                        return cacheRepository.multiGet(keys, metadata.getJavaType())
+                                .map(values -> getAll(cacheName, generation, idList, values));
+                    })
+                    .onErrorResume(throwable -> Mono.just(Flux.defer(() -> {
+                        metrics.fallback(cacheName);
+                        return fallback("", proceed);
+                    })))
+                    .flatMapMany(Function.identity());
+        }
+        // @formatter:on
+
+        private Flux<Object> getAll(String cacheName, long generation, List<Object> ids, List<Object> values) {
+            List<Object> hits = new ArrayList<>(values.size());
+            List<Object> missingIds = new ArrayList<>();
+            for (int i = 0; i < ids.size(); i++) {
+                Object value = values.get(i);
+                if (value == null) {
+                    missingIds.add(ids.get(i));
+                    continue;
                 }
-                if (cacheOperation.getClass()
-                        .isAssignableFrom(ReactiveCacheEvictOperation.class)) {
-                    flux = flux.doOnNext(o -> evict(cacheOperation));
+                if (!CacheTombstone.isTombstone(value)) {
+                    hits.add(value);
                 }
             }
-            if (callProceed) {
-                return flux.flatMap(o -> fallback("", proceed));
+            metrics.hit(cacheName, ids.size() - missingIds.size());
+            metrics.miss(cacheName, missingIds.size());
+            if (missingIds.isEmpty()) {
+                return Flux.fromIterable(hits);
             }
-            return flux;
+            return Flux.fromIterable(hits)
+                    .concatWith(fallbackPutAll(cacheName, generation, missingIds));
         }
 
         // @formatter:off
-        private Flux<?> get(CacheOperation cacheOperation) {
-            return getKey(cacheOperation).map(key -> {
-                        log.debug("cache get key: {}", key);
-                        return get.apply(key)
-                                .flatMapMany(data -> toFlux((List<?>) data))
-                                .onErrorResume(throwable -> Flux.defer(() -> fallback(key, proceed)))
-                                .switchIfEmpty(Flux.defer(() -> fallbackPut(key, proceed)));
-                    })
-                    .orElseThrow(() -> new IllegalArgumentException("@ReactiveCacheable 캐시 키를 설정해주세요."));
+        private Flux<Object> fallbackPutAll(String cacheName, long generation, List<Object> missingIds) {
+            return Flux.defer(() -> {
+                long start = System.nanoTime();
+                Map<String, Object> loaded = new LinkedHashMap<>(missingIds.size());
+                Object[] missingArgs = args.clone();
+                int index = metadata.getKeysParameterIndex();
+                missingArgs[index] = args[index] instanceof Set ? new LinkedHashSet<>(missingIds) : missingIds;
+                log.debug("cache proceed ids: {}", missingIds);
+                return Flux.<Object>from((Flux<?>) proceedWithArgs.apply(missingArgs))
+                        .doOnNext(o -> loaded.put(ReactiveCacheMetadata.getKey(cacheName, generation,
+                                                                               metadata.getElementKey(o)), o))
+                        .doOnComplete(() -> {
+                            metrics.load(cacheName, System.nanoTime() - start);
+                            multiPut(cacheName, loaded, ttl);
+                            putAbsent(cacheName, generation, missingIds, loaded.keySet());
+                        });
+            });
         }
         // @formatter:on
 
+        /**
+         * 원본 조회 결과에 없는 키는 {@link CacheTombstone} 을 짧은 TTL 로 한 번에 저장한다.
+         */
+        private void putAbsent(String cacheName, long generation, List<Object> missingIds, Set<String> loadedKeys) {
+            if (!isNegativeCacheEnabled()) {
+                return;
+            }
+            Map<String, Object> tombstones = new LinkedHashMap<>();
+            for (Object id : missingIds) {
+                String key = ReactiveCacheMetadata.getKey(cacheName, generation, id);
+                if (!loadedKeys.contains(key)) {
+                    tombstones.put(key, CacheTombstone.INSTANCE);
+                }
+            }
+            multiPut(cacheName, tombstones, negativeTtl);
+        }
+
+        /**
+         * 청크를 1개씩 순서대로 조회해서 하위 구독자의 요청만큼만 읽는다. (다음 청크 1개까지만 미리 읽는다.)
+         * 중간에 청크가 없거나 조회에 실패하면 헤더를 지운다. 아직 내보낸 원소가 없으면 원본 조회로 처음부터 다시 내보내고,
+         * 이미 내보냈으면 원본의 순서가 캐시와 같다는 보장이 없어서 이어 붙이지 않고 에러로 끝낸다.
+         */
         // @formatter:off
-        private Flux<Object> toFlux(List<?> data) {
-            return Flux.fromStream(data.stream()
-                                           .map(item -> objectMapper.convertValue(item, typeReference)));
+        private Flux<Object> getChunks(String cacheName, String key, CacheChunks chunks) {
+            return Flux.defer(() -> {
+                boolean[] emitted = new boolean[1];
+                return Flux.range(0, chunks.getCount())
+                        .concatMap(index -> cacheRepository.get(chunks.getChunkKey(key, index),
+                                                                metadata.getCacheJavaType())
+                                .switchIfEmpty(Mono.error(() -> new IllegalStateException(
+                                        "캐시 청크가 없습니다. key: " + chunks.getChunkKey(key, index)))), 1)
+                        .<Object>concatMapIterable(data -> (List<?>) data, 1)
+                        .doOnNext(o -> emitted[0] = true)
+                        .onErrorResume(throwable -> {
+                            log.debug("cache chunk read failed key: {}", key, throwable);
+                            evict(key).onErrorResume(e -> Mono.empty())
+                                    .subscribe();
+                            if (emitted[0]) {
+                                return Flux.error(throwable);
+                            }
+                            metrics.fallback(cacheName);
+                            return ReactiveCacheManager.<Flux<Object>>fallback(key, proceed);
+                        });
+            });
         }
         // @formatter:on
 
         // @formatter:off
-        private Flux<?> fallbackPut(String key, Function<String, Object> fallback) {
-            return ReactiveCacheManager.<Flux<?>>fallback(key, fallback)
-                    .collectList()
-                    .publishOn(Schedulers.boundedElastic())
-                    .doOnNext(o -> put(key, o))
-                    .flatMapMany(Flux::fromIterable);
+        private Flux<Object> fallbackPut(String cacheName, String key, Function<String, Object> fallback) {
+            return Flux.defer(() -> {
+                long start = System.nanoTime();
+                CacheChunkWriter writer = new CacheChunkWriter(cacheName, key);
+                return ReactiveCacheManager.<Flux<Object>>fallback(key, fallback)
+                        .doOnNext(writer::add)
+                        .doOnComplete(() -> {
+                            metrics.load(cacheName, System.nanoTime() - start);
+                            writer.complete();
+                        });
+            });
         }
         // @formatter:on
     }
 
-    private class ReactiveCacheMono implements ReactiveCache {
-        public Mono<?> get() {
-            if (cacheOperations == null || cacheOperations.isEmpty()) {
-                return fallback("", proceed);
+    /**
+     * 원소가 도착하는 대로 청크 크기만큼 모아 쓰기 큐에 넣고, 완료 시 헤더를 마지막에 넣어서 캐시를 공개한다.
+     * 쓰기 큐는 순서대로 쓰므로 헤더는 청크 뒤에 저장된다.
+     * 에러나 취소로 완료되지 않거나 쓰기 큐가 청크를 버렸으면 헤더를 저장하지 않으므로 일부만 저장된 청크는 조회되지 않는다.
+     */
+    private class CacheChunkWriter {
+        private final String cacheName;
+        private final String key;
+        private final String id = CacheChunks.newId();
+        private int count;
+        private boolean dropped;
+        private List<Object> chunk;
+
+        private CacheChunkWriter(String cacheName, String key) {
+            this.cacheName = cacheName;
+            this.key = key;
+            this.chunk = new ArrayList<>(chunkSize);
+        }
+
+        private void add(Object o) {
+            chunk.add(o);
+            if (chunk.size() >= chunkSize) {
+                flush();
             }
-            boolean callProceed = true;
-            Mono<?> mono = Mono.just(1);
-            for (CacheOperation cacheOperation : cacheOperations) {
-                if (cacheOperation.getClass()
-                        .isAssignableFrom(ReactiveCacheableOperation.class)) {
-                    mono = mono.flatMap(o -> get(cacheOperation));
-                    callProceed = false;
-                }
-                if (cacheOperation.getClass()
-                        .isAssignableFrom(ReactiveCacheEvictOperation.class)) {
-                    mono = mono.doOnNext(o -> evict(cacheOperation));
-                }
+        }
+
+        private void flush() {
+            String chunkKey = CacheChunks.chunkKey(key, id, count++);
+            log.debug("cache put chunk key: {}", chunkKey);
+            if (!put(cacheName, chunkKey, chunk, ttl)) {
+                dropped = true;
             }
-            if (callProceed) {
-                return mono.flatMap(o -> fallback("", proceed));
+            chunk = new ArrayList<>(chunkSize);
+        }
+
+        private void complete() {
+            if (!chunk.isEmpty()) {
+                flush();
+            }
+            if (dropped) {
+                return;
+            }
+            put(cacheName, key, CacheChunks.of(count, id));
+        }
+    }
+
+    private class ReactiveCacheMono implements ReactiveCache {
+        public Mono<?> get() {
+            Mono<Object> mono = metadata.getCacheableOperation()
+                    .map(this::get)
+                    .orElseGet(() -> Mono.defer(() -> fallback("", proceed)));
+            List<CacheOperation> cacheEvictOperations = metadata.getCacheEvictOperations();
+            if (cacheEvictOperations.isEmpty()) {
+                return mono;
             }
-            return mono;
+            return mono.concatWith(evictAfterCompletion(cacheEvictOperations))
+                    .singleOrEmpty();
         }
 
         // @formatter:off
-        public Mono<?> get(CacheOperation cacheOperation) {
-            return getKey(cacheOperation).map(key -> {
+        private Mono<Object> get(CacheOperation cacheOperation) {
+            ReactiveCacheMetadata.CacheKey cacheKey = getCacheKey(cacheOperation);
+            String cacheName = cacheKey.getCacheName();
+            if (!cacheRepository.isAvailable()) {
+                return Mono.defer(() -> bypass(cacheName));
+            }
+            return getKey(cacheKey)
+                    .flatMap(key -> {
                         log.debug("cache get key: {}", key);
-                        return get.apply(key)
-                                .onErrorResume(throwable -> Mono.defer(() -> fallback(key, proceed)))
-                                .switchIfEmpty(Mono.defer(() -> fallbackPut(key, proceed)))
-                                .map(item -> objectMapper.convertValue(item, typeReference));
+                        return cacheRepository.get(key, metadata.getCacheJavaType())
+                                .<Mono<Object>>map(data -> {
+                                    metrics.hit(cacheName);
+                                    return CacheTombstone.isTombstone(data) ? Mono.empty() : Mono.just(data);
+                                })
+                                .defaultIfEmpty(Mono.defer(() -> {
+                                    metrics.miss(cacheName);
+                                    return fallbackPut(cacheName, key, proceed);
+                                }));
                     })
-                    .orElseThrow(() -> new IllegalArgumentException("@ReactiveCacheable 캐시 키를 설정해주세요."));
+                    .onErrorResume(throwable -> Mono.just(Mono.defer(() -> {
+                        metrics.fallback(cacheName);
+                        return fallback("", proceed);
+                    })))
+                    .flatMap(Function.identity());
         }
         // @formatter:on
 
         // @formatter:off
-        private Mono<?> fallbackPut(String key, Function<String, Object> fallback) {
-            return ReactiveCacheManager.<Mono<?>>fallback(key, fallback)
-                    .publishOn(Schedulers.boundedElastic())
-                    .doOnNext(o -> put(key, o));
+        private Mono<Object> fallbackPut(String cacheName, String key, Function<String, Object> fallback) {
+            return Mono.defer(() -> {
+                long start = System.nanoTime();
+                return ReactiveCacheManager.<Mono<Object>>fallback(key, fallback)
+                        .doOnSuccess(o -> {
+                            metrics.load(cacheName, System.nanoTime() - start);
+                            if (o == null) {
+                                putAbsent(cacheName, key);
+                            }
+                        })
+                        .doOnNext(o -> put(cacheName, key, o));
+            });
         }
         // @formatter:on
     }
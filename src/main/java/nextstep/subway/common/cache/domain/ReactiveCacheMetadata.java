@@ -0,0 +1,235 @@
+package nextstep.subway.common.cache.domain;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Getter;
+import nextstep.subway.common.cache.annotation.ReactiveCacheAnnotationParser;
+import org.springframework.cache.annotation.CacheAnnotationParser;
+import org.springframework.cache.interceptor.CacheOperation;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.Expression;
+import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.SimpleEvaluationContext;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.util.*;
+import java.util.stream.Collectors;
+
+@Getter
+public class ReactiveCacheMetadata {
+    private static final String CACHE_KEY_FORMAT = "%s:g%d";
+    private static final String DYNAMIC_CACHE_KEY_FORMAT = "%s:g%d:%s";
+    private static final int MAX_REACTIVE_CACHEABLE_COUNT = 1;
+    private static final String PARAMETER_PREFIX = "#";
+    private static final EvaluationContext ELEMENT_EVALUATION_CONTEXT = SimpleEvaluationContext.forReadOnlyDataBinding()
+            .build();
+    private static final CacheAnnotationParser CACHE_ANNOTATION_PARSER = new ReactiveCacheAnnotationParser();
+    private static final ParameterNameDiscoverer PARAMETER_NAME_DISCOVERER = new DefaultParameterNameDiscoverer();
+    private static final ExpressionParser EXPRESSION_PARSER = new SpelExpressionParser(
+            new SpelParserConfiguration(SpelCompilerMode.MIXED, ReactiveCacheMetadata.class.getClassLoader()));
+
+    private final Method method;
+    private final ReturnType returnType;
+    private final JavaType javaType;
+    private final JavaType cacheJavaType;
+    private final List<CacheOperation> cacheOperations;
+    private final CacheOperation cacheableOperation;
+    private final ReactiveCacheableAllOperation cacheableAllOperation;
+    private final List<CacheOperation> cacheEvictOperations;
+    private final Map<CacheOperation, List<CacheKey>> cacheKeys;
+    private final String[] parameterNames;
+    private final boolean dynamicKey;
+    private final int keysParameterIndex;
+    private final Expression elementKeyExpression;
+
+    private ReactiveCacheMetadata(Method method, ObjectMapper objectMapper) {
+        this.method = method;
+        this.returnType = ReturnType.of(method);
+        this.cacheOperations = List.copyOf(CACHE_ANNOTATION_PARSER.parseCacheAnnotations(method));
+        validate();
+        this.cacheableOperation = cacheOperations.stream()
+                .filter(cacheOperation -> cacheOperation.getClass()
+                        .isAssignableFrom(ReactiveCacheableOperation.class))
+                .findFirst()
+                .orElse(null);
+        this.cacheableAllOperation = cacheOperations.stream()
+                .filter(ReactiveCacheableAllOperation.class::isInstance)
+                .map(ReactiveCacheableAllOperation.class::cast)
+                .findFirst()
+                .orElse(null);
+        this.cacheEvictOperations = cacheOperations.stream()
+                .filter(cacheOperation -> cacheOperation.getClass()
+                        .isAssignableFrom(ReactiveCacheEvictOperation.class))
+                .collect(Collectors.toUnmodifiableList());
+        this.javaType = objectMapper.getTypeFactory()
+                .constructType(((ParameterizedType) method.getGenericReturnType()).getActualTypeArguments()[0]);
+        this.cacheJavaType = isReturnFlux() ? objectMapper.getTypeFactory()
+                .constructCollectionType(List.class, javaType) : javaType;
+        this.cacheKeys = parseCacheKeys(cacheOperations);
+        this.parameterNames = Optional.ofNullable(PARAMETER_NAME_DISCOVERER.getParameterNames(method))
+                .orElse(new String[0]);
+        this.dynamicKey = cacheKeys.values()
+                .stream()
+                .flatMap(Collection::stream)
+                .anyMatch(CacheKey::isDynamic);
+        this.keysParameterIndex = cacheableAllOperation == null ? -1 : findKeysParameterIndex();
+        this.elementKeyExpression = cacheableAllOperation == null ? null : EXPRESSION_PARSER.parseExpression(
+                cacheableAllOperation.getElementKey());
+    }
+
+    public static ReactiveCacheMetadata of(Method method, ObjectMapper objectMapper) {
+        return new ReactiveCacheMetadata(method, objectMapper);
+    }
+
+    // @formatter:off
+    private void validate() {
+        if (returnType == null) {
+            throw new IllegalStateException("캐시 메서드의 반환 타입은 Mono<?> 또는 Flux<?> 만 지원합니다.");
+        }
+        if (cacheOperations.stream()
+                .filter(cacheOperation -> cacheOperation.getClass()
+                        .isAssignableFrom(ReactiveCacheableOperation.class)
+                        || cacheOperation instanceof ReactiveCacheableAllOperation)
+                .count() > MAX_REACTIVE_CACHEABLE_COUNT) {
+            throw new IllegalStateException("캐시 메서드의 @ReactiveCacheable, @ReactiveCacheableAll 은 1개만 지원합니다.");
+        }
+        if (returnType != ReturnType.FLUX && cacheOperations.stream()
+                .anyMatch(ReactiveCacheableAllOperation.class::isInstance)) {
+            throw new IllegalStateException("@ReactiveCacheableAll 메서드의 반환 타입은 Flux<?> 만 지원합니다.");
+        }
+    }
+    // @formatter:on
+
+    private int findKeysParameterIndex() {
+        String key = cacheableAllOperation.getKey();
+        for (int i = 0; i < parameterNames.length; i++) {
+            if (key.equals(PARAMETER_PREFIX + parameterNames[i])
+                    && Collection.class.isAssignableFrom(method.getParameterTypes()[i])) {
+                return i;
+            }
+        }
+        throw new IllegalStateException("@ReactiveCacheableAll 의 key 는 컬렉션 파라미터(#파라미터명)만 지원합니다.");
+    }
+
+    private static Map<CacheOperation, List<CacheKey>> parseCacheKeys(List<CacheOperation> cacheOperations) {
+        Map<CacheOperation, List<CacheKey>> cacheKeys = new IdentityHashMap<>(cacheOperations.size());
+        for (CacheOperation cacheOperation : cacheOperations) {
+            if (cacheOperation instanceof ReactiveCacheableAllOperation) {
+                continue;
+            }
+            cacheKeys.put(cacheOperation, cacheOperation.getCacheNames()
+                    .stream()
+                    .map(cacheName -> CacheKey.of(cacheName, cacheOperation.getKey()))
+                    .collect(Collectors.toUnmodifiableList()));
+        }
+        return Collections.unmodifiableMap(cacheKeys);
+    }
+
+    public static String getKey(String cacheName, long generation, Object value) {
+        if (value == null) {
+            return String.format(CACHE_KEY_FORMAT, cacheName, generation);
+        }
+        return String.format(DYNAMIC_CACHE_KEY_FORMAT, cacheName, generation, value);
+    }
+
+    public static String getCacheName(String key) {
+        int index = key.indexOf(':');
+        if (index < 0) {
+            return key;
+        }
+        return key.substring(0, index);
+    }
+
+    public Optional<CacheOperation> getCacheableOperation() {
+        return Optional.ofNullable(cacheableOperation);
+    }
+
+    public Optional<ReactiveCacheableAllOperation> getCacheableAllOperation() {
+        return Optional.ofNullable(cacheableAllOperation);
+    }
+
+    public Object getElementKey(Object element) {
+        return elementKeyExpression.getValue(ELEMENT_EVALUATION_CONTEXT, element);
+    }
+
+    public boolean isReturnFlux() {
+        return returnType == ReturnType.FLUX;
+    }
+
+    public boolean isReturnMono() {
+        return returnType == ReturnType.MONO;
+    }
+
+    public EvaluationContext createEvaluationContext(Object[] args) {
+        if (!dynamicKey) {
+            return null;
+        }
+        EvaluationContext context = SimpleEvaluationContext.forReadOnlyDataBinding()
+                .build();
+        for (int i = 0; i < parameterNames.length && i < args.length; i++) {
+            context.setVariable(parameterNames[i], args[i]);
+        }
+        return context;
+    }
+
+    public List<CacheKey> getCacheKeys(CacheOperation cacheOperation) {
+        return cacheKeys.getOrDefault(cacheOperation, Collections.emptyList());
+    }
+
+    public enum ReturnType {
+        MONO, FLUX;
+
+        private static ReturnType of(Method method) {
+            if (method.getReturnType()
+                    .isAssignableFrom(Flux.class)) {
+                return FLUX;
+            }
+            if (method.getReturnType()
+                    .isAssignableFrom(Mono.class)) {
+                return MONO;
+            }
+            return null;
+        }
+    }
+
+    public static class CacheKey {
+        private final String cacheName;
+        private final Expression expression;
+
+        private CacheKey(String cacheName, Expression expression) {
+            this.cacheName = cacheName;
+            this.expression = expression;
+        }
+
+        private static CacheKey of(String cacheName, String key) {
+            if (StringUtils.hasText(key) && (key.contains("#") || key.contains("'"))) {
+                return new CacheKey(cacheName, EXPRESSION_PARSER.parseExpression(key));
+            }
+            return new CacheKey(cacheName, null);
+        }
+
+        public String getCacheName() {
+            return cacheName;
+        }
+
+        public boolean isDynamic() {
+            return expression != null;
+        }
+
+        public String getKey(long generation, EvaluationContext context) {
+            if (expression == null) {
+                return ReactiveCacheMetadata.getKey(cacheName, generation, null);
+            }
+            return ReactiveCacheMetadata.getKey(cacheName, generation, expression.getValue(context));
+        }
+    }
+}
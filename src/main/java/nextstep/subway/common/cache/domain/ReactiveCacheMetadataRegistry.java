@@ -0,0 +1,94 @@
+package nextstep.subway.common.cache.domain;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import nextstep.subway.common.cache.annotation.ReactiveCacheable;
+import nextstep.subway.common.cache.annotation.ReactiveCaching;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+@Component
+public class ReactiveCacheMetadataRegistry implements SmartInitializingSingleton {
+    private final Map<Method, ReactiveCacheMetadata> metadata = new ConcurrentHashMap<>();
+    private final Map<Method, Object> proxies = new ConcurrentHashMap<>();
+    private final ObjectMapper objectMapper;
+    private final ListableBeanFactory beanFactory;
+
+    public ReactiveCacheMetadataRegistry(ObjectMapper objectMapper, ListableBeanFactory beanFactory) {
+        this.objectMapper = objectMapper;
+        this.beanFactory = beanFactory;
+    }
+
+    /**
+     * 재시작 후 아직 호출되지 않은 캐시 메서드도 강제 갱신할 수 있도록 시작 시점에 싱글톤 빈의 프록시를 기록한다.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        for (String beanName : beanFactory.getBeanNamesForType(Object.class, false, false)) {
+            Class<?> beanType = beanFactory.getType(beanName, false);
+            if (beanType == null) {
+                continue;
+            }
+            ReflectionUtils.doWithMethods(ClassUtils.getUserClass(beanType),
+                    method -> registerProxy(get(method), beanFactory.getBean(beanName)),
+                    ReactiveCacheMetadataRegistry::isLoader);
+        }
+    }
+
+    public ReactiveCacheMetadata get(Method method) {
+        ReactiveCacheMetadata reactiveCacheMetadata = metadata.get(method);
+        if (reactiveCacheMetadata != null) {
+            return reactiveCacheMetadata;
+        }
+        return metadata.computeIfAbsent(method, key -> ReactiveCacheMetadata.of(key, objectMapper));
+    }
+
+    /**
+     * 강제 갱신에 사용할 수 있도록 인자가 없는 캐시 메서드의 프록시를 기록한다.
+     */
+    public void registerProxy(ReactiveCacheMetadata reactiveCacheMetadata, Object proxy) {
+        Method method = reactiveCacheMetadata.getMethod();
+        if (method.getParameterCount() > 0 || reactiveCacheMetadata.getCacheableOperation()
+                .isEmpty() || proxies.containsKey(method)) {
+            return;
+        }
+        proxies.putIfAbsent(method, proxy);
+    }
+
+    public List<ReactiveCacheLoader> getLoaders(String cacheName) {
+        return proxies.entrySet()
+                .stream()
+                .filter(entry -> isCacheable(metadata.get(entry.getKey()), cacheName))
+                .map(entry -> ReactiveCacheLoader.of(entry.getKey(), entry.getValue()))
+                .collect(Collectors.toList());
+    }
+
+    public boolean isChunked(String cacheName) {
+        return metadata.values()
+                .stream()
+                .anyMatch(reactiveCacheMetadata -> reactiveCacheMetadata.isReturnFlux()
+                        && isCacheable(reactiveCacheMetadata, cacheName));
+    }
+
+    private static boolean isLoader(Method method) {
+        return method.getParameterCount() == 0
+                && (AnnotatedElementUtils.hasAnnotation(method, ReactiveCacheable.class)
+                || AnnotatedElementUtils.hasAnnotation(method, ReactiveCaching.class));
+    }
+
+    private static boolean isCacheable(ReactiveCacheMetadata reactiveCacheMetadata, String cacheName) {
+        return reactiveCacheMetadata.getCacheableOperation()
+                .map(cacheOperation -> cacheOperation.getCacheNames()
+                        .contains(cacheName))
+                .orElse(false);
+    }
+}
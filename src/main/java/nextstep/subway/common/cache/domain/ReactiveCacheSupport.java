@@ -0,0 +1,45 @@
+package nextstep.subway.common.cache.domain;
+
+import lombok.Getter;
+import nextstep.subway.common.cache.metrics.ReactiveCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 캐시 호출마다 생성하는 {@link ReactiveCacheManager} 가 공유하는 저장소와 설정
+ */
+@Component
+@Getter
+public class ReactiveCacheSupport {
+    private final CacheRepository<String, Object> cacheRepository;
+    private final CacheGenerationRepository cacheGenerationRepository;
+    private final CacheWriteBehindQueue cacheWriteBehindQueue;
+    private final ReactiveCacheMetrics reactiveCacheMetrics;
+    private final int chunkSize;
+    private final Duration ttl;
+    private final Duration negativeTtl;
+    private final Duration doubleDeleteDelay;
+
+    public ReactiveCacheSupport(CacheRepository<String, Object> cacheRepository,
+                                CacheGenerationRepository cacheGenerationRepository,
+                                CacheWriteBehindQueue cacheWriteBehindQueue,
+                                ReactiveCacheMetrics reactiveCacheMetrics,
+                                @Value("${reactive-cache.chunk-size:256}") int chunkSize,
+                                @Value("${reactive-cache.ttl:1h}") Duration ttl,
+                                @Value("${reactive-cache.negative-ttl:30s}") Duration negativeTtl,
+                                @Value("${reactive-cache.evict.double-delete-delay:0s}") Duration doubleDeleteDelay) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("캐시 청크 크기는 1 이상이어야 합니다.");
+        }
+        this.cacheRepository = cacheRepository;
+        this.cacheGenerationRepository = cacheGenerationRepository;
+        this.cacheWriteBehindQueue = cacheWriteBehindQueue;
+        this.reactiveCacheMetrics = reactiveCacheMetrics;
+        this.chunkSize = chunkSize;
+        this.ttl = ttl;
+        this.negativeTtl = negativeTtl;
+        this.doubleDeleteDelay = doubleDeleteDelay;
+    }
+}
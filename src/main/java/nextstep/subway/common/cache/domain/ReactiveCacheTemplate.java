@@ -0,0 +1,169 @@
+package nextstep.subway.common.cache.domain;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import lombok.extern.slf4j.Slf4j;
+import nextstep.subway.common.cache.metrics.ReactiveCacheMetrics;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * 어노테이션으로 표현하기 어려운 캐시 갱신을 코드로 처리한다.
+ * 키 캐시는 값을 바로 쓰고, Flux 캐시(청크 목록)는 현재 세대의 목록을 고쳐서 다음 세대에 미리 채운다.
+ * 목록을 제자리에서 고치면 고치기 전에 원본을 읽은 요청이 이전 목록을 나중에 덮어쓸 수 있으므로, 항상 세대 번호를 올린다.
+ * 올린 세대 번호가 읽은 세대 번호 + 1 이 아니면 그 사이에 다른 변경이 있었으므로 채우지 않고 원본에서 다시 읽게 한다.
+ */
+@Slf4j
+@Component
+public class ReactiveCacheTemplate {
+    private final CacheRepository<String, Object> cacheRepository;
+    private final CacheGenerationRepository cacheGenerationRepository;
+    private final CacheWriteBehindQueue writeBehindQueue;
+    private final ReactiveCacheMetrics metrics;
+    private final int chunkSize;
+    private final Duration ttl;
+
+    public ReactiveCacheTemplate(ReactiveCacheSupport support) {
+        this.cacheRepository = support.getCacheRepository();
+        this.cacheGenerationRepository = support.getCacheGenerationRepository();
+        this.writeBehindQueue = support.getCacheWriteBehindQueue();
+        this.metrics = support.getReactiveCacheMetrics();
+        this.chunkSize = support.getChunkSize();
+        this.ttl = support.getTtl();
+    }
+
+    public Mono<Void> afterCommit(Mono<Void> action) {
+        return AfterCommitSynchronization.afterCommit(action);
+    }
+
+    // @formatter:off
+    public Mono<Void> put(String cacheName, Object key, Object value) {
+        return cacheGenerationRepository.get(cacheName)
+                .map(generation -> ReactiveCacheMetadata.getKey(cacheName, generation, key))
+                .flatMap(cacheKey -> {
+                    log.debug("cache put key: {}", cacheKey);
+                    writeBehindQueue.remove(cacheKey);
+                    return cacheRepository.put(cacheKey, value, ttl);
+                })
+                .then()
+                .onErrorResume(throwable -> evictOnFailure(cacheName, throwable));
+    }
+    // @formatter:on
+
+    // @formatter:off
+    public Mono<Void> evict(String cacheName, Object key) {
+        return cacheGenerationRepository.get(cacheName)
+                .map(generation -> ReactiveCacheMetadata.getKey(cacheName, generation, key))
+                .flatMap(cacheKey -> {
+                    log.debug("cache evict key: {}", cacheKey);
+                    writeBehindQueue.remove(cacheKey);
+                    return cacheRepository.evict(cacheKey);
+                })
+                .then()
+                .onErrorResume(throwable -> evictOnFailure(cacheName, throwable));
+    }
+    // @formatter:on
+
+    // @formatter:off
+    public Mono<Void> evict(Collection<String> cacheNames) {
+        log.debug("cache evict names: {}", cacheNames);
+        return cacheGenerationRepository.increment(cacheNames)
+                .onErrorResume(throwable -> {
+                    cacheNames.forEach(metrics::evictFailure);
+                    return Mono.empty();
+                });
+    }
+    // @formatter:on
+
+    /**
+     * 캐시된 목록의 끝에 원소를 추가한다. 같은 원소가 이미 있으면 지우고 끝에 추가한다.
+     */
+    public <T> Mono<Void> append(String cacheName, T element, Class<T> elementType) {
+        return update(cacheName, getChunkType(elementType), elements -> {
+            elements.removeIf(element::equals);
+            elements.add(element);
+        });
+    }
+
+    /**
+     * 캐시된 목록에서 조건에 맞는 원소를 지운다.
+     */
+    public <T> Mono<Void> removeIf(String cacheName, Predicate<T> predicate, Class<T> elementType) {
+        return update(cacheName, getChunkType(elementType),
+                      elements -> elements.removeIf(o -> predicate.test(elementType.cast(o))));
+    }
+
+    /**
+     * 현재 세대에 캐시된 목록이 없어도 세대 번호는 올려서, 원본을 읽는 중인 요청이 이전 목록을 저장해도 조회되지 않게 한다.
+     */
+    // @formatter:off
+    private Mono<Void> update(String cacheName, JavaType chunkType, Consumer<List<Object>> mutation) {
+        return cacheGenerationRepository.get(cacheName)
+                .flatMap(generation -> getElements(ReactiveCacheMetadata.getKey(cacheName, generation, null), chunkType)
+                        .map(Optional::of)
+                        .defaultIfEmpty(Optional.empty())
+                        .flatMap(elements -> cacheGenerationRepository.incrementAndGet(cacheName)
+                                .filter(next -> elements.isPresent() && next == generation + 1)
+                                .flatMap(next -> {
+                                    mutation.accept(elements.get());
+                                    return putElements(ReactiveCacheMetadata.getKey(cacheName, next, null),
+                                                       elements.get());
+                                })))
+                .then()
+                .onErrorResume(throwable -> evictOnFailure(cacheName, throwable));
+    }
+    // @formatter:on
+
+    // @formatter:off
+    private Mono<List<Object>> getElements(String key, JavaType chunkType) {
+        return cacheRepository.getLatest(key, CacheChunks.JAVA_TYPE)
+                .cast(CacheChunks.class)
+                .flatMap(chunks -> Flux.range(0, chunks.getCount())
+                        .map(index -> chunks.getChunkKey(key, index))
+                        .concatMap(chunkKey -> cacheRepository.getLatest(chunkKey, chunkType)
+                                .switchIfEmpty(Mono.error(() -> new IllegalStateException(
+                                        "캐시 청크가 없습니다. key: " + chunkKey))))
+                        .collect(ArrayList::new, (elements, chunk) -> elements.addAll((List<?>) chunk)));
+    }
+    // @formatter:on
+
+    /**
+     * 청크를 먼저 쓰고 헤더를 마지막에 써서, 읽는 쪽이 없는 청크를 보지 않게 한다.
+     * 같은 세대를 원본에서 읽은 요청이 함께 채워도 청크 키의 id 가 달라서 섞이지 않는다.
+     */
+    // @formatter:off
+    private Mono<Void> putElements(String key, List<Object> elements) {
+        String id = CacheChunks.newId();
+        int count = (elements.size() + chunkSize - 1) / chunkSize;
+        return Flux.range(0, count)
+                .concatMap(index -> {
+                    String chunkKey = CacheChunks.chunkKey(key, id, index);
+                    log.debug("cache put chunk key: {}", chunkKey);
+                    int to = Math.min(elements.size(), (index + 1) * chunkSize);
+                    return cacheRepository.put(chunkKey, new ArrayList<>(elements.subList(index * chunkSize, to)), ttl);
+                })
+                .then(Mono.defer(() -> cacheRepository.put(key, CacheChunks.of(count, id), ttl)))
+                .then();
+    }
+    // @formatter:on
+
+    private Mono<Void> evictOnFailure(String cacheName, Throwable throwable) {
+        log.debug("cache update failed, evict name: {}", cacheName, throwable);
+        metrics.putFailure(cacheName);
+        return evict(List.of(cacheName));
+    }
+
+    private static JavaType getChunkType(Class<?> elementType) {
+        return TypeFactory.defaultInstance()
+                .constructCollectionType(List.class, elementType);
+    }
+}
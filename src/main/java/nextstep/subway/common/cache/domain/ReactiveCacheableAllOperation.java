@@ -0,0 +1,49 @@
+package nextstep.subway.common.cache.domain;
+
+import org.springframework.cache.interceptor.CacheOperation;
+
+public class ReactiveCacheableAllOperation extends CacheOperation {
+    private final String elementKey;
+
+    protected ReactiveCacheableAllOperation(Builder b) {
+        super(b);
+        this.elementKey = b.elementKey;
+    }
+
+    public static ReactiveCacheableAllOperation.Builder builder() {
+        return new ReactiveCacheableAllOperation.Builder();
+    }
+
+    public String getElementKey() {
+        return elementKey;
+    }
+
+    public static class Builder extends CacheOperation.Builder {
+        private String elementKey;
+
+        @Override
+        public ReactiveCacheableAllOperation build() {
+            return new ReactiveCacheableAllOperation(this);
+        }
+
+        public ReactiveCacheableAllOperation.Builder name(String name) {
+            setName(name);
+            return this;
+        }
+
+        public ReactiveCacheableAllOperation.Builder cacheNames(String... cacheNames) {
+            setCacheNames(cacheNames);
+            return this;
+        }
+
+        public ReactiveCacheableAllOperation.Builder key(String key) {
+            setKey(key);
+            return this;
+        }
+
+        public ReactiveCacheableAllOperation.Builder elementKey(String elementKey) {
+            this.elementKey = elementKey;
+            return this;
+        }
+    }
+}
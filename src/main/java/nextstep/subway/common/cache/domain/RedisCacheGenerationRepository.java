@@ -0,0 +1,172 @@
+package nextstep.subway.common.cache.domain;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 세대 번호는 Redis 해시 1개에 캐시 이름별 필드로 저장하고, 로컬에 미러링한다.
+ * 여러 캐시 이름은 스크립트 1번으로 원자적으로 올리고, 변경된 이름과 올린 값을 채널로 발행해서 다른 인스턴스의 미러를 고친다.
+ * 미러는 더 큰 값으로만 바꾸므로 올리기 전에 읽은 값이 늦게 도착해도 이전 세대로 돌아가지 않는다.
+ * 메시지 유실에 대비해서 미러는 refresh-interval 이 지나면 다시 읽는다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "reactive-cache.backend", havingValue = "redis", matchIfMissing = true)
+public class RedisCacheGenerationRepository implements CacheGenerationRepository {
+    private static final String GENERATIONS_KEY = "reactive-cache:generations";
+    private static final String CHANNEL = "reactive-cache:generation";
+    private static final String DELIMITER = ",";
+    private static final String VALUE_DELIMITER = "=";
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> INCREMENT_SCRIPT = RedisScript.of(
+            "local values = {} "
+                    + "for i = 1, #ARGV do values[i] = redis.call('HINCRBY', KEYS[1], ARGV[i], 1) end "
+                    + "return values", List.class);
+
+    private final ReactiveStringRedisTemplate reactiveStringRedisTemplate;
+    private final long refreshIntervalNanos;
+    private final Map<String, Generation> generations = new ConcurrentHashMap<>();
+    private final Sinks.Many<String> changes = Sinks.many()
+            .multicast()
+            .directBestEffort();
+    private Disposable subscription;
+
+    public RedisCacheGenerationRepository(ReactiveStringRedisTemplate reactiveStringRedisTemplate,
+                                          @Value("${reactive-cache.generation.refresh-interval:10s}")
+                                                  Duration refreshInterval) {
+        this.reactiveStringRedisTemplate = reactiveStringRedisTemplate;
+        this.refreshIntervalNanos = refreshInterval.toNanos();
+    }
+
+    // @formatter:off
+    @PostConstruct
+    public void subscribe() {
+        subscription = reactiveStringRedisTemplate.listenToChannel(CHANNEL)
+                .doOnSubscribe(s -> generations.clear())
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1))
+                                   .maxBackoff(Duration.ofSeconds(30))
+                                   .scheduler(Schedulers.boundedElastic()))
+                .subscribe(message -> onChange(message.getMessage()));
+    }
+    // @formatter:on
+
+    @PreDestroy
+    public void dispose() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+
+    // @formatter:off
+    @Override
+    public Mono<Long> get(String cacheName) {
+        Generation generation = generations.get(cacheName);
+        if (generation != null && !generation.isExpired()) {
+            return Mono.just(generation.value);
+        }
+        return reactiveStringRedisTemplate.<String, String>opsForHash()
+                .get(GENERATIONS_KEY, cacheName)
+                .map(Long::parseLong)
+                .defaultIfEmpty(0L)
+                .map(value -> mirror(cacheName, value));
+    }
+    // @formatter:on
+
+    @Override
+    public Mono<Void> increment(Collection<String> cacheNames) {
+        if (cacheNames.isEmpty()) {
+            return Mono.empty();
+        }
+        return incrementAll(List.copyOf(cacheNames))
+                .then();
+    }
+
+    @Override
+    public Mono<Long> incrementAndGet(String cacheName) {
+        return incrementAll(List.of(cacheName))
+                .map(values -> values.get(0));
+    }
+
+    @Override
+    public Flux<String> changes() {
+        return changes.asFlux();
+    }
+
+    // @formatter:off
+    private Mono<List<Long>> incrementAll(List<String> names) {
+        return reactiveStringRedisTemplate.execute(INCREMENT_SCRIPT, Collections.singletonList(GENERATIONS_KEY), names)
+                .next()
+                .flatMap(values -> {
+                    List<Long> generations = new ArrayList<>(names.size());
+                    List<String> changes = new ArrayList<>(names.size());
+                    for (int i = 0; i < names.size(); i++) {
+                        long value = ((Number) values.get(i)).longValue();
+                        mirror(names.get(i), value);
+                        generations.add(value);
+                        changes.add(names.get(i) + VALUE_DELIMITER + value);
+                    }
+                    return reactiveStringRedisTemplate.convertAndSend(CHANNEL, String.join(DELIMITER, changes))
+                            .thenReturn(generations);
+                });
+    }
+    // @formatter:on
+
+    private void onChange(String message) {
+        for (String change : message.split(DELIMITER)) {
+            String[] nameAndValue = change.split(VALUE_DELIMITER, 2);
+            String cacheName = nameAndValue[0];
+            log.debug("cache generation changed: {}", change);
+            if (nameAndValue.length == 2) {
+                mirror(cacheName, Long.parseLong(nameAndValue[1]));
+            } else {
+                generations.remove(cacheName);
+            }
+            synchronized (changes) {
+                changes.tryEmitNext(cacheName);
+            }
+        }
+    }
+
+    /**
+     * 증가와 경합한 조회가 올리기 전 값을 늦게 넣지 않도록 더 큰 값으로만 바꾼다. 같은 값이면 다시 읽을 시각만 늦춘다.
+     */
+    private long mirror(String cacheName, long value) {
+        Generation read = new Generation(value, System.nanoTime() + refreshIntervalNanos);
+        return generations.merge(cacheName, read, (current, next) -> next.value >= current.value ? next : current)
+                .value;
+    }
+
+    private static class Generation {
+        private final long value;
+        private final long expiresAt;
+
+        private Generation(long value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired() {
+            return System.nanoTime() - expiresAt > 0;
+        }
+    }
+}
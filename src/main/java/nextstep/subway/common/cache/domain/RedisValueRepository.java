@@ -1,69 +1,384 @@
 package nextstep.subway.common.cache.domain;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
-import org.springframework.stereotype.Component;
+import com.fasterxml.jackson.databind.JavaType;
+import nextstep.subway.common.cache.codec.CacheCodec;
+import nextstep.subway.common.cache.metrics.ReactiveCacheMetrics;
+import org.springframework.data.redis.connection.ReactiveStringCommands;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.nio.ByteBuffer;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
 
-@Component
-public class RedisValueRepository<V> implements CacheRepository<String, V> {
-    private final ReactiveStringRedisTemplate reactiveStringRedisTemplate;
-    private final ObjectMapper objectMapper;
+/**
+ * 인코딩한 값이 shard-size 보다 크면 여러 하위 키로 나눠 저장하고, 원래 키에는 조각 수와 전체 길이만 담은 매니페스트를 저장한다.
+ * 하위 키는 각자 해시 태그로 감싸서 클러스터의 여러 슬롯으로 흩어지므로, 큰 키 1개의 조회 부하가 노드 1개에 몰리지 않는다.
+ * 조각은 매니페스트보다 먼저 저장하고, 조각이 하나라도 없거나 길이를 합한 값이 매니페스트와 다르면 캐시 미스로 처리한다.
+ * 저장할 때마다 새 nonce 를 매니페스트와 하위 키에 넣어서, 같은 키를 덮어써도 이전 값의 조각과 섞이지 않는다.
+ * 덮어쓴 이전 조각은 만료 시간이 지나면 지워지고, 삭제할 때는 매니페스트가 가리키는 조각도 함께 지운다.
+ * <p>
+ * replica-read 에 지정한 캐시 이름의 조회는 복제 노드 우선 템플릿으로 보내고, 저장과 삭제는 항상 마스터로 보낸다.
+ * 복제는 비동기라서 복제 노드 조회는 방금 저장한 값보다 이전 값을 볼 수 있다.
+ * 헤더와 청크, 매니페스트와 조각처럼 여러 키에 나눠 저장한 값은 슬롯이 달라서 일부만 복제됐을 수 있으므로,
+ * 복제 노드에 없는 키(조각이 모자란 값 포함)는 마스터에서 다시 읽는다.
+ * 같은 키를 덮어쓰는 캐시(station)는 복제 지연만큼 이전 값을 응답할 수 있으므로 그 지연을 허용하는 캐시 이름만 지정한다.
+ * 읽고 수정해서 쓰는 경우는 {@link #getLatest} 로 마스터에서 읽는다.
+ * <p>
+ * 회로 차단기로 감싸서 사용하므로 빈으로 등록하지 않는다. {@link CircuitBreakerCacheRepository}
+ */
+public class RedisValueRepository implements CacheRepository<String, Object> {
+    /**
+     * 코덱(JSON, Smile)이 만들 수 없는 1바이트 값을 {@link CacheTombstone} 으로 사용한다.
+     */
+    private static final byte[] TOMBSTONE = {0};
+    /**
+     * 매니페스트도 코덱이 만들 수 없는 첫 바이트로 구분한다. [마커][조각 수 int][전체 길이 int][nonce long]
+     */
+    private static final byte MANIFEST_MARKER = 1;
+    private static final int MANIFEST_LENGTH = 1 + Integer.BYTES * 2 + Long.BYTES;
+    private static final byte[] EMPTY = new byte[0];
 
-    public RedisValueRepository(ReactiveStringRedisTemplate reactiveStringRedisTemplate,
-                                ObjectMapper objectMapper) {
-        this.reactiveStringRedisTemplate = reactiveStringRedisTemplate;
-        this.objectMapper = objectMapper;
+    private final ReactiveRedisTemplate<String, byte[]> reactiveRedisTemplate;
+    private final ReactiveRedisTemplate<String, byte[]> replicaRedisTemplate;
+    private final Set<String> replicaReadCacheNames;
+    private final CacheCodec cacheCodec;
+    private final ReactiveCacheMetrics reactiveCacheMetrics;
+    private final int shardSize;
+
+    /**
+     * @param replicaRedisTemplate  복제 노드 우선으로 읽는 템플릿. 클러스터가 아니면 reactiveRedisTemplate 과 같다.
+     * @param replicaReadCacheNames 복제 노드에서 읽어도 되는 캐시 이름
+     * @param shardSize             0 이면 나누지 않는다.
+     */
+    public RedisValueRepository(ReactiveRedisTemplate<String, byte[]> reactiveRedisTemplate,
+                                ReactiveRedisTemplate<String, byte[]> replicaRedisTemplate,
+                                Set<String> replicaReadCacheNames, CacheCodec cacheCodec,
+                                ReactiveCacheMetrics reactiveCacheMetrics, int shardSize) {
+        if (shardSize < 0) {
+            throw new IllegalArgumentException("캐시 값 조각 크기는 0 이상이어야 합니다.");
+        }
+        this.reactiveRedisTemplate = reactiveRedisTemplate;
+        this.replicaRedisTemplate = replicaRedisTemplate;
+        this.replicaReadCacheNames = Set.copyOf(replicaReadCacheNames);
+        this.cacheCodec = cacheCodec;
+        this.reactiveCacheMetrics = reactiveCacheMetrics;
+        this.shardSize = shardSize;
     }
 
     // @formatter:off
     @Override
-    public Mono<V> get(String key) {
-        return reactiveStringRedisTemplate.opsForValue()
-                .get(key)
-                .map(o -> {
-                    try {
-                        return objectMapper.readValue(o, new TypeReference<>() {
-                        });
-                    } catch (JsonProcessingException e) {
-                        throw new IllegalStateException(e);
+    public Mono<Object> get(String key, JavaType javaType) {
+        ReactiveRedisTemplate<String, byte[]> template = readTemplate(key);
+        if (template == reactiveRedisTemplate) {
+            return get(template, key, javaType);
+        }
+        return get(template, key, javaType)
+                .switchIfEmpty(Mono.defer(() -> get(reactiveRedisTemplate, key, javaType)));
+    }
+    // @formatter:on
+
+    @Override
+    public Mono<Object> getLatest(String key, JavaType javaType) {
+        return get(reactiveRedisTemplate, key, javaType);
+    }
+
+    // @formatter:off
+    @Override
+    public Mono<List<Object>> multiGet(List<String> keys, JavaType javaType) {
+        if (keys.isEmpty()) {
+            return Mono.just(List.of());
+        }
+        ReactiveRedisTemplate<String, byte[]> template = readTemplate(keys.get(0));
+        return multiGet(template, keys)
+                .flatMap(values -> template == reactiveRedisTemplate ? Mono.just(values) : retryMissing(keys, values))
+                .map(values -> {
+                    List<Object> result = new ArrayList<>(values.size());
+                    values.forEach(bytes -> result.add(bytes.length == 0 ? null : decode(bytes, javaType)));
+                    return result;
+                });
+    }
+    // @formatter:on
+
+    /**
+     * 없는 키와 조각이 모자란 값은 빈 배열로 돌려준다.
+     */
+    // @formatter:off
+    private Mono<List<byte[]>> multiGet(ReactiveRedisTemplate<String, byte[]> template, List<String> keys) {
+        return template.opsForValue()
+                .multiGet(keys)
+                .flatMap(values -> Flux.range(0, values.size())
+                        .flatMapSequential(i -> {
+                            // 없는 키는 null 이나 빈 값으로 온다.
+                            byte[] bytes = values.get(i);
+                            if (bytes == null || bytes.length == 0) {
+                                return Mono.just(EMPTY);
+                            }
+                            return join(template, keys.get(i), bytes).defaultIfEmpty(EMPTY);
+                        })
+                        .collectList());
+    }
+    // @formatter:on
+
+    /**
+     * 복제 노드에 없던 키만 마스터에서 다시 읽어서 채운다.
+     */
+    // @formatter:off
+    private Mono<List<byte[]>> retryMissing(List<String> keys, List<byte[]> values) {
+        List<Integer> missing = new ArrayList<>();
+        for (int i = 0; i < values.size(); i++) {
+            if (values.get(i).length == 0) {
+                missing.add(i);
+            }
+        }
+        if (missing.isEmpty()) {
+            return Mono.just(values);
+        }
+        List<String> missingKeys = new ArrayList<>(missing.size());
+        missing.forEach(i -> missingKeys.add(keys.get(i)));
+        return multiGet(reactiveRedisTemplate, missingKeys)
+                .map(latest -> {
+                    List<byte[]> merged = new ArrayList<>(values);
+                    for (int i = 0; i < missing.size(); i++) {
+                        merged.set(missing.get(i), latest.get(i));
                     }
+                    return merged;
                 });
     }
     // @formatter:on
 
+    /**
+     * 쓰기는 호출할 때 바로 인코딩해서, 회로 차단기가 재는 저장소 호출 시간에 인코딩 시간이 들어가지 않게 한다.
+     */
+    @Override
+    public Mono<Object> put(String key, Object value) {
+        return set(() -> commands(key, value, Expiration.persistent())).thenReturn(value);
+    }
+
+    @Override
+    public Mono<Object> put(String key, Object value, Duration timeout) {
+        return set(() -> commands(key, value, Expiration.from(timeout))).thenReturn(value);
+    }
+
+    /**
+     * SET 명령을 한 커넥션에 파이프라이닝해서 한 번에 보낸다. MSET 은 만료 시간을 지정할 수 없어서 사용하지 않는다.
+     */
+    @Override
+    public Mono<Void> multiPut(Map<String, Object> values, Duration timeout) {
+        if (values.isEmpty()) {
+            return Mono.empty();
+        }
+        Expiration expiration = Expiration.from(timeout);
+        return set(() -> {
+            List<ReactiveStringCommands.SetCommand> commands = new ArrayList<>(values.size());
+            values.forEach((key, value) -> commands.addAll(commands(key, value, expiration)));
+            return commands;
+        });
+    }
+
+    /**
+     * 잠금처럼 작은 값에만 사용하므로 나누지 않는다.
+     */
     // @formatter:off
     @Override
-    public Mono<V> put(String key, V value) {
+    public Mono<Boolean> putIfAbsent(String key, Object value, Duration timeout) {
+        byte[] bytes;
         try {
-            return reactiveStringRedisTemplate.opsForValue()
-                    .set(key, objectMapper.writeValueAsString(value))
-                    .thenReturn(value);
-        } catch (JsonProcessingException e) {
+            bytes = encode(key, value);
+        } catch (RuntimeException e) {
             return Mono.error(e);
         }
+        return reactiveRedisTemplate.opsForValue()
+                .setIfAbsent(key, bytes, timeout);
+    }
+    // @formatter:on
+
+    /**
+     * 매니페스트를 먼저 지워서 읽는 쪽이 지우는 중인 조각을 보지 않게 한다.
+     * 큰 값을 내려받지 않도록 길이가 매니페스트와 같을 때만 값을 읽는다.
+     */
+    // @formatter:off
+    @Override
+    public Mono<Long> evict(String key) {
+        return reactiveRedisTemplate.opsForValue()
+                .size(key)
+                .filter(size -> size == MANIFEST_LENGTH)
+                .flatMap(size -> reactiveRedisTemplate.opsForValue()
+                        .get(key))
+                .filter(RedisValueRepository::isManifest)
+                .flatMap(manifest -> reactiveRedisTemplate.delete(key)
+                        .flatMap(deleted -> Flux.fromIterable(shardKeys(key, manifest))
+                                .flatMap(reactiveRedisTemplate::delete)
+                                .then(Mono.just(deleted))))
+                .switchIfEmpty(Mono.defer(() -> reactiveRedisTemplate.delete(key)));
     }
     // @formatter:on
 
+    /**
+     * 조각으로 나눈 값은 매니페스트의 전체 길이를 돌려준다.
+     */
     // @formatter:off
     @Override
-    public Mono<V> put(String key, V value, Duration timeout) {
+    public Mono<Long> size(String key) {
+        return reactiveRedisTemplate.opsForValue()
+                .size(key)
+                .flatMap(size -> {
+                    if (size != MANIFEST_LENGTH) {
+                        return Mono.just(size);
+                    }
+                    return reactiveRedisTemplate.opsForValue()
+                            .get(key)
+                            .map(bytes -> isManifest(bytes) ? ByteBuffer.wrap(bytes)
+                                    .getInt(1 + Integer.BYTES) : size);
+                });
+    }
+    // @formatter:on
+
+    // @formatter:off
+    private Mono<Object> get(ReactiveRedisTemplate<String, byte[]> template, String key, JavaType javaType) {
+        return template.opsForValue()
+                .get(key)
+                .flatMap(bytes -> join(template, key, bytes))
+                .map(bytes -> decode(bytes, javaType));
+    }
+    // @formatter:on
+
+    private ReactiveRedisTemplate<String, byte[]> readTemplate(String key) {
+        if (replicaReadCacheNames.contains(ReactiveCacheMetadata.getCacheName(key))) {
+            return replicaRedisTemplate;
+        }
+        return reactiveRedisTemplate;
+    }
+
+    private Mono<Void> set(Supplier<List<ReactiveStringCommands.SetCommand>> encoder) {
+        List<ReactiveStringCommands.SetCommand> commands;
         try {
-            return reactiveStringRedisTemplate.opsForValue()
-                    .set(key, objectMapper.writeValueAsString(value), timeout)
-                    .thenReturn(value);
-        } catch (JsonProcessingException e) {
+            commands = encoder.get();
+        } catch (RuntimeException e) {
             return Mono.error(e);
         }
+        return set(commands);
+    }
+
+    private Mono<Void> set(List<ReactiveStringCommands.SetCommand> commands) {
+        return reactiveRedisTemplate.execute(connection -> connection.stringCommands()
+                        .set(Flux.fromIterable(commands)))
+                .then();
+    }
+
+    private List<ReactiveStringCommands.SetCommand> commands(String key, Object value, Expiration expiration) {
+        byte[] bytes = encode(key, value);
+        if (shardSize == 0 || bytes.length <= shardSize) {
+            return List.of(setCommand(key, ByteBuffer.wrap(bytes), expiration));
+        }
+        int count = (bytes.length + shardSize - 1) / shardSize;
+        long nonce = ThreadLocalRandom.current()
+                .nextLong();
+        List<ReactiveStringCommands.SetCommand> commands = new ArrayList<>(count + 1);
+        for (int i = 0; i < count; i++) {
+            int offset = i * shardSize;
+            commands.add(setCommand(shardKey(key, nonce, i),
+                                    ByteBuffer.wrap(bytes, offset, Math.min(shardSize, bytes.length - offset)),
+                                    expiration));
+        }
+        ByteBuffer manifest = ByteBuffer.allocate(MANIFEST_LENGTH)
+                .put(MANIFEST_MARKER)
+                .putInt(count)
+                .putInt(bytes.length)
+                .putLong(nonce)
+                .flip();
+        commands.add(setCommand(key, manifest, expiration));
+        return commands;
+    }
+
+    private ReactiveStringCommands.SetCommand setCommand(String key, ByteBuffer value, Expiration expiration) {
+        return ReactiveStringCommands.SetCommand.set(serializeKey(key))
+                .value(value)
+                .expiring(expiration);
+    }
+
+    /**
+     * 매니페스트면 조각을 모두 읽어서 이어 붙이고, 조각이 하나라도 없거나 길이가 맞지 않으면 비어 있는 Mono 를 돌려준다.
+     */
+    // @formatter:off
+    private Mono<byte[]> join(ReactiveRedisTemplate<String, byte[]> template, String key, byte[] bytes) {
+        if (!isManifest(bytes)) {
+            return Mono.just(bytes);
+        }
+        List<String> shardKeys = shardKeys(key, bytes);
+        int length = ByteBuffer.wrap(bytes)
+                .getInt(1 + Integer.BYTES);
+        return Flux.fromIterable(shardKeys)
+                .flatMapSequential(shardKey -> template.opsForValue()
+                        .get(shardKey))
+                .collectList()
+                .filter(shards -> shards.size() == shardKeys.size() && totalLength(shards) == length)
+                .map(shards -> {
+                    ByteBuffer joined = ByteBuffer.allocate(length);
+                    shards.forEach(joined::put);
+                    return joined.array();
+                });
     }
     // @formatter:on
 
-    @Override
-    public Mono<Long> evict(String key) {
-        return reactiveStringRedisTemplate.delete(key);
+    private static boolean isManifest(byte[] bytes) {
+        return bytes.length == MANIFEST_LENGTH && bytes[0] == MANIFEST_MARKER;
+    }
+
+    private static List<String> shardKeys(String key, byte[] manifest) {
+        ByteBuffer buffer = ByteBuffer.wrap(manifest, 1, MANIFEST_LENGTH - 1);
+        int count = buffer.getInt();
+        buffer.getInt();
+        long nonce = buffer.getLong();
+        List<String> shardKeys = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            shardKeys.add(shardKey(key, nonce, i));
+        }
+        return shardKeys;
+    }
+
+    /**
+     * 하위 키 전체를 해시 태그로 감싸서, 원래 키에 해시 태그가 있더라도 조각마다 다른 슬롯으로 가게 한다.
+     */
+    private static String shardKey(String key, long nonce, int index) {
+        return "{" + key + "#" + Long.toUnsignedString(nonce, Character.MAX_RADIX) + "#" + index + "}";
+    }
+
+    private static long totalLength(List<byte[]> shards) {
+        long length = 0;
+        for (byte[] shard : shards) {
+            length += shard.length;
+        }
+        return length;
+    }
+
+    private ByteBuffer serializeKey(String key) {
+        return reactiveRedisTemplate.getSerializationContext()
+                .getKeySerializationPair()
+                .write(key);
+    }
+
+    private Object decode(byte[] bytes, JavaType javaType) {
+        if (Arrays.equals(bytes, TOMBSTONE)) {
+            return CacheTombstone.INSTANCE;
+        }
+        return cacheCodec.decode(bytes, javaType);
+    }
+
+    private byte[] encode(String key, Object value) {
+        if (CacheTombstone.isTombstone(value)) {
+            return TOMBSTONE;
+        }
+        byte[] bytes = cacheCodec.encode(value);
+        reactiveCacheMetrics.payload(ReactiveCacheMetadata.getCacheName(key), bytes.length);
+        return bytes;
     }
 }
@@ -0,0 +1,110 @@
+package nextstep.subway.common.cache.endpoint;
+
+import nextstep.subway.common.cache.domain.CacheChunks;
+import nextstep.subway.common.cache.domain.CacheGenerationRepository;
+import nextstep.subway.common.cache.domain.CacheRepository;
+import nextstep.subway.common.cache.domain.ReactiveCacheLoader;
+import nextstep.subway.common.cache.domain.ReactiveCacheMetadata;
+import nextstep.subway.common.cache.domain.ReactiveCacheMetadataRegistry;
+import nextstep.subway.common.cache.metrics.ReactiveCacheMetrics;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 캐시 통계 조회, 키 크기 조회, 캐시 이름 무효화, 강제 갱신
+ * <pre>
+ * GET    /actuator/reactivecache               캐시 이름별 통계
+ * GET    /actuator/reactivecache/{name}?key=   현재 세대 키의 크기 (Flux 캐시는 청크 포함)
+ * DELETE /actuator/reactivecache/{name}        캐시 이름 무효화
+ * POST   /actuator/reactivecache/{name}        무효화 후 인자가 없는 캐시 메서드를 다시 호출해서 채운다.
+ * </pre>
+ * 쓰기 operation 이 있으므로 management.server.port 로 분리한 내부 포트에만 노출한다.
+ */
+@Component
+@Endpoint(id = "reactivecache")
+public class ReactiveCacheEndpoint {
+    private final CacheRepository<String, Object> cacheRepository;
+    private final CacheGenerationRepository cacheGenerationRepository;
+    private final ReactiveCacheMetadataRegistry reactiveCacheMetadataRegistry;
+    private final ReactiveCacheMetrics reactiveCacheMetrics;
+
+    public ReactiveCacheEndpoint(CacheRepository<String, Object> cacheRepository,
+                                 CacheGenerationRepository cacheGenerationRepository,
+                                 ReactiveCacheMetadataRegistry reactiveCacheMetadataRegistry,
+                                 ReactiveCacheMetrics reactiveCacheMetrics) {
+        this.cacheRepository = cacheRepository;
+        this.cacheGenerationRepository = cacheGenerationRepository;
+        this.reactiveCacheMetadataRegistry = reactiveCacheMetadataRegistry;
+        this.reactiveCacheMetrics = reactiveCacheMetrics;
+    }
+
+    @ReadOperation
+    public Map<String, Map<String, Object>> stats() {
+        return reactiveCacheMetrics.stats();
+    }
+
+    // @formatter:off
+    @ReadOperation
+    public Mono<Map<String, Object>> size(@Selector String name, @Nullable String key) {
+        return cacheGenerationRepository.get(name)
+                .flatMap(generation -> {
+                    String cacheKey = ReactiveCacheMetadata.getKey(name, generation, key);
+                    return getSize(name, cacheKey, key == null)
+                            .map(size -> {
+                                Map<String, Object> result = new LinkedHashMap<>();
+                                result.put("key", cacheKey);
+                                result.put("generation", generation);
+                                result.put("bytes", size);
+                                return result;
+                            });
+                });
+    }
+    // @formatter:on
+
+    // @formatter:off
+    @DeleteOperation
+    public Mono<Map<String, Object>> evict(@Selector String name) {
+        return cacheGenerationRepository.increment(List.of(name))
+                .then(cacheGenerationRepository.get(name))
+                .map(generation -> Map.of("cache", name, "generation", generation));
+    }
+    // @formatter:on
+
+    // @formatter:off
+    @WriteOperation
+    public Mono<Map<String, Object>> refresh(@Selector String name) {
+        List<ReactiveCacheLoader> loaders = reactiveCacheMetadataRegistry.getLoaders(name);
+        return cacheGenerationRepository.increment(List.of(name))
+                .then(Flux.fromIterable(loaders)
+                              .concatMap(ReactiveCacheLoader::load)
+                              .count())
+                .map(count -> Map.of("cache", name, "loaders", loaders.size(), "loaded", count));
+    }
+    // @formatter:on
+
+    // @formatter:off
+    private Mono<Long> getSize(String name, String cacheKey, boolean chunked) {
+        if (!chunked || !reactiveCacheMetadataRegistry.isChunked(name)) {
+            return cacheRepository.size(cacheKey);
+        }
+        return cacheRepository.get(cacheKey, CacheChunks.JAVA_TYPE)
+                .cast(CacheChunks.class)
+                .flatMapMany(chunks -> Flux.range(0, chunks.getCount())
+                        .map(index -> chunks.getChunkKey(cacheKey, index)))
+                .startWith(cacheKey)
+                .concatMap(cacheRepository::size)
+                .reduce(0L, Long::sum);
+    }
+    // @formatter:on
+}
@@ -0,0 +1,226 @@
+package nextstep.subway.common.cache.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * 캐시 이름별 적중/실패 카운터와 원본 조회 시간, 저장 크기 분포
+ */
+@Component
+public class ReactiveCacheMetrics {
+    private static final String CACHE_TAG = "cache";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, CacheMeters> meters = new ConcurrentHashMap<>();
+
+    public ReactiveCacheMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void hit(String cacheName) {
+        hit(cacheName, 1);
+    }
+
+    public void hit(String cacheName, int count) {
+        getMeters(cacheName).hits.increment(count);
+    }
+
+    public void miss(String cacheName) {
+        miss(cacheName, 1);
+    }
+
+    public void miss(String cacheName, int count) {
+        getMeters(cacheName).misses.increment(count);
+    }
+
+    public void fallback(String cacheName) {
+        getMeters(cacheName).fallbacks.increment();
+    }
+
+    public void localHit(String cacheName) {
+        getMeters(cacheName).localHits.increment();
+    }
+
+    public void putFailure(String cacheName) {
+        getMeters(cacheName).putFailures.increment();
+    }
+
+    public void evictFailure(String cacheName) {
+        getMeters(cacheName).evictFailures.increment();
+    }
+
+    public void writeDropped(String cacheName) {
+        getMeters(cacheName).writeDrops.increment();
+    }
+
+    public void writeCoalesced(String cacheName) {
+        getMeters(cacheName).writeCoalesces.increment();
+    }
+
+    public void coalesced(String cacheName) {
+        getMeters(cacheName).coalesces.increment();
+    }
+
+    // @formatter:off
+    public <T> void writeQueue(T queue, ToDoubleFunction<T> size) {
+        Gauge.builder("reactive.cache.write.pending", queue, size)
+                .description("쓰기 큐에서 대기 중인 키 수")
+                .register(meterRegistry);
+    }
+    // @formatter:on
+
+    // @formatter:off
+    public <T> void circuitBreaker(T repository, ToDoubleFunction<T> state) {
+        Gauge.builder("reactive.cache.circuit.state", repository, state)
+                .description("캐시 저장소 회로 상태 (0: 닫힘, 1: 열림, 2: 복구 확인 중)")
+                .register(meterRegistry);
+    }
+    // @formatter:on
+
+    // @formatter:off
+    public <T> void localEntries(T entries, ToDoubleFunction<T> size) {
+        Gauge.builder("reactive.cache.local.size", entries, size)
+                .description("로컬에 복사해 둔 핫 키 수")
+                .register(meterRegistry);
+    }
+    // @formatter:on
+
+    // @formatter:off
+    public <T> void responseEntries(T entries, ToDoubleFunction<T> size) {
+        Gauge.builder("reactive.cache.response.size", entries, size)
+                .description("메모리에 저장해 둔 조회 API 응답 수")
+                .register(meterRegistry);
+    }
+    // @formatter:on
+
+    // @formatter:off
+    public <T> void offHeapUsage(T repository, ToDoubleFunction<T> usedBytes, ToDoubleFunction<T> entries) {
+        Gauge.builder("reactive.cache.offheap.used", repository, usedBytes)
+                .description("오프힙 캐시 저장소에서 사용 중인 블록 크기")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("reactive.cache.offheap.entries", repository, entries)
+                .description("오프힙 캐시 저장소의 항목 수")
+                .register(meterRegistry);
+    }
+    // @formatter:on
+
+    public void load(String cacheName, long nanos) {
+        getMeters(cacheName).loadTime.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void payload(String cacheName, int bytes) {
+        getMeters(cacheName).payloadSize.record(bytes);
+    }
+
+    public Map<String, Map<String, Object>> stats() {
+        Map<String, Map<String, Object>> stats = new TreeMap<>();
+        meters.forEach((cacheName, cacheMeters) -> stats.put(cacheName, cacheMeters.stats()));
+        return stats;
+    }
+
+    private CacheMeters getMeters(String cacheName) {
+        CacheMeters cacheMeters = meters.get(cacheName);
+        if (cacheMeters != null) {
+            return cacheMeters;
+        }
+        return meters.computeIfAbsent(cacheName, name -> new CacheMeters(meterRegistry, name));
+    }
+
+    private static class CacheMeters {
+        private final Counter hits;
+        private final Counter misses;
+        private final Counter localHits;
+        private final Counter fallbacks;
+        private final Counter putFailures;
+        private final Counter evictFailures;
+        private final Counter writeDrops;
+        private final Counter writeCoalesces;
+        private final Counter coalesces;
+        private final Timer loadTime;
+        private final DistributionSummary payloadSize;
+
+        // @formatter:off
+        private CacheMeters(MeterRegistry meterRegistry, String cacheName) {
+            this.hits = Counter.builder("reactive.cache.gets")
+                    .tag(CACHE_TAG, cacheName)
+                    .tag("result", "hit")
+                    .register(meterRegistry);
+            this.misses = Counter.builder("reactive.cache.gets")
+                    .tag(CACHE_TAG, cacheName)
+                    .tag("result", "miss")
+                    .register(meterRegistry);
+            this.localHits = Counter.builder("reactive.cache.local.hits")
+                    .description("로컬 핫 키 복사본으로 응답한 조회 수")
+                    .tag(CACHE_TAG, cacheName)
+                    .register(meterRegistry);
+            this.fallbacks = Counter.builder("reactive.cache.fallbacks")
+                    .description("캐시 조회 실패로 원본을 조회한 횟수")
+                    .tag(CACHE_TAG, cacheName)
+                    .register(meterRegistry);
+            this.putFailures = Counter.builder("reactive.cache.errors")
+                    .tag(CACHE_TAG, cacheName)
+                    .tag("operation", "put")
+                    .register(meterRegistry);
+            this.evictFailures = Counter.builder("reactive.cache.errors")
+                    .tag(CACHE_TAG, cacheName)
+                    .tag("operation", "evict")
+                    .register(meterRegistry);
+            this.writeDrops = Counter.builder("reactive.cache.write.dropped")
+                    .description("쓰기 큐가 가득 차서 버린 저장 수")
+                    .tag(CACHE_TAG, cacheName)
+                    .register(meterRegistry);
+            this.writeCoalesces = Counter.builder("reactive.cache.write.coalesced")
+                    .description("쓰기 큐에서 같은 키의 이전 값을 대체한 저장 수")
+                    .tag(CACHE_TAG, cacheName)
+                    .register(meterRegistry);
+            this.coalesces = Counter.builder("reactive.cache.coalesced")
+                    .description("같은 키를 먼저 조회 중인 요청의 결과를 기다려서 응답한 미스 수")
+                    .tag(CACHE_TAG, cacheName)
+                    .register(meterRegistry);
+            this.loadTime = Timer.builder("reactive.cache.load")
+                    .description("캐시 미스 시 원본 조회 시간")
+                    .tag(CACHE_TAG, cacheName)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+            this.payloadSize = DistributionSummary.builder("reactive.cache.payload.size")
+                    .baseUnit("bytes")
+                    .tag(CACHE_TAG, cacheName)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+        }
+        // @formatter:on
+
+        private Map<String, Object> stats() {
+            double gets = hits.count() + misses.count();
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("hits", (long) hits.count());
+            stats.put("misses", (long) misses.count());
+            stats.put("hitRatio", gets == 0 ? 0.0 : hits.count() / gets);
+            stats.put("localHits", (long) localHits.count());
+            stats.put("fallbacks", (long) fallbacks.count());
+            stats.put("putFailures", (long) putFailures.count());
+            stats.put("evictFailures", (long) evictFailures.count());
+            stats.put("writeDrops", (long) writeDrops.count());
+            stats.put("writeCoalesces", (long) writeCoalesces.count());
+            stats.put("coalesces", (long) coalesces.count());
+            stats.put("loadCount", loadTime.count());
+            stats.put("loadMeanMillis", loadTime.mean(TimeUnit.MILLISECONDS));
+            stats.put("loadMaxMillis", loadTime.max(TimeUnit.MILLISECONDS));
+            stats.put("payloadMeanBytes", payloadSize.mean());
+            stats.put("payloadMaxBytes", payloadSize.max());
+            return stats;
+        }
+    }
+}
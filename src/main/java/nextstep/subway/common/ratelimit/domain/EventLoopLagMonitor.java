@@ -0,0 +1,118 @@
+package nextstep.subway.common.ratelimit.domain;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.EventExecutorGroup;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+import reactor.netty.http.HttpResources;
+import reactor.netty.resources.LoopResources;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+/**
+ * 서버 이벤트 루프마다 주기적으로 빈 작업을 넣고, 넣은 뒤 실행될 때까지 걸린 시간을 이벤트 루프 지연으로 잰다.
+ * 이전 작업이 아직 실행되지 않았으면 넣은 뒤 지금까지 지난 시간을 지연으로 보므로 이벤트 루프가 멈춰 있어도 지연이 늘어난다.
+ * 작업을 넣을 때 이벤트 루프를 깨우면서 잠시 막힐 수 있으므로 boundedElastic 에서 넣는다.
+ */
+@Component
+public class EventLoopLagMonitor {
+    private final Supplier<EventExecutorGroup> eventLoops;
+    private final Duration checkInterval;
+    private List<Probe> probes = List.of();
+    private Disposable subscription;
+
+    @Autowired
+    public EventLoopLagMonitor(MeterRegistry meterRegistry,
+                               @Value("${rate-limit.event-loop.check-interval:100ms}") Duration checkInterval) {
+        this(meterRegistry, checkInterval, () -> HttpResources.get()
+                .onServer(LoopResources.DEFAULT_NATIVE));
+    }
+
+    // @formatter:off
+    public EventLoopLagMonitor(MeterRegistry meterRegistry, Duration checkInterval,
+                               Supplier<EventExecutorGroup> eventLoops) {
+        this.eventLoops = eventLoops;
+        this.checkInterval = checkInterval;
+        TimeGauge.builder("http.server.eventloop.lag", this, TimeUnit.NANOSECONDS, EventLoopLagMonitor::getLagNanos)
+                .description("서버 이벤트 루프에 넣은 작업이 실행되기까지 걸린 시간 (이벤트 루프 중 최대)")
+                .register(meterRegistry);
+    }
+    // @formatter:on
+
+    // @formatter:off
+    @PostConstruct
+    public void start() {
+        probes = StreamSupport.stream(eventLoops.get().spliterator(), false)
+                .map(Probe::new)
+                .collect(Collectors.toList());
+        subscription = Flux.interval(checkInterval, Schedulers.boundedElastic())
+                .subscribe(tick -> probes.forEach(Probe::check));
+    }
+    // @formatter:on
+
+    @PreDestroy
+    public void stop() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+
+    public long getLagNanos() {
+        long now = System.nanoTime();
+        long lag = 0;
+        for (Probe probe : probes) {
+            lag = Math.max(lag, probe.getLagNanos(now));
+        }
+        return lag;
+    }
+
+    private static class Probe {
+        private static final long IDLE = 0;
+
+        private final EventExecutor eventLoop;
+        private final AtomicLong scheduledAt = new AtomicLong(IDLE);
+        private volatile long lastLag;
+
+        private Probe(EventExecutor eventLoop) {
+            this.eventLoop = eventLoop;
+        }
+
+        private void check() {
+            long now = System.nanoTime();
+            if (eventLoop.isShuttingDown() || !scheduledAt.compareAndSet(IDLE, now)) {
+                return;
+            }
+            try {
+                eventLoop.execute(() -> {
+                    lastLag = System.nanoTime() - now;
+                    scheduledAt.set(IDLE);
+                });
+            } catch (RejectedExecutionException e) {
+                scheduledAt.set(IDLE);
+            }
+        }
+
+        private long getLagNanos(long now) {
+            long scheduled = scheduledAt.get();
+            if (scheduled == IDLE) {
+                return lastLag;
+            }
+            return Math.max(lastLag, now - scheduled);
+        }
+    }
+}
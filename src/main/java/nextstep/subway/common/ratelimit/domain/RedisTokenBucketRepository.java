@@ -0,0 +1,68 @@
+package nextstep.subway.common.ratelimit.domain;
+
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * 버킷은 Redis 해시(남은 토큰 수, 마지막으로 채운 시각)로 저장하고, 두 버킷을 스크립트 1번으로 원자적으로 채우고 꺼낸다.
+ * 두 키는 같은 해시 태그를 써서 클러스터에서도 같은 슬롯에 둔다.
+ * 스크립트 안에서 TIME 을 호출한 뒤에는 쓸 수 없는 Redis 버전이 있어서 시각은 인스턴스에서 넘긴다.
+ * 인스턴스 간 시계 차이만큼 오차가 생기지만 마지막 시각보다 이전 시각으로는 채우지 않는다.
+ */
+@Component
+public class RedisTokenBucketRepository implements TokenBucketRepository {
+    private static final String CLIENT_KEY_FORMAT = "rate-limit:{%s}:client:%s";
+    private static final String GLOBAL_KEY_FORMAT = "rate-limit:{%s}:global";
+
+    /**
+     * 꺼낸 토큰 수를 돌려주고, 꺼낼 수 없으면 토큰 1개가 채워질 때까지 기다릴 시간(ms)을 음수로 돌려준다.
+     */
+    private static final RedisScript<Long> ACQUIRE_SCRIPT = RedisScript.of(
+            "local now = tonumber(ARGV[1]) "
+                    + "local granted = tonumber(ARGV[2]) "
+                    + "local rates = {tonumber(ARGV[3]), tonumber(ARGV[5])} "
+                    + "local capacities = {tonumber(ARGV[4]), tonumber(ARGV[6])} "
+                    + "local tokens, stamps = {}, {} "
+                    + "for i = 1, 2 do "
+                    + "  local bucket = redis.call('HMGET', KEYS[i], 'tokens', 'ts') "
+                    + "  local stamp = tonumber(bucket[2]) or now "
+                    + "  local elapsed = math.max(0, now - stamp) "
+                    + "  tokens[i] = math.min(capacities[i], (tonumber(bucket[1]) or capacities[i]) + elapsed * rates[i] / 1000) "
+                    + "  stamps[i] = math.max(now, stamp) "
+                    + "  granted = math.min(granted, math.floor(tokens[i])) "
+                    + "end "
+                    + "if granted < 1 then "
+                    + "  local wait = 1 "
+                    + "  for i = 1, 2 do wait = math.max(wait, (1 - tokens[i]) * 1000 / rates[i]) end "
+                    + "  return -math.ceil(wait) "
+                    + "end "
+                    + "for i = 1, 2 do "
+                    + "  redis.call('HMSET', KEYS[i], 'tokens', tokens[i] - granted, 'ts', stamps[i]) "
+                    + "  redis.call('PEXPIRE', KEYS[i], math.ceil(capacities[i] * 1000 / rates[i]) + 1000) "
+                    + "end "
+                    + "return granted", Long.class);
+
+    private final ReactiveStringRedisTemplate reactiveStringRedisTemplate;
+
+    public RedisTokenBucketRepository(ReactiveStringRedisTemplate reactiveStringRedisTemplate) {
+        this.reactiveStringRedisTemplate = reactiveStringRedisTemplate;
+    }
+
+    // @formatter:off
+    @Override
+    public Mono<TokenGrant> acquire(String name, String clientId, int tokens, TokenBucketLimits limits) {
+        List<String> keys = List.of(String.format(CLIENT_KEY_FORMAT, name, clientId),
+                                    String.format(GLOBAL_KEY_FORMAT, name));
+        List<String> args = List.of(String.valueOf(System.currentTimeMillis()), String.valueOf(tokens),
+                                    String.valueOf(limits.getClientRate()), String.valueOf(limits.getClientCapacity()),
+                                    String.valueOf(limits.getGlobalRate()), String.valueOf(limits.getGlobalCapacity()));
+        return reactiveStringRedisTemplate.execute(ACQUIRE_SCRIPT, keys, args)
+                .next()
+                .map(result -> result > 0 ? TokenGrant.granted(result.intValue()) : TokenGrant.rejected(-result));
+    }
+    // @formatter:on
+}
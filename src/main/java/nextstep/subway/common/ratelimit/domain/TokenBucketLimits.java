@@ -0,0 +1,27 @@
+package nextstep.subway.common.ratelimit.domain;
+
+import lombok.Getter;
+
+/**
+ * 초당 채워지는 토큰 수(rate)와 버킷에 쌓일 수 있는 최대 토큰 수(capacity)
+ */
+@Getter
+public class TokenBucketLimits {
+    private final long clientRate;
+    private final long clientCapacity;
+    private final long globalRate;
+    private final long globalCapacity;
+
+    public TokenBucketLimits(long clientRate, long clientCapacity, long globalRate, long globalCapacity) {
+        if (clientRate < 1 || globalRate < 1) {
+            throw new IllegalArgumentException("초당 토큰 수는 1 이상이어야 합니다.");
+        }
+        if (clientCapacity < 1 || globalCapacity < 1) {
+            throw new IllegalArgumentException("버킷 크기는 1 이상이어야 합니다.");
+        }
+        this.clientRate = clientRate;
+        this.clientCapacity = clientCapacity;
+        this.globalRate = globalRate;
+        this.globalCapacity = globalCapacity;
+    }
+}
@@ -0,0 +1,14 @@
+package nextstep.subway.common.ratelimit.domain;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * 이름별 토큰 버킷 저장소
+ * 클라이언트 버킷과 모든 클라이언트가 함께 쓰는 전체 버킷에서 토큰을 함께 꺼낸다.
+ */
+public interface TokenBucketRepository {
+    /**
+     * 두 버킷에 남은 토큰 중 적은 쪽만큼, 최대 tokens 개를 꺼낸다. 1개도 꺼낼 수 없으면 아무것도 꺼내지 않는다.
+     */
+    Mono<TokenGrant> acquire(String name, String clientId, int tokens, TokenBucketLimits limits);
+}
@@ -0,0 +1,29 @@
+package nextstep.subway.common.ratelimit.domain;
+
+import lombok.Getter;
+
+@Getter
+public class TokenGrant {
+    private final int tokens;
+    private final long retryAfterMillis;
+
+    private TokenGrant(int tokens, long retryAfterMillis) {
+        this.tokens = tokens;
+        this.retryAfterMillis = retryAfterMillis;
+    }
+
+    public static TokenGrant granted(int tokens) {
+        if (tokens < 1) {
+            throw new IllegalArgumentException("받은 토큰 수는 1 이상이어야 합니다.");
+        }
+        return new TokenGrant(tokens, 0);
+    }
+
+    public static TokenGrant rejected(long retryAfterMillis) {
+        return new TokenGrant(0, Math.max(1, retryAfterMillis));
+    }
+
+    public boolean isGranted() {
+        return tokens > 0;
+    }
+}
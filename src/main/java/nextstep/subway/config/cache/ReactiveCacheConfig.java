@@ -0,0 +1,120 @@
+package nextstep.subway.config.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import nextstep.subway.common.cache.codec.CacheCodec;
+import nextstep.subway.common.cache.codec.JacksonCacheCodec;
+import nextstep.subway.common.cache.domain.CacheGenerationRepository;
+import nextstep.subway.common.cache.domain.CacheRepository;
+import nextstep.subway.common.cache.domain.CircuitBreakerCacheRepository;
+import nextstep.subway.common.cache.domain.HotKeyCacheRepository;
+import nextstep.subway.common.cache.domain.LocalCacheGenerationRepository;
+import nextstep.subway.common.cache.domain.OffHeapCacheRepository;
+import nextstep.subway.common.cache.domain.RedisValueRepository;
+import nextstep.subway.common.cache.metrics.ReactiveCacheMetrics;
+import nextstep.subway.config.mapper.ObjectMapperConfig;
+import nextstep.subway.config.redis.RedisConfig;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * reactive-cache.backend 로 캐시 저장소를 고른다.
+ * redis(기본값)는 여러 인스턴스가 Redis 를 공유하고, offheap 은 인스턴스마다 로컬 오프힙 메모리에 저장한다.
+ */
+@Configuration
+public class ReactiveCacheConfig {
+    private static final String JSON_CODEC = "json";
+    private static final String BACKEND = "reactive-cache.backend";
+
+    @Bean
+    public CacheCodec cacheCodec(@Value("${reactive-cache.codec:smile}") String codec, ObjectMapper objectMapper) {
+        if (JSON_CODEC.equals(codec)) {
+            return new JacksonCacheCodec(objectMapper);
+        }
+        return new JacksonCacheCodec(ObjectMapperConfig.smileObjectMapper());
+    }
+
+    @Bean
+    public ReactiveRedisTemplate<String, byte[]> reactiveByteArrayRedisTemplate(
+            ReactiveRedisConnectionFactory reactiveRedisConnectionFactory) {
+        return byteArrayRedisTemplate(reactiveRedisConnectionFactory);
+    }
+
+    /**
+     * 로컬 핫 키 복사본 -> 회로 차단기 -> Redis 순서로 감싼다.
+     */
+    @Bean
+    @ConditionalOnProperty(name = BACKEND, havingValue = "redis", matchIfMissing = true)
+    public CacheRepository<String, Object> cacheRepository(
+            ReactiveRedisTemplate<String, byte[]> reactiveByteArrayRedisTemplate,
+            @Qualifier(RedisConfig.REPLICA_CONNECTION_FACTORY)
+                    ObjectProvider<ReactiveRedisConnectionFactory> replicaRedisConnectionFactory,
+            CacheCodec cacheCodec, ReactiveCacheMetrics reactiveCacheMetrics,
+            @Value("${reactive-cache.replica-read.cache-names:}") Set<String> replicaReadCacheNames,
+            @Value("${reactive-cache.shard-size:0}") DataSize shardSize,
+            @Value("${reactive-cache.circuit-breaker.read-timeout:100ms}") Duration readTimeout,
+            @Value("${reactive-cache.circuit-breaker.write-timeout:1s}") Duration writeTimeout,
+            @Value("${reactive-cache.circuit-breaker.slow-call:50ms}") Duration slowCall,
+            @Value("${reactive-cache.circuit-breaker.failure-threshold:5}") int failureThreshold,
+            @Value("${reactive-cache.circuit-breaker.open-duration:5s}") Duration openDuration,
+            @Value("${reactive-cache.hot-key.threshold:100}") int hotKeyThreshold,
+            @Value("${reactive-cache.hot-key.validation-interval:1s}") Duration validationInterval,
+            @Value("${reactive-cache.hot-key.window:10s}") Duration hotKeyWindow,
+            @Value("${reactive-cache.hot-key.max-entries:1000}") int maxHotKeys) {
+        ReactiveRedisTemplate<String, byte[]> replicaRedisTemplate = replicaRedisConnectionFactory.stream()
+                .findFirst()
+                .map(ReactiveCacheConfig::byteArrayRedisTemplate)
+                .orElse(reactiveByteArrayRedisTemplate);
+        RedisValueRepository redisValueRepository = new RedisValueRepository(
+                reactiveByteArrayRedisTemplate, replicaRedisTemplate, replicaReadCacheNames, cacheCodec,
+                reactiveCacheMetrics, Math.toIntExact(shardSize.toBytes()));
+        CircuitBreakerCacheRepository<Object> circuitBreakerCacheRepository = new CircuitBreakerCacheRepository<>(
+                redisValueRepository, reactiveCacheMetrics, readTimeout, writeTimeout, slowCall, failureThreshold,
+                openDuration);
+        return new HotKeyCacheRepository<>(circuitBreakerCacheRepository, reactiveCacheMetrics, hotKeyThreshold,
+                                           validationInterval, hotKeyWindow, maxHotKeys);
+    }
+
+    /**
+     * 다른 인스턴스와 캐시를 공유하지 않으므로, 변경은 이 인스턴스의 캐시에만 반영된다.
+     */
+    @Bean
+    @ConditionalOnProperty(name = BACKEND, havingValue = "offheap")
+    public CacheRepository<String, Object> offHeapCacheRepository(
+            CacheCodec cacheCodec, ReactiveCacheMetrics reactiveCacheMetrics,
+            @Value("${reactive-cache.offheap.capacity:64MB}") DataSize capacity,
+            @Value("${reactive-cache.offheap.block-size:256B}") DataSize blockSize) {
+        return new OffHeapCacheRepository(cacheCodec, reactiveCacheMetrics, capacity.toBytes(),
+                                          Math.toIntExact(blockSize.toBytes()));
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = BACKEND, havingValue = "offheap")
+    public CacheGenerationRepository localCacheGenerationRepository() {
+        return new LocalCacheGenerationRepository();
+    }
+
+    // @formatter:off
+    private static ReactiveRedisTemplate<String, byte[]> byteArrayRedisTemplate(
+            ReactiveRedisConnectionFactory reactiveRedisConnectionFactory) {
+        RedisSerializationContext<String, byte[]> serializationContext = RedisSerializationContext
+                .<String, byte[]>newSerializationContext(RedisSerializer.byteArray())
+                .key(StringRedisSerializer.UTF_8)
+                .hashKey(StringRedisSerializer.UTF_8)
+                .build();
+        return new ReactiveRedisTemplate<>(reactiveRedisConnectionFactory, serializationContext);
+    }
+    // @formatter:on
+}
@@ -2,6 +2,9 @@ package nextstep.subway.config.exception;
 
 import lombok.extern.slf4j.Slf4j;
 import nextstep.subway.auth.application.AuthorizationException;
+import nextstep.subway.map.application.PathSearchRejectedException;
+import nextstep.subway.station.domain.StationNotFoundException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -16,6 +19,20 @@ public class GlobalRestControllerExceptionHandler {
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
     }
 
+    @ExceptionHandler(StationNotFoundException.class)
+    public ResponseEntity<Void> handleStationNotFoundException(StationNotFoundException e) {
+        log.debug("handle StationNotFoundException: {}", e.getMessage());
+        return ResponseEntity.badRequest().build();
+    }
+
+    @ExceptionHandler(PathSearchRejectedException.class)
+    public ResponseEntity<Void> handlePathSearchRejectedException(PathSearchRejectedException e) {
+        log.debug("handle PathSearchRejectedException: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .build();
+    }
+
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<Void> handleRuntimeException(RuntimeException e) {
         log.error("handle RuntimeException", e);
@@ -27,4 +27,18 @@ public class ObjectMapperConfig {
                 .build();
     }
     // @formatter:on
+
+    /**
+     * Accept 가 application/x-jackson-smile 인 API 응답과 smile 캐시 코덱에 쓴다. DTO 는 JSON 과 같고,
+     * 날짜는 ISO 문자열 대신 숫자 배열로 써서 바이너리 포맷에서 더 작게 만든다.
+     */
+    // @formatter:off
+    public static ObjectMapper smileObjectMapper() {
+        return Jackson2ObjectMapperBuilder.smile()
+                .failOnUnknownProperties(false)
+                .featuresToDisable(MapperFeature.DEFAULT_VIEW_INCLUSION)
+                .featuresToEnable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+    // @formatter:on
 }
@@ -1,19 +1,33 @@
 package nextstep.subway.config.redis;
 
+import io.lettuce.core.ReadFrom;
 import nextstep.subway.common.cache.annotation.ReactiveCacheAnnotationParser;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.cache.annotation.CacheAnnotationParser;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 import org.springframework.context.annotation.Profile;
 import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisClusterConfiguration;
+import org.springframework.data.redis.connection.RedisPassword;
 import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 
+import java.util.List;
+
+/**
+ * spring.redis.cluster.nodes 가 없으면 프록시(predixy) 1개에 단일 노드로 연결하고,
+ * 있으면 클러스터 토폴로지에 직접 연결한다. 클러스터 모드에서는 복제 노드 우선으로 읽는 연결 팩토리를 하나 더 만든다.
+ */
 @Profile({"local", "prod"})
 @Configuration
 public class RedisConfig {
+    public static final String REPLICA_CONNECTION_FACTORY = "replicaRedisConnectionFactory";
+    private static final String CLUSTER_NODES = "spring.redis.cluster.nodes";
+
     @Value("${spring.redis.host}")
     private String host;
 
@@ -23,18 +37,48 @@ public class RedisConfig {
     @Value("${spring.redis.password}")
     private String password;
 
+    @Value("${" + CLUSTER_NODES + ":}")
+    private List<String> clusterNodes;
+
     @Bean
     @Primary
     public ReactiveRedisConnectionFactory reactiveRedisConnectionFactory()  {
-        RedisStandaloneConfiguration redisStandaloneConfiguration = new RedisStandaloneConfiguration(host, port);
-        redisStandaloneConfiguration.setPassword(password);
-        LettuceConnectionFactory factory = new LettuceConnectionFactory(redisStandaloneConfiguration);
-        factory.setEagerInitialization(true);
-        return factory;
+        if (clusterNodes.isEmpty()) {
+            RedisStandaloneConfiguration redisStandaloneConfiguration = new RedisStandaloneConfiguration(host, port);
+            redisStandaloneConfiguration.setPassword(password);
+            return eagerConnectionFactory(new LettuceConnectionFactory(redisStandaloneConfiguration));
+        }
+        return eagerConnectionFactory(new LettuceConnectionFactory(clusterConfiguration(),
+                                                                   LettuceClientConfiguration.defaultConfiguration()));
+    }
+
+    /**
+     * 복제 노드가 없거나 장애면 마스터에서 읽는다.
+     */
+    // @formatter:off
+    @Bean(REPLICA_CONNECTION_FACTORY)
+    @ConditionalOnProperty(CLUSTER_NODES)
+    public ReactiveRedisConnectionFactory replicaRedisConnectionFactory() {
+        LettuceClientConfiguration clientConfiguration = LettuceClientConfiguration.builder()
+                .readFrom(ReadFrom.REPLICA_PREFERRED)
+                .build();
+        return eagerConnectionFactory(new LettuceConnectionFactory(clusterConfiguration(), clientConfiguration));
     }
+    // @formatter:on
 
     @Bean
     public CacheAnnotationParser cacheAnnotationParser() {
         return new ReactiveCacheAnnotationParser();
     }
+
+    private RedisClusterConfiguration clusterConfiguration() {
+        RedisClusterConfiguration redisClusterConfiguration = new RedisClusterConfiguration(clusterNodes);
+        redisClusterConfiguration.setPassword(RedisPassword.of(password));
+        return redisClusterConfiguration;
+    }
+
+    private static LettuceConnectionFactory eagerConnectionFactory(LettuceConnectionFactory factory) {
+        factory.setEagerInitialization(true);
+        return factory;
+    }
 }
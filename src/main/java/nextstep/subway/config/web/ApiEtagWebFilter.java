@@ -0,0 +1,123 @@
+package nextstep.subway.config.web;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 조회 API 의 ETag 를 응답 본문 대신 {@link ApiResourceVersions} 의 데이터 버전 번호로 만든다.
+ * If-None-Match 는 핸들러를 호출하기 전에 버전 번호만 보고 판단하므로 304 응답은 DB 와 캐시를 조회하지 않는다.
+ * 같은 버전도 Accept 에 따라 JSON, Smile 로 본문이 다르므로 ETag 에 Accept 로 고른 표현({@link ApiRepresentations})을 넣고
+ * Vary: Accept 를 붙인다.
+ */
+@Slf4j
+@Component
+@Order(1)
+public class ApiEtagWebFilter implements WebFilter {
+    private static final String WEAK_PREFIX = "W/";
+    private static final String ETAG_FORMAT = WEAK_PREFIX + "\"%s-%d-%s\"";
+    private static final String NO_ETAG = "";
+    private static final String NO_CACHE = CacheControl.noCache()
+            .getHeaderValue();
+
+    private final ApiResourceVersions apiResourceVersions;
+
+    public ApiEtagWebFilter(ApiResourceVersions apiResourceVersions) {
+        this.apiResourceVersions = apiResourceVersions;
+    }
+
+    // @formatter:off
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        Optional<ApiResourceVersions.Route> route = apiResourceVersions.getRoute(exchange.getRequest());
+        if (route.isEmpty()) {
+            return chain.filter(exchange);
+        }
+        String versionName = route.get()
+                .getVersionName();
+        String representation = ApiRepresentations.select(exchange.getRequest().getHeaders())
+                .getSubtype();
+        varyByAccept(exchange.getResponse());
+        return apiResourceVersions.getVersion(route.get())
+                .map(version -> String.format(ETAG_FORMAT, versionName, version, representation))
+                .onErrorResume(throwable -> {
+                    log.debug("api version lookup failed, respond without etag. name: {}", versionName, throwable);
+                    return Mono.empty();
+                })
+                .defaultIfEmpty(NO_ETAG)
+                .flatMap(etag -> {
+                    if (etag.isEmpty()) {
+                        return chain.filter(exchange);
+                    }
+                    if (isNotModified(exchange.getRequest(), etag)) {
+                        return notModified(exchange.getResponse(), etag);
+                    }
+                    setEtagOnSuccess(exchange.getResponse(), etag);
+                    return chain.filter(exchange);
+                });
+    }
+    // @formatter:on
+
+    /**
+     * 핸들러가 응답을 쓰기 전에 붙여서 응답 캐시에 저장했다가 내보내는 응답에도 들어가게 한다.
+     */
+    private static void varyByAccept(ServerHttpResponse response) {
+        List<String> vary = response.getHeaders()
+                .getVary();
+        if (!vary.contains(HttpHeaders.ACCEPT)) {
+            response.getHeaders()
+                    .add(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        }
+    }
+
+    private static boolean isNotModified(ServerHttpRequest request, String etag) {
+        String value = stripWeakPrefix(etag);
+        return request.getHeaders()
+                .getIfNoneMatch()
+                .stream()
+                .anyMatch(ifNoneMatch -> "*".equals(ifNoneMatch) || value.equals(stripWeakPrefix(ifNoneMatch)));
+    }
+
+    private static Mono<Void> notModified(ServerHttpResponse response, String etag) {
+        response.setStatusCode(HttpStatus.NOT_MODIFIED);
+        response.getHeaders()
+                .setETag(etag);
+        response.getHeaders()
+                .setCacheControl(NO_CACHE);
+        return response.setComplete();
+    }
+
+    /**
+     * 오류 응답은 버전 번호와 상관없이 다시 조회해야 하므로 2xx 응답에만 ETag 를 붙인다.
+     */
+    // @formatter:off
+    private static void setEtagOnSuccess(ServerHttpResponse response, String etag) {
+        response.beforeCommit(() -> Mono.fromRunnable(() -> {
+            HttpStatus status = Optional.ofNullable(response.getStatusCode())
+                    .orElse(HttpStatus.OK);
+            if (status.is2xxSuccessful()) {
+                response.getHeaders()
+                        .setETag(etag);
+                response.getHeaders()
+                        .setCacheControl(NO_CACHE);
+            }
+        }));
+    }
+    // @formatter:on
+
+    private static String stripWeakPrefix(String etag) {
+        return etag.startsWith(WEAK_PREFIX) ? etag.substring(WEAK_PREFIX.length()) : etag;
+    }
+}
@@ -0,0 +1,36 @@
+package nextstep.subway.config.web;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 조회 API 가 Accept 에 따라 내보내는 표현(JSON, Smile)
+ * {@link ApiEtagWebFilter} 가 ETag 에 넣는 표현과 핸들러가 쓰는 본문의 표현이 같도록 둘 다 여기서 고른다.
+ */
+public final class ApiRepresentations {
+    public static final MediaType SMILE = new MediaType("application", "x-jackson-smile");
+    // 코덱 등록 순서와 같다. Accept 가 둘 다 허용하면(*/* 등) 앞의 JSON 으로 응답한다.
+    private static final List<MediaType> REPRESENTATIONS = List.of(MediaType.APPLICATION_JSON, SMILE);
+
+    private ApiRepresentations() {
+    }
+
+    // @formatter:off
+    public static MediaType select(HttpHeaders headers) {
+        List<MediaType> accept = new ArrayList<>(headers.getAccept());
+        MediaType.sortBySpecificityAndQuality(accept);
+        return accept.stream()
+                .flatMap(acceptable -> REPRESENTATIONS.stream()
+                        .filter(acceptable::isCompatibleWith))
+                .findFirst()
+                .orElse(MediaType.APPLICATION_JSON);
+    }
+    // @formatter:on
+
+    public static boolean isJson(HttpHeaders headers) {
+        return MediaType.APPLICATION_JSON.equals(select(headers));
+    }
+}
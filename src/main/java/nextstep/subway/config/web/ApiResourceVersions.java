@@ -0,0 +1,70 @@
+package nextstep.subway.config.web;
+
+import lombok.Getter;
+import nextstep.subway.common.cache.domain.CacheGenerationRepository;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 조회 API 경로별로 응답이 의존하는 데이터 버전 번호를 찾는다.
+ * 버전 번호는 캐시 세대 번호 저장소에 별도 이름으로 두고, 데이터를 바꾸는 쪽이 커밋하고 캐시를 정리한 뒤에 올린다.
+ */
+@Component
+public class ApiResourceVersions {
+    private static final String STATIONS_VERSION = "stations-version";
+    private static final String NETWORK_VERSION = "network-version";
+    private static final List<Route> routes = List.of(new Route("stations", "/stations", STATIONS_VERSION),
+                                                      new Route("lines", "/lines", NETWORK_VERSION),
+                                                      new Route("lines", "/lines/{id}", NETWORK_VERSION),
+                                                      new Route("paths", "/paths", NETWORK_VERSION));
+
+    private final CacheGenerationRepository cacheGenerationRepository;
+
+    public ApiResourceVersions(CacheGenerationRepository cacheGenerationRepository) {
+        this.cacheGenerationRepository = cacheGenerationRepository;
+    }
+
+    /**
+     * 메인 페이지를 요청한 경우(첫 번째 Accept 가 text/html)는 같은 경로라도 index.html 을 내보내므로 제외한다.
+     */
+    // @formatter:off
+    public Optional<Route> getRoute(ServerHttpRequest request) {
+        if (request.getMethod() != HttpMethod.GET && request.getMethod() != HttpMethod.HEAD) {
+            return Optional.empty();
+        }
+        List<MediaType> accept = request.getHeaders()
+                .getAccept();
+        if (!accept.isEmpty() && MediaType.TEXT_HTML.equals(accept.get(0))) {
+            return Optional.empty();
+        }
+        return routes.stream()
+                .filter(route -> route.pattern.matches(request.getPath().pathWithinApplication()))
+                .findFirst();
+    }
+    // @formatter:on
+
+    public Mono<Long> getVersion(Route route) {
+        return cacheGenerationRepository.get(route.versionName);
+    }
+
+    @Getter
+    public static class Route {
+        private final String name;
+        private final PathPattern pattern;
+        private final String versionName;
+
+        private Route(String name, String pattern, String versionName) {
+            this.name = name;
+            this.pattern = PathPatternParser.defaultInstance.parse(pattern);
+            this.versionName = versionName;
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package nextstep.subway.config.web;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import nextstep.subway.common.ratelimit.domain.EventLoopLagMonitor;
+import nextstep.subway.common.ratelimit.domain.TokenBucketLimits;
+import nextstep.subway.common.ratelimit.domain.TokenBucketRepository;
+import nextstep.subway.common.ratelimit.domain.TokenGrant;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 경로 조회 API 를 클라이언트(원격 주소)별, 전체 토큰 버킷으로 제한하고, 넘으면 429 와 Retry-After 로 응답한다.
+ * Redis 에서 토큰을 local-batch 개씩 받아서 local-lease 동안 로컬에서 쓰므로 대부분의 요청은 Redis 를 거치지 않는다.
+ * 이벤트 루프 지연이 shed-lag-threshold 를 넘으면 넘은 만큼 비례해서 버킷과 상관없이 거절한다.
+ * 응답 캐시 뒤에 두어서 캐시에서 내보내는 요청은 세지 않는다.
+ */
+@Slf4j
+@Component
+@Order(3)
+public class PathRateLimitWebFilter implements WebFilter {
+    private static final String NAME = "paths";
+    private static final PathPattern PATTERN = PathPatternParser.defaultInstance.parse("/paths");
+    private static final String UNKNOWN_CLIENT = "unknown";
+    private static final long SHED_RETRY_AFTER_MILLIS = 1_000;
+    private static final TokenGrant FALLBACK = TokenGrant.granted(1);
+
+    private final TokenBucketRepository tokenBucketRepository;
+    private final EventLoopLagMonitor eventLoopLagMonitor;
+    private final TokenBucketLimits limits;
+    private final int localBatch;
+    private final long localLeaseNanos;
+    private final int maxClients;
+    private final Duration timeout;
+    private final long shedLagThresholdNanos;
+    private final Map<String, Allowance> allowances = new ConcurrentHashMap<>();
+    private final Counter localAdmits;
+    private final Counter remoteAdmits;
+    private final Counter fallbackAdmits;
+    private final Counter limited;
+    private final Counter shed;
+
+    public PathRateLimitWebFilter(TokenBucketRepository tokenBucketRepository, EventLoopLagMonitor eventLoopLagMonitor,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${rate-limit.paths.client-rate:20}") long clientRate,
+                                  @Value("${rate-limit.paths.client-capacity:40}") long clientCapacity,
+                                  @Value("${rate-limit.paths.global-rate:1000}") long globalRate,
+                                  @Value("${rate-limit.paths.global-capacity:2000}") long globalCapacity,
+                                  @Value("${rate-limit.paths.local-batch:5}") int localBatch,
+                                  @Value("${rate-limit.paths.local-lease:1s}") Duration localLease,
+                                  @Value("${rate-limit.paths.max-clients:10000}") int maxClients,
+                                  @Value("${rate-limit.paths.timeout:100ms}") Duration timeout,
+                                  @Value("${rate-limit.paths.shed-lag-threshold:0s}") Duration shedLagThreshold) {
+        if (localBatch < 1 || maxClients < 1) {
+            throw new IllegalArgumentException("로컬 토큰 수와 클라이언트 수는 1 이상이어야 합니다.");
+        }
+        this.tokenBucketRepository = tokenBucketRepository;
+        this.eventLoopLagMonitor = eventLoopLagMonitor;
+        this.limits = new TokenBucketLimits(clientRate, clientCapacity, globalRate, globalCapacity);
+        this.localBatch = localBatch;
+        this.localLeaseNanos = localLease.toNanos();
+        this.maxClients = maxClients;
+        this.timeout = timeout;
+        this.shedLagThresholdNanos = shedLagThreshold.toNanos();
+        this.localAdmits = admits(meterRegistry, "local");
+        this.remoteAdmits = admits(meterRegistry, "redis");
+        this.fallbackAdmits = admits(meterRegistry, "fallback");
+        this.limited = rejects(meterRegistry, "limited");
+        this.shed = rejects(meterRegistry, "shed");
+    }
+
+    // @formatter:off
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (request.getMethod() != HttpMethod.GET || !PATTERN.matches(request.getPath().pathWithinApplication())) {
+            return chain.filter(exchange);
+        }
+        if (shouldShed()) {
+            shed.increment();
+            return reject(exchange.getResponse(), SHED_RETRY_AFTER_MILLIS);
+        }
+        String clientId = getClientId(request);
+        if (tryAcquireLocal(clientId, System.nanoTime())) {
+            localAdmits.increment();
+            return chain.filter(exchange);
+        }
+        // Redis 를 조회할 수 없으면 제한하지 않는다. 이벤트 루프 지연에 따른 거절은 계속 동작한다.
+        return tokenBucketRepository.acquire(NAME, clientId, localBatch, limits)
+                .timeout(timeout)
+                .onErrorResume(throwable -> {
+                    log.debug("rate limit lookup failed, admit request. client: {}", clientId, throwable);
+                    return Mono.just(FALLBACK);
+                })
+                .flatMap(grant -> {
+                    if (grant == FALLBACK) {
+                        fallbackAdmits.increment();
+                        return chain.filter(exchange);
+                    }
+                    if (!grant.isGranted()) {
+                        limited.increment();
+                        return reject(exchange.getResponse(), grant.getRetryAfterMillis());
+                    }
+                    remoteAdmits.increment();
+                    lease(clientId, grant.getTokens() - 1, System.nanoTime());
+                    return chain.filter(exchange);
+                });
+    }
+    // @formatter:on
+
+    /**
+     * 지연이 기준의 두 배가 되면 모두 거절한다.
+     */
+    private boolean shouldShed() {
+        if (shedLagThresholdNanos <= 0) {
+            return false;
+        }
+        long lag = eventLoopLagMonitor.getLagNanos();
+        if (lag <= shedLagThresholdNanos) {
+            return false;
+        }
+        double probability = (double) (lag - shedLagThresholdNanos) / shedLagThresholdNanos;
+        return ThreadLocalRandom.current()
+                .nextDouble() < probability;
+    }
+
+    /**
+     * 프록시 뒤에서는 server.forward-headers-strategy 설정에 따라 X-Forwarded-For 의 주소가 원격 주소가 된다.
+     */
+    // @formatter:off
+    private static String getClientId(ServerHttpRequest request) {
+        return Optional.ofNullable(request.getRemoteAddress())
+                .map(InetSocketAddress::getAddress)
+                .map(InetAddress::getHostAddress)
+                .orElse(UNKNOWN_CLIENT);
+    }
+    // @formatter:on
+
+    private boolean tryAcquireLocal(String clientId, long now) {
+        Allowance allowance = allowances.get(clientId);
+        if (allowance == null) {
+            return false;
+        }
+        if (allowance.isExpired(now)) {
+            allowances.remove(clientId, allowance);
+            return false;
+        }
+        return allowance.tryAcquire();
+    }
+
+    /**
+     * 가득 차면 기간이 지난 토큰을 정리하고, 그래도 자리가 없으면 로컬에 두지 않는다.
+     * 쓰지 못하고 기간이 지난 토큰은 버리므로 실제 허용량은 설정보다 적어질 수는 있어도 많아지지 않는다.
+     */
+    private void lease(String clientId, int tokens, long now) {
+        if (tokens < 1) {
+            return;
+        }
+        if (allowances.size() >= maxClients) {
+            allowances.values()
+                    .removeIf(allowance -> allowance.isExpired(now));
+        }
+        if (allowances.size() >= maxClients && !allowances.containsKey(clientId)) {
+            return;
+        }
+        allowances.put(clientId, new Allowance(tokens, now + localLeaseNanos));
+    }
+
+    private static Mono<Void> reject(ServerHttpResponse response, long retryAfterMillis) {
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        response.getHeaders()
+                .set(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, (retryAfterMillis + 999) / 1_000)));
+        return response.setComplete();
+    }
+
+    // @formatter:off
+    private static Counter admits(MeterRegistry meterRegistry, String source) {
+        return Counter.builder("http.server.ratelimit")
+                .tag("name", NAME)
+                .tag("result", "admitted")
+                .tag("source", source)
+                .register(meterRegistry);
+    }
+    // @formatter:on
+
+    // @formatter:off
+    private static Counter rejects(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("http.server.ratelimit")
+                .tag("name", NAME)
+                .tag("result", "rejected")
+                .tag("source", reason)
+                .register(meterRegistry);
+    }
+    // @formatter:on
+
+    private static class Allowance {
+        private final AtomicInteger remaining;
+        private final long expiresAt;
+
+        private Allowance(int tokens, long expiresAt) {
+            this.remaining = new AtomicInteger(tokens);
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean tryAcquire() {
+            return remaining.getAndUpdate(tokens -> tokens > 0 ? tokens - 1 : tokens) > 0;
+        }
+
+        private boolean isExpired(long now) {
+            return now - expiresAt > 0;
+        }
+    }
+}
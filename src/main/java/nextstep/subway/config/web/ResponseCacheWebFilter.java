@@ -0,0 +1,298 @@
+package nextstep.subway.config.web;
+
+import lombok.extern.slf4j.Slf4j;
+import nextstep.subway.common.cache.metrics.ReactiveCacheMetrics;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.io.ByteArrayOutputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 조회 API 응답(상태, 헤더, 본문)을 인스턴스 메모리에 저장해 두고, 같은 요청은 핸들러를 호출하지 않고 저장한 응답을 내보낸다.
+ * 키는 경로, 쿼리, Accept 와 {@link ApiResourceVersions} 의 데이터 버전 번호로 만들므로 데이터가 바뀌면 바로 새로 만든다.
+ * 같은 키를 동시에 조회하면 먼저 들어온 요청만 핸들러를 호출하고 나머지는 그 결과를 기다린다.
+ */
+@Slf4j
+@Component
+@Order(2)
+public class ResponseCacheWebFilter implements WebFilter {
+    private static final String CACHE_NAME_FORMAT = "response:%s";
+    private static final String KEY_FORMAT = "%s?%s|%s|v%d";
+    private static final String NO_KEY = "";
+    private static final CachedResponse NOT_CACHED = new CachedResponse(HttpStatus.OK, new HttpHeaders(), new byte[0],
+                                                                        0);
+
+    private final ApiResourceVersions apiResourceVersions;
+    private final ReactiveCacheMetrics metrics;
+    private final Map<String, Duration> ttls;
+    private final int maxEntries;
+    private final long maxBodySize;
+    private final Map<String, CachedResponse> entries = new ConcurrentHashMap<>();
+    private final Map<String, Sinks.One<CachedResponse>> loading = new ConcurrentHashMap<>();
+
+    public ResponseCacheWebFilter(ApiResourceVersions apiResourceVersions, ReactiveCacheMetrics metrics,
+                                  @Value("${response-cache.ttl.stations:0s}") Duration stationsTtl,
+                                  @Value("${response-cache.ttl.lines:0s}") Duration linesTtl,
+                                  @Value("${response-cache.ttl.paths:0s}") Duration pathsTtl,
+                                  @Value("${response-cache.max-entries:1000}") int maxEntries,
+                                  @Value("${response-cache.max-body-size:256KB}") DataSize maxBodySize) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("응답 캐시 항목 수는 1 이상이어야 합니다.");
+        }
+        this.apiResourceVersions = apiResourceVersions;
+        this.metrics = metrics;
+        this.ttls = Map.of("stations", stationsTtl, "lines", linesTtl, "paths", pathsTtl);
+        this.maxEntries = maxEntries;
+        this.maxBodySize = maxBodySize.toBytes();
+        metrics.responseEntries(entries, Map::size);
+    }
+
+    // @formatter:off
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        Optional<ApiResourceVersions.Route> route = getRoute(exchange.getRequest());
+        if (route.isEmpty()) {
+            return chain.filter(exchange);
+        }
+        String cacheName = String.format(CACHE_NAME_FORMAT, route.get().getName());
+        Duration ttl = ttls.get(route.get().getName());
+        return apiResourceVersions.getVersion(route.get())
+                .map(version -> getKey(exchange.getRequest(), version))
+                .onErrorResume(throwable -> {
+                    log.debug("api version lookup failed, respond without cache. name: {}", cacheName, throwable);
+                    metrics.fallback(cacheName);
+                    return Mono.empty();
+                })
+                .defaultIfEmpty(NO_KEY)
+                .flatMap(key -> {
+                    if (key.isEmpty()) {
+                        return chain.filter(exchange);
+                    }
+                    return filter(exchange, chain, cacheName, key, ttl);
+                });
+    }
+    // @formatter:on
+
+    private Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain, String cacheName, String key,
+                              Duration ttl) {
+        CachedResponse cached = get(key, System.nanoTime());
+        if (cached != null) {
+            metrics.hit(cacheName);
+            return replay(exchange.getResponse(), cached);
+        }
+        Sinks.One<CachedResponse> sink = Sinks.one();
+        Sinks.One<CachedResponse> loader = loading.putIfAbsent(key, sink);
+        if (loader != null) {
+            metrics.coalesced(cacheName);
+            return await(exchange, chain, loader);
+        }
+        return load(exchange, chain, cacheName, key, ttl, sink);
+    }
+
+    /**
+     * 먼저 조회 중인 요청의 응답을 저장할 수 없었으면 직접 핸들러를 호출한다.
+     */
+    // @formatter:off
+    private static Mono<Void> await(ServerWebExchange exchange, WebFilterChain chain, Sinks.One<CachedResponse> loader) {
+        return loader.asMono()
+                .defaultIfEmpty(NOT_CACHED)
+                .flatMap(cached -> {
+                    if (cached == NOT_CACHED) {
+                        return chain.filter(exchange);
+                    }
+                    return replay(exchange.getResponse(), cached);
+                });
+    }
+    // @formatter:on
+
+    // @formatter:off
+    private Mono<Void> load(ServerWebExchange exchange, WebFilterChain chain, String cacheName, String key,
+                            Duration ttl, Sinks.One<CachedResponse> sink) {
+        CapturingResponse response = new CapturingResponse(exchange.getResponse(), maxBodySize);
+        long start = System.nanoTime();
+        return chain.filter(exchange.mutate()
+                                    .response(response)
+                                    .build())
+                .doOnSuccess(v -> {
+                    long now = System.nanoTime();
+                    metrics.miss(cacheName);
+                    metrics.load(cacheName, now - start);
+                    CachedResponse cached = response.toCachedResponse(now + ttl.toNanos());
+                    if (cached != null) {
+                        metrics.payload(cacheName, cached.body.length);
+                        put(key, cached, now);
+                        sink.tryEmitValue(cached);
+                    }
+                })
+                .doFinally(signal -> {
+                    loading.remove(key, sink);
+                    sink.tryEmitEmpty();
+                });
+    }
+    // @formatter:on
+
+    private static Mono<Void> replay(ServerHttpResponse response, CachedResponse cached) {
+        response.setStatusCode(cached.status);
+        response.getHeaders()
+                .putAll(cached.headers);
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory()
+                .wrap(cached.body)));
+    }
+
+    /**
+     * 본문이 없는 HEAD 와, 사용자마다 응답이 다를 수 있는 인증 헤더가 있는 요청은 캐시하지 않는다.
+     */
+    // @formatter:off
+    private Optional<ApiResourceVersions.Route> getRoute(ServerHttpRequest request) {
+        if (request.getMethod() != HttpMethod.GET || request.getHeaders().containsKey(HttpHeaders.AUTHORIZATION)) {
+            return Optional.empty();
+        }
+        return apiResourceVersions.getRoute(request)
+                .filter(route -> {
+                    Duration ttl = ttls.get(route.getName());
+                    return ttl != null && !ttl.isZero() && !ttl.isNegative();
+                });
+    }
+    // @formatter:on
+
+    private static String getKey(ServerHttpRequest request, long version) {
+        String query = Optional.ofNullable(request.getURI()
+                                                   .getRawQuery())
+                .orElse("");
+        return String.format(KEY_FORMAT, request.getPath().pathWithinApplication().value(), query,
+                             request.getHeaders().getFirst(HttpHeaders.ACCEPT), version);
+    }
+
+    @Nullable
+    private CachedResponse get(String key, long now) {
+        CachedResponse cached = entries.get(key);
+        if (cached == null) {
+            return null;
+        }
+        if (cached.isExpired(now)) {
+            entries.remove(key, cached);
+            return null;
+        }
+        return cached;
+    }
+
+    /**
+     * 가득 차면 만료된 응답을 정리하고, 그래도 자리가 없으면 저장하지 않는다.
+     * 이전 버전 번호로 만든 응답은 다시 조회되지 않으므로 TTL 이 지나면 정리된다.
+     */
+    private void put(String key, CachedResponse cached, long now) {
+        if (entries.size() >= maxEntries) {
+            entries.values()
+                    .removeIf(entry -> entry.isExpired(now));
+        }
+        if (entries.size() >= maxEntries && !entries.containsKey(key)) {
+            return;
+        }
+        entries.put(key, cached);
+    }
+
+    private static class CachedResponse {
+        private final HttpStatus status;
+        private final HttpHeaders headers;
+        private final byte[] body;
+        private final long expiresAt;
+
+        private CachedResponse(HttpStatus status, HttpHeaders headers, byte[] body, long expiresAt) {
+            this.status = status;
+            this.headers = HttpHeaders.readOnlyHttpHeaders(headers);
+            this.body = body;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired(long now) {
+            return now - expiresAt > 0;
+        }
+    }
+
+    /**
+     * 핸들러가 쓰는 응답을 그대로 내보내면서 상태, 헤더, 본문을 복사해 둔다.
+     * 헤더는 본문을 쓰기 시작할 때 복사하므로 커밋할 때 붙는 헤더(ETag 등)는 들어가지 않는다.
+     */
+    private static class CapturingResponse extends ServerHttpResponseDecorator {
+        private final long maxBodySize;
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+        private HttpStatus status;
+        private HttpHeaders headers;
+        private boolean cacheable = true;
+
+        private CapturingResponse(ServerHttpResponse delegate, long maxBodySize) {
+            super(delegate);
+            this.maxBodySize = maxBodySize;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            status = Optional.ofNullable(getStatusCode())
+                    .orElse(HttpStatus.OK);
+            headers = copyHeaders(getHeaders());
+            return super.writeWith(Flux.from(body)
+                                           .doOnNext(this::capture));
+        }
+
+        @Override
+        public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+            cacheable = false;
+            return super.writeAndFlushWith(body);
+        }
+
+        private void capture(DataBuffer buffer) {
+            if (!cacheable) {
+                return;
+            }
+            int size = buffer.readableByteCount();
+            if (body.size() + size > maxBodySize) {
+                cacheable = false;
+                body.reset();
+                return;
+            }
+            byte[] bytes = new byte[size];
+            buffer.asByteBuffer()
+                    .get(bytes);
+            body.write(bytes, 0, size);
+        }
+
+        /**
+         * 정상 응답이 아니거나 쿠키를 내려보내는 응답은 저장하지 않는다.
+         */
+        @Nullable
+        private CachedResponse toCachedResponse(long expiresAt) {
+            if (!cacheable || status != HttpStatus.OK || headers.containsKey(HttpHeaders.SET_COOKIE)) {
+                return null;
+            }
+            return new CachedResponse(status, headers, body.toByteArray(), expiresAt);
+        }
+
+        private static HttpHeaders copyHeaders(HttpHeaders headers) {
+            HttpHeaders copy = new HttpHeaders();
+            headers.forEach((name, values) -> copy.put(name, new ArrayList<>(values)));
+            return copy;
+        }
+    }
+}
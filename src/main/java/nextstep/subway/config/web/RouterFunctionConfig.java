@@ -1,16 +1,13 @@
 package nextstep.subway.config.web;
 
 import nextstep.subway.station.handler.StationHandler;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.core.io.Resource;
 import org.springframework.http.MediaType;
 import org.springframework.web.reactive.function.server.RouterFunction;
 import org.springframework.web.reactive.function.server.RouterFunctions;
 import org.springframework.web.reactive.function.server.ServerRequest;
 import org.springframework.web.reactive.function.server.ServerResponse;
-import reactor.core.publisher.Mono;
 
 import java.util.Collections;
 import java.util.Objects;
@@ -22,20 +19,35 @@ public class RouterFunctionConfig {
 
     // @formatter:off
     @Bean
-    public RouterFunction<ServerResponse> routeIndex(
-            @Value("classpath:/templates/index.html") final Resource indexHtml) {
+    public RouterFunction<ServerResponse> routeIndex(StaticAssetHandler staticAssetHandler) {
         return RouterFunctions.route()
                 .nest(RouterFunctionConfig::isAcceptHtml, builder -> builder
-                        .GET(STATIONS, request -> response(indexHtml))
-                        .GET("/lines", request -> response(indexHtml))
-                        .GET("/sections", request -> response(indexHtml))
-                        .GET("/path", request -> response(indexHtml))
-                        .GET("/login", request -> response(indexHtml))
-                        .GET("/join", request -> response(indexHtml))
-                        .GET("/mypage", request -> response(indexHtml))
-                        .GET("/mypage/edit", request -> response(indexHtml))
-                        .GET("/favorites", request -> response(indexHtml)))
-                .GET("/", request -> response(indexHtml))
+                        .GET(STATIONS, staticAssetHandler::index)
+                        .GET("/lines", staticAssetHandler::index)
+                        .GET("/sections", staticAssetHandler::index)
+                        .GET("/path", staticAssetHandler::index)
+                        .GET("/login", staticAssetHandler::index)
+                        .GET("/join", staticAssetHandler::index)
+                        .GET("/mypage", staticAssetHandler::index)
+                        .GET("/mypage/edit", staticAssetHandler::index)
+                        .GET("/favorites", staticAssetHandler::index))
+                .GET("/", staticAssetHandler::index)
+                .build();
+    }
+    // @formatter:on
+
+    /**
+     * 기동할 때 올려 둔 정적 리소스는 리소스 핸들러를 거치지 않고 내보낸다. 나머지는 리소스 핸들러가 처리한다.
+     */
+    // @formatter:off
+    @Bean
+    public RouterFunction<ServerResponse> routeStaticAssets(StaticAssetHandler staticAssetHandler) {
+        return RouterFunctions.route()
+                .GET(WebFluxConfig.STATIC_JS_RESOURCE_PATTERN, staticAssetHandler::isFingerprinted,
+                     staticAssetHandler::fingerprintedAsset)
+                .GET(WebFluxConfig.STATIC_CSS_RESOURCE_PATTERN, staticAssetHandler::isFingerprinted,
+                     staticAssetHandler::fingerprintedAsset)
+                .GET("/**", staticAssetHandler::isStored, staticAssetHandler::asset)
                 .build();
     }
     // @formatter:on
@@ -45,7 +57,7 @@ public class RouterFunctionConfig {
     public RouterFunction<ServerResponse> routeStations(StationHandler stationHandler) {
         return RouterFunctions.route()
                 .path(STATIONS, builder -> builder
-                        .GET("", request -> stationHandler.showStations())
+                        .GET("", stationHandler::showStations)
                         .POST("", stationHandler::createStation)
                         .GET("/pages", stationHandler::pagingStations)
                         .DELETE("/{id}", stationHandler::deleteStation)
@@ -69,12 +81,4 @@ public class RouterFunctionConfig {
                 .isPresent();
     }
     // @formatter:on
-
-    // @formatter:off
-    private Mono<ServerResponse> response(Resource indexHtml) {
-        return ServerResponse.ok()
-                .contentType(MediaType.TEXT_HTML)
-                .bodyValue(indexHtml);
-    }
-    // @formatter:on
 }
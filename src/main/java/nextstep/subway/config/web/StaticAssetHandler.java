@@ -0,0 +1,177 @@
+package nextstep.subway.config.web;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.http.ReactiveHttpOutputMessage;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.reactive.function.BodyInserter;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * index.html 과 정적 리소스를 {@link StaticAssetManifest} 의 다이렉트 버퍼에서 바로 내보낸다.
+ * 응답마다 버퍼의 duplicate 를 감싸서 쓰므로 Netty 로 나갈 때 본문을 복사하지 않는다.
+ */
+@Component
+public class StaticAssetHandler {
+    private static final Pattern LOCAL_ASSET_URL = Pattern.compile("(src|href)=\"/([^/\"][^\"]*)\"");
+    private static final PathPattern CSS_PATTERN = PathPatternParser.defaultInstance.parse(
+            WebFluxConfig.STATIC_CSS_RESOURCE_PATTERN);
+    private static final String NO_CACHE = CacheControl.noCache()
+            .cachePrivate()
+            .getHeaderValue();
+    private static final String ONE_YEAR = CacheControl.maxAge(365, TimeUnit.DAYS)
+            .getHeaderValue();
+    private static final String IMMUTABLE = CacheControl.maxAge(365, TimeUnit.DAYS)
+            .cachePublic()
+            .getHeaderValue() + ", immutable";
+
+    private final StaticAssetManifest staticAssetManifest;
+    private final Resource indexTemplate;
+    private final ByteBuffer indexHtml;
+
+    public StaticAssetHandler(StaticAssetManifest staticAssetManifest,
+                              @Value("classpath:/templates/index.html") Resource indexTemplate) throws IOException {
+        this.staticAssetManifest = staticAssetManifest;
+        this.indexTemplate = indexTemplate;
+        this.indexHtml = renderIndexHtml();
+    }
+
+    public boolean isStored(ServerRequest request) {
+        return staticAssetManifest.contains(assetPath(request));
+    }
+
+    public boolean isFingerprinted(ServerRequest request) {
+        return staticAssetManifest.getFingerprinted(assetPath(request))
+                .isPresent();
+    }
+
+    // @formatter:off
+    public Mono<ServerResponse> index(ServerRequest request) {
+        return indexHtml()
+                .flatMap(html -> ServerResponse.ok()
+                        .contentType(MediaType.TEXT_HTML)
+                        .contentLength(html.remaining())
+                        .body(fromByteBuffer(html)));
+    }
+    // @formatter:on
+
+    // @formatter:off
+    public Mono<ServerResponse> asset(ServerRequest request) {
+        String cacheControl = CSS_PATTERN.matches(request.requestPath().pathWithinApplication()) ? ONE_YEAR : NO_CACHE;
+        return staticAssetManifest.get(assetPath(request))
+                .flatMap(asset -> write(request, asset, cacheControl))
+                .switchIfEmpty(ServerResponse.notFound()
+                                       .build());
+    }
+    // @formatter:on
+
+    /**
+     * 파일 이름에 내용 해시가 들어간 경로는 내용이 바뀌지 않으므로 1년 동안 다시 검증하지 않도록 응답한다.
+     */
+    // @formatter:off
+    public Mono<ServerResponse> fingerprintedAsset(ServerRequest request) {
+        return Mono.justOrEmpty(staticAssetManifest.getFingerprinted(assetPath(request)))
+                .flatMap(asset -> write(request, asset, IMMUTABLE))
+                .switchIfEmpty(ServerResponse.notFound()
+                                       .build());
+    }
+    // @formatter:on
+
+    // @formatter:off
+    private static Mono<ServerResponse> write(ServerRequest request, StaticAssetManifest.StaticAsset asset,
+                                              String cacheControl) {
+        String encoding = asset.selectEncoding(request.headers().asHttpHeaders());
+        String etag = asset.getEtag(encoding);
+        return request.checkNotModified(etag)
+                .switchIfEmpty(Mono.defer(() -> {
+                    ByteBuffer content = asset.getContent(encoding);
+                    ServerResponse.BodyBuilder response = ServerResponse.ok()
+                            .eTag(etag)
+                            .header(HttpHeaders.CACHE_CONTROL, cacheControl)
+                            .contentType(MediaTypeFactory.getMediaType(asset.getResource())
+                                                 .orElse(MediaType.APPLICATION_OCTET_STREAM))
+                            .contentLength(content.remaining());
+                    varyByEncoding(response, asset, encoding);
+                    return response.body(fromByteBuffer(content));
+                }));
+    }
+    // @formatter:on
+
+    /**
+     * 압축본이 있는 리소스는 압축하지 않고 내보낼 때도 Vary 를 붙인다.
+     * 응답에 Content-Encoding 이 있으면 서버의 실시간 압축(server.compression)은 건너뛴다.
+     */
+    private static void varyByEncoding(ServerResponse.BodyBuilder response, StaticAssetManifest.StaticAsset asset,
+                                       @Nullable String encoding) {
+        if (asset.isEncoded()) {
+            response.header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+        if (encoding != null) {
+            response.header(HttpHeaders.CONTENT_ENCODING, encoding);
+        }
+    }
+
+    private static BodyInserter<ByteBuffer, ReactiveHttpOutputMessage> fromByteBuffer(ByteBuffer content) {
+        return (message, context) -> message.writeWith(Mono.fromSupplier(() -> message.bufferFactory()
+                .wrap(content)));
+    }
+
+    /**
+     * hot-reload 가 꺼져 있으면 기동할 때 만든 버퍼를 쓰고, 켜져 있으면 템플릿과 참조하는 리소스가 바뀌었을 수 있으므로 요청마다 다시 만든다.
+     */
+    private Mono<ByteBuffer> indexHtml() {
+        if (!staticAssetManifest.isHotReload()) {
+            return Mono.just(indexHtml.duplicate());
+        }
+        return Mono.fromCallable(this::renderIndexHtml)
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * index.html 이 참조하는 정적 리소스 경로를 내용 해시가 들어간 경로로 바꾼다.
+     */
+    private ByteBuffer renderIndexHtml() throws IOException {
+        String html = StreamUtils.copyToString(indexTemplate.getInputStream(), StandardCharsets.UTF_8);
+        Matcher matcher = LOCAL_ASSET_URL.matcher(html);
+        StringBuilder fingerprinted = new StringBuilder();
+        while (matcher.find()) {
+            String path = matcher.group(2);
+            String url = staticAssetManifest.get(path)
+                    .blockOptional()
+                    .flatMap(asset -> asset.fingerprint(path))
+                    .orElse(path);
+            matcher.appendReplacement(fingerprinted, Matcher.quoteReplacement(matcher.group(1) + "=\"/" + url + "\""));
+        }
+        matcher.appendTail(fingerprinted);
+
+        byte[] bytes = fingerprinted.toString()
+                .getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+        buffer.put(bytes)
+                .flip();
+        return buffer.asReadOnlyBuffer();
+    }
+
+    private static String assetPath(ServerRequest request) {
+        return request.path()
+                .substring(1);
+    }
+}
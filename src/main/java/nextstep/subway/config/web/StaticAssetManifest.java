@@ -0,0 +1,399 @@
+package nextstep.subway.config.web;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+import org.springframework.util.StringUtils;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.annotation.PostConstruct;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 정적 리소스의 해시, ETag, 본문과 압축본을 기동할 때 한 번 읽어 읽기 전용 다이렉트 버퍼에 올려 둔다.
+ * 응답은 버퍼를 복사하지 않고 duplicate 를 감싸서 쓴다.
+ * hot-reload 를 켜면(로컬, 테스트) 파일 시스템의 리소스는 수정 시각이 바뀌었을 때 다시 읽는다.
+ */
+@Component
+@Slf4j
+public class StaticAssetManifest {
+    private static final String ALL_RESOURCES = "**";
+    private static final Pattern FINGERPRINTED_PATH = Pattern.compile("(.+)\\.([0-9a-f]{32})(\\.[^./]+)");
+    static final String BROTLI = "br";
+    static final String GZIP = "gzip";
+    private static final Map<String, String> PREBUILT_EXTENSIONS = Map.of(BROTLI, ".br", GZIP, ".gz");
+
+    private final ResourcePatternResolver resourcePatternResolver;
+    private final String staticLocations;
+    private final List<MediaType> compressibleTypes;
+    private final long minCompressSize;
+    @Getter
+    private final boolean hotReload;
+    private final Map<String, StaticAsset> assets = new ConcurrentHashMap<>();
+
+    public StaticAssetManifest(DefaultResourceLoader defaultResourceLoader,
+                               @Value("${spring.web.resources.static-locations}") String staticLocations,
+                               @Value("${server.compression.mime-types:text/html,text/css,application/javascript}")
+                                       List<MediaType> compressibleTypes,
+                               @Value("${server.compression.min-response-size:2KB}") DataSize minCompressSize,
+                               @Value("${static-resources.hot-reload:false}") boolean hotReload) {
+        this.resourcePatternResolver = new PathMatchingResourcePatternResolver(defaultResourceLoader);
+        this.staticLocations = staticLocations;
+        this.compressibleTypes = compressibleTypes;
+        this.minCompressSize = minCompressSize.toBytes();
+        this.hotReload = hotReload;
+    }
+
+    @PostConstruct
+    public void load() throws IOException {
+        Resource root = resourcePatternResolver.getResource(staticLocations);
+        if (!root.exists()) {
+            log.warn("정적 리소스 경로가 없습니다. location: {}", staticLocations);
+            return;
+        }
+        String rootUrl = root.getURL().toString();
+        for (Resource resource : resourcePatternResolver.getResources(staticLocations + ALL_RESOURCES)) {
+            if (!resource.isReadable()) {
+                continue;
+            }
+            String path = resource.getURL().toString().substring(rootUrl.length());
+            assets.put(path, load(resource).block());
+        }
+        log.info("정적 리소스 {}개, {} bytes 를 다이렉트 버퍼에 올렸습니다.", assets.size(), directBytes());
+    }
+
+    public boolean contains(String path) {
+        return assets.containsKey(path);
+    }
+
+    /**
+     * 기동할 때 올려 둔 리소스만 돌려준다. 새로 추가한 파일은 다시 기동해야 올라간다.
+     */
+    public Mono<StaticAsset> get(String path) {
+        StaticAsset asset = assets.get(path);
+        if (asset == null || !hotReload || !asset.isModified()) {
+            return Mono.justOrEmpty(asset);
+        }
+
+        File file = asset.snapshot.file;
+        if (!file.isFile()) {
+            assets.remove(path);
+            return Mono.empty();
+        }
+        return load(new FileSystemResource(file)).doOnNext(reloaded -> assets.put(path, reloaded));
+    }
+
+    /**
+     * 경로의 해시가 현재 내용의 해시와 같을 때만 리소스를 돌려준다.
+     */
+    public Optional<StaticAsset> getFingerprinted(String fingerprintedPath) {
+        Matcher matcher = FINGERPRINTED_PATH.matcher(fingerprintedPath);
+        if (!matcher.matches()) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(assets.get(matcher.group(1) + matcher.group(3)))
+                .filter(asset -> asset.getHash().equals(matcher.group(2)));
+    }
+
+    long directBytes() {
+        return assets.values()
+                .stream()
+                .mapToLong(StaticAsset::directBytes)
+                .sum();
+    }
+
+    // @formatter:off
+    private Mono<StaticAsset> load(Resource resource) {
+        return Mono.fromCallable(() -> Snapshot.of(resource))
+                .flatMap(snapshot -> DataBufferUtils.read(resource, DefaultDataBufferFactory.sharedInstance,
+                                                          StreamUtils.BUFFER_SIZE)
+                        .reduceWith(() -> new Digest(isCompressible(resource, snapshot)), Digest::update)
+                        .flatMap(digest -> encodedContents(resource, digest)
+                                .map(encodedContents -> new StaticAsset(digest.hash(), resource, snapshot,
+                                                                        digest.content(), encodedContents))));
+    }
+    // @formatter:on
+
+    private boolean isCompressible(Resource resource, Snapshot snapshot) {
+        return snapshot.length >= minCompressSize && MediaTypeFactory.getMediaType(resource)
+                .filter(mediaType -> compressibleTypes.stream()
+                        .anyMatch(compressibleType -> compressibleType.isCompatibleWith(mediaType)))
+                .isPresent();
+    }
+
+    /**
+     * 빌드에서 미리 만든 .br, .gz 파일이 있으면 그대로 쓰고, gzip 은 없으면 읽으면서 만든 압축본을 쓴다.
+     * JDK 에 brotli 인코더가 없으므로 br 은 미리 만든 파일이 있을 때만 내보낸다.
+     */
+    // @formatter:off
+    private static Mono<Map<String, ByteBuffer>> encodedContents(Resource resource, Digest digest) {
+        return Flux.fromIterable(List.of(BROTLI, GZIP))
+                .concatMap(encoding -> Mono.justOrEmpty(prebuilt(resource, PREBUILT_EXTENSIONS.get(encoding)))
+                        .flatMap(StaticAssetManifest::readDirect)
+                        .map(content -> Map.entry(encoding, content)))
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue, LinkedHashMap::new)
+                .map(encodedContents -> {
+                    ByteBuffer gzipped = digest.gzipped();
+                    if (!encodedContents.containsKey(GZIP) && gzipped != null
+                            && gzipped.remaining() < digest.content().remaining()) {
+                        encodedContents.put(GZIP, gzipped);
+                    }
+                    return Collections.unmodifiableMap(encodedContents);
+                });
+    }
+    // @formatter:on
+
+    private static Optional<Resource> prebuilt(Resource resource, String extension) {
+        try {
+            return Optional.of(resource.createRelative(resource.getFilename() + extension))
+                    .filter(Resource::isReadable);
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static Mono<ByteBuffer> readDirect(Resource resource) {
+        return DataBufferUtils.join(DataBufferUtils.read(resource, DefaultDataBufferFactory.sharedInstance,
+                                                         StreamUtils.BUFFER_SIZE))
+                .map(buffer -> {
+                    byte[] bytes = new byte[buffer.readableByteCount()];
+                    buffer.read(bytes);
+                    DataBufferUtils.release(buffer);
+                    return direct(bytes);
+                });
+    }
+
+    private static ByteBuffer direct(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+        buffer.put(bytes)
+                .flip();
+        return buffer.asReadOnlyBuffer();
+    }
+
+    private static MessageDigest md5() {
+        try {
+            return MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("MD5 알고리즘을 사용할 수 없습니다.", e);
+        }
+    }
+
+    @Getter
+    public static class StaticAsset {
+        private final String hash;
+        private final String etag;
+        private final Resource resource;
+        @Getter(AccessLevel.NONE)
+        private final Snapshot snapshot;
+        @Getter(AccessLevel.NONE)
+        private final ByteBuffer content;
+        @Getter(AccessLevel.NONE)
+        private final Map<String, ByteBuffer> encodedContents;
+
+        private StaticAsset(String hash, Resource resource, Snapshot snapshot, ByteBuffer content,
+                            Map<String, ByteBuffer> encodedContents) {
+            this.hash = hash;
+            this.etag = String.format("\"%s\"", hash);
+            this.resource = resource;
+            this.snapshot = snapshot;
+            this.content = content;
+            this.encodedContents = encodedContents;
+        }
+
+        public boolean isEncoded() {
+            return !encodedContents.isEmpty();
+        }
+
+        /**
+         * Accept-Encoding 이 허용하는 압축본 중 br, gzip 순서로 고른다. 고를 수 없으면 null
+         */
+        @Nullable
+        public String selectEncoding(HttpHeaders requestHeaders) {
+            String acceptEncoding = requestHeaders.getFirst(HttpHeaders.ACCEPT_ENCODING);
+            if (!isEncoded() || !StringUtils.hasText(acceptEncoding)) {
+                return null;
+            }
+            List<String> accepted = acceptedEncodings(acceptEncoding);
+            return encodedContents.keySet()
+                    .stream()
+                    .filter(accepted::contains)
+                    .findFirst()
+                    .orElse(null);
+        }
+
+        /**
+         * 압축본은 원본과 바이트가 다르므로 ETag 도 다르게 준다.
+         */
+        public String getEtag(@Nullable String encoding) {
+            if (encoding == null) {
+                return etag;
+            }
+            return String.format("\"%s-%s\"", hash, encoding);
+        }
+
+        /**
+         * 공유하는 버퍼의 위치를 바꾸지 않도록 응답마다 duplicate 를 돌려준다.
+         */
+        public ByteBuffer getContent(@Nullable String encoding) {
+            if (encoding == null) {
+                return content.duplicate();
+            }
+            return encodedContents.get(encoding)
+                    .duplicate();
+        }
+
+        /**
+         * 파일 이름에 내용 해시를 넣은 경로를 만든다. 내용이 바뀌면 경로도 바뀌므로 브라우저가 다시 검증하지 않고 계속 캐시해도 된다.
+         * 예) js/main.js -> js/main.{md5}.js
+         */
+        public Optional<String> fingerprint(String path) {
+            int extension = path.lastIndexOf('.');
+            if (extension <= path.lastIndexOf('/') + 1) {
+                return Optional.empty();
+            }
+            return Optional.of(path.substring(0, extension) + "." + hash + path.substring(extension));
+        }
+
+        private boolean isModified() {
+            return snapshot.isModified();
+        }
+
+        private long directBytes() {
+            return content.capacity() + encodedContents.values()
+                    .stream()
+                    .mapToLong(ByteBuffer::capacity)
+                    .sum();
+        }
+
+        private static List<String> acceptedEncodings(String acceptEncoding) {
+            return Arrays.stream(acceptEncoding.split(","))
+                    .map(String::trim)
+                    .filter(coding -> !coding.replace(" ", "").matches(".*;q=0(\\.0*)?$"))
+                    .map(coding -> coding.split(";")[0].trim().toLowerCase())
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private static class Snapshot {
+        @Nullable
+        private final File file;
+        private final long lastModified;
+        private final long length;
+
+        private Snapshot(@Nullable File file, long lastModified, long length) {
+            this.file = file;
+            this.lastModified = lastModified;
+            this.length = length;
+        }
+
+        private static Snapshot of(Resource resource) throws IOException {
+            if (resource.isFile()) {
+                File file = resource.getFile();
+                return new Snapshot(file, file.lastModified(), file.length());
+            }
+            return new Snapshot(null, resource.lastModified(), resource.contentLength());
+        }
+
+        private boolean isModified() {
+            return file != null && (file.lastModified() != lastModified || file.length() != length);
+        }
+    }
+
+    /**
+     * 리소스를 한 번 읽으면서 해시, 본문, gzip 압축본을 같이 만든다.
+     */
+    private static class Digest {
+        private final MessageDigest md5 = md5();
+        private final ByteArrayOutputStream content = new ByteArrayOutputStream();
+        @Nullable
+        private final ByteArrayOutputStream gzipped;
+        @Nullable
+        private final GZIPOutputStream gzip;
+        @Nullable
+        private ByteBuffer directContent;
+
+        private Digest(boolean compress) {
+            try {
+                this.gzipped = compress ? new ByteArrayOutputStream() : null;
+                this.gzip = compress ? new GZIPOutputStream(gzipped) : null;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private Digest update(DataBuffer buffer) {
+            byte[] bytes = new byte[buffer.readableByteCount()];
+            buffer.read(bytes);
+            DataBufferUtils.release(buffer);
+            md5.update(bytes);
+            content.writeBytes(bytes);
+            try {
+                if (gzip != null) {
+                    gzip.write(bytes);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return this;
+        }
+
+        private String hash() {
+            return String.format("%032x", new BigInteger(1, md5.digest()));
+        }
+
+        private ByteBuffer content() {
+            if (directContent == null) {
+                directContent = direct(content.toByteArray());
+            }
+            return directContent;
+        }
+
+        @Nullable
+        private ByteBuffer gzipped() {
+            if (gzip == null) {
+                return null;
+            }
+            try {
+                gzip.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return direct(gzipped.toByteArray());
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package nextstep.subway.config.web;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import nextstep.subway.config.mapper.ObjectMapperConfig;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -9,6 +10,9 @@ import org.springframework.http.CacheControl;
 import org.springframework.http.codec.ServerCodecConfigurer;
 import org.springframework.http.codec.json.Jackson2JsonDecoder;
 import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.codec.json.Jackson2SmileDecoder;
+import org.springframework.http.codec.json.Jackson2SmileEncoder;
+import org.springframework.util.MimeType;
 import org.springframework.web.reactive.config.EnableWebFlux;
 import org.springframework.web.reactive.config.ResourceHandlerRegistry;
 import org.springframework.web.reactive.config.WebFluxConfigurer;
@@ -21,6 +25,9 @@ public class WebFluxConfig implements WebFluxConfigurer {
     private static final String STATIC_RESOURCE_PATTERN = "/**";
     static final String STATIC_JS_RESOURCE_PATTERN = "/js/**";
     static final String STATIC_CSS_RESOURCE_PATTERN = "/css/**";
+    // 미디어 타입을 넘기지 않으면 JSON 미디어 타입으로 등록된다.
+    private static final MimeType[] SMILE_MIME_TYPES = {new MimeType("application", "x-jackson-smile"),
+                                                        new MimeType("application", "*+x-jackson-smile")};
     @Value("${spring.web.resources.static-locations}")
     private String staticLocations;
 
@@ -47,11 +54,18 @@ public class WebFluxConfig implements WebFluxConfigurer {
     }
     // @formatter:on
 
+    /**
+     * Accept 가 application/x-jackson-smile 이면 같은 DTO 를 Smile 로 인코딩한다.
+     */
     @Override
     public void configureHttpMessageCodecs(ServerCodecConfigurer configurer) {
         configurer.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
         configurer.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
 
+        ObjectMapper smileObjectMapper = ObjectMapperConfig.smileObjectMapper();
+        configurer.defaultCodecs().jackson2SmileEncoder(new Jackson2SmileEncoder(smileObjectMapper, SMILE_MIME_TYPES));
+        configurer.defaultCodecs().jackson2SmileDecoder(new Jackson2SmileDecoder(smileObjectMapper, SMILE_MIME_TYPES));
+
         configurer.defaultCodecs().enableLoggingRequestDetails(true);
     }
 
@@ -5,6 +5,7 @@ import nextstep.subway.favorite.domain.Favorite;
 import nextstep.subway.favorite.domain.FavoriteDomainService;
 import nextstep.subway.favorite.dto.FavoriteRequest;
 import nextstep.subway.favorite.dto.FavoriteResponse;
+import nextstep.subway.station.application.StationIdFilter;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import reactor.core.publisher.Flux;
@@ -14,19 +15,22 @@ import reactor.core.publisher.Mono;
 @Transactional(readOnly = true)
 public class FavoriteService {
     private final FavoriteDomainService favoriteDomainService;
+    private final StationIdFilter stationIdFilter;
 
-    public FavoriteService(FavoriteDomainService favoriteDomainService) {
+    public FavoriteService(FavoriteDomainService favoriteDomainService, StationIdFilter stationIdFilter) {
         this.favoriteDomainService = favoriteDomainService;
+        this.stationIdFilter = stationIdFilter;
     }
 
     // @formatter:off
     @Transactional
     public Mono<Favorite> createFavorite(LoginMember loginMember, FavoriteRequest request) {
-        return favoriteDomainService.save(Favorite.builder()
-                                               .memberId(loginMember.getId())
-                                               .sourceStationId(request.getSource())
-                                               .targetStationId(request.getTarget())
-                                               .build());
+        return stationIdFilter.requireExisting(request.getSource(), request.getTarget())
+                .then(Mono.defer(() -> favoriteDomainService.save(Favorite.builder()
+                                                                          .memberId(loginMember.getId())
+                                                                          .sourceStationId(request.getSource())
+                                                                          .targetStationId(request.getTarget())
+                                                                          .build())));
     }
     // @formatter:on
 
@@ -3,7 +3,7 @@ package nextstep.subway.favorite.domain;
 import nextstep.subway.common.domain.service.DomainService;
 import nextstep.subway.favorite.dto.FavoriteResponse;
 import nextstep.subway.station.domain.Station;
-import nextstep.subway.station.domain.StationRepository;
+import nextstep.subway.station.domain.StationFinder;
 import nextstep.subway.station.dto.StationResponse;
 import org.springframework.transaction.annotation.Transactional;
 import reactor.core.publisher.Flux;
@@ -20,11 +20,11 @@ import java.util.stream.Stream;
 @Transactional(readOnly = true)
 public class FavoriteDomainService {
     private final FavoriteRepository favoriteRepository;
-    private final StationRepository stationRepository;
+    private final StationFinder stationFinder;
 
-    public FavoriteDomainService(FavoriteRepository favoriteRepository, StationRepository stationRepository) {
+    public FavoriteDomainService(FavoriteRepository favoriteRepository, StationFinder stationFinder) {
         this.favoriteRepository = favoriteRepository;
-        this.stationRepository = stationRepository;
+        this.stationFinder = stationFinder;
     }
 
     @Transactional
@@ -43,7 +43,7 @@ public class FavoriteDomainService {
     // @formatter:on
 
     private Mono<Map<Long, Station>> extractStations(List<Favorite> favorites) {
-        return stationRepository.findAllById(extractStationIds(favorites))
+        return stationFinder.findAllById(extractStationIds(favorites))
                 .collectMap(Station::getId, Function.identity());
     }
 
@@ -4,11 +4,15 @@ import nextstep.subway.common.cache.annotation.ReactiveCacheEvict;
 import nextstep.subway.common.cache.annotation.ReactiveCacheable;
 import nextstep.subway.line.domain.Line;
 import nextstep.subway.line.domain.LineDomainService;
+import nextstep.subway.line.domain.NetworkSnapshot;
 import nextstep.subway.line.dto.LineRequest;
 import nextstep.subway.line.dto.LineResponse;
 import nextstep.subway.line.dto.LineSimpleResponse;
 import nextstep.subway.line.dto.SectionRequest;
+import nextstep.subway.station.application.StationIdFilter;
 import nextstep.subway.station.application.StationService;
+import nextstep.subway.station.domain.Station;
+import nextstep.subway.station.domain.StationNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import reactor.core.publisher.Flux;
@@ -17,20 +21,25 @@ import reactor.core.publisher.Mono;
 @Service
 @Transactional(readOnly = true)
 public class LineService {
+    public static final String LINE_SIMPLE_RESPONSES = "line-simple-responses";
+
     private final LineDomainService lineDomainService;
     private final StationService stationService;
+    private final StationIdFilter stationIdFilter;
 
-    public LineService(LineDomainService lineDomainService, StationService stationService) {
+    public LineService(LineDomainService lineDomainService, StationService stationService,
+                       StationIdFilter stationIdFilter) {
         this.lineDomainService = lineDomainService;
         this.stationService = stationService;
+        this.stationIdFilter = stationIdFilter;
     }
 
     // @formatter:off
-    @ReactiveCacheEvict(value = {"lines", "line-simple-responses"})
+    @ReactiveCacheEvict(value = {"lines", "line-simple-responses", "network-version"})
     @Transactional
     public Mono<LineResponse> saveLine(LineRequest request) {
-        return Mono.zip(stationService.findById(request.getUpStationId()),
-                        stationService.findById(request.getDownStationId()))
+        return Mono.zip(findStation(request.getUpStationId()),
+                        findStation(request.getDownStationId()))
                 .map(tuple -> new Line(request.getName(), request.getColor(), tuple.getT1(), tuple.getT2(), request.getDistance()))
                 .flatMap(lineDomainService::save);
     }
@@ -42,9 +51,9 @@ public class LineService {
                 .map(LineSimpleResponse::of);
     }
 
-    @ReactiveCacheable("lines")
     public Flux<Line> findLines() {
-        return lineDomainService.findAll();
+        return lineDomainService.findNetwork()
+                .flatMapIterable(NetworkSnapshot::toLines);
     }
 
     public Mono<LineResponse> findLineResponseById(Long id) {
@@ -53,36 +62,44 @@ public class LineService {
     }
 
     // @formatter:off
-    @ReactiveCacheEvict(value = {"lines", "line-simple-responses"})
+    @ReactiveCacheEvict(value = {"lines", "line-simple-responses", "network-version"})
     @Transactional
     public Mono<Line> updateLine(Long id, LineRequest lineUpdateRequest) {
         return lineDomainService.update(id, new Line(lineUpdateRequest.getName(), lineUpdateRequest.getColor()));
     }
     // @formatter:on
 
-    @ReactiveCacheEvict(value = {"lines", "line-simple-responses"})
+    @ReactiveCacheEvict(value = {"lines", "line-simple-responses", "network-version"})
     @Transactional
     public Mono<Void> deleteLineById(Long id) {
         return lineDomainService.delete(id);
     }
 
     // @formatter:off
-    @ReactiveCacheEvict(value = {"lines", "line-simple-responses"})
+    @ReactiveCacheEvict(value = {"lines", "line-simple-responses", "network-version"})
     @Transactional
     public Mono<Void> addLineStation(Long lineId, SectionRequest request) {
         return Mono.zip(lineDomainService.findLineById(lineId),
-                        stationService.findById(request.getUpStationId()),
-                        stationService.findById(request.getDownStationId()))
+                        findStation(request.getUpStationId()),
+                        findStation(request.getDownStationId()))
                 .flatMap(tuple -> lineDomainService.addLineStation(tuple.getT1(), tuple.getT2(), tuple.getT3(),
                                                                    request.getDistance()));
     }
     // @formatter:on
 
     // @formatter:off
-    @ReactiveCacheEvict(value = {"lines", "line-simple-responses"})
+    @ReactiveCacheEvict(value = {"lines", "line-simple-responses", "network-version"})
     @Transactional
     public Mono<Void> removeLineStation(Long lineId, Long stationId) {
         return lineDomainService.removeLineStation(lineId, stationId);
     }
     // @formatter:on
+
+    // @formatter:off
+    private Mono<Station> findStation(Long id) {
+        return stationIdFilter.requireExisting(id)
+                .then(Mono.defer(() -> stationService.findById(id)))
+                .switchIfEmpty(Mono.defer(() -> Mono.error(new StationNotFoundException(id))));
+    }
+    // @formatter:on
 }
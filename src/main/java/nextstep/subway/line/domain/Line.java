@@ -36,6 +36,14 @@ public class Line implements Serializable {
         this.color = color;
     }
 
+    Line(Long id, String name, String color, LocalDateTime createdDate, LocalDateTime modifiedDate) {
+        this.id = id;
+        this.name = name;
+        this.color = color;
+        this.createdDate = createdDate;
+        this.modifiedDate = modifiedDate;
+    }
+
     // @formatter:off
     public Line(String name, String color, Station upStation, Station downStation, int distance) {
         this.name = name;
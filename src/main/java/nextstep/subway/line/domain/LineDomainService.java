@@ -1,8 +1,10 @@
 package nextstep.subway.line.domain;
 
+import nextstep.subway.common.cache.annotation.ReactiveCacheable;
 import nextstep.subway.common.domain.service.DomainService;
 import nextstep.subway.line.dto.LineResponse;
 import nextstep.subway.station.domain.Station;
+import nextstep.subway.station.domain.StationFinder;
 import nextstep.subway.station.domain.StationRepository;
 import org.springframework.transaction.annotation.Transactional;
 import reactor.core.publisher.Flux;
@@ -19,12 +21,14 @@ public class LineDomainService {
     private final LineRepository lineRepository;
     private final SectionRepository sectionRepository;
     private final StationRepository stationRepository;
+    private final StationFinder stationFinder;
 
     public LineDomainService(LineRepository lineRepository, SectionRepository sectionRepository,
-                             StationRepository stationRepository) {
+                             StationRepository stationRepository, StationFinder stationFinder) {
         this.lineRepository = lineRepository;
         this.sectionRepository = sectionRepository;
         this.stationRepository = stationRepository;
+        this.stationFinder = stationFinder;
     }
 
     // @formatter:off
@@ -57,6 +61,12 @@ public class LineDomainService {
     }
     // @formatter:on
 
+    @ReactiveCacheable("lines")
+    public Mono<NetworkSnapshot> findNetwork() {
+        return findAll().collectList()
+                .map(NetworkSnapshot::of);
+    }
+
     // @formatter:off
     private Mono<Map<Long, Collection<Section>>> extractSections() {
         return sectionRepository.findAll()
@@ -101,7 +111,7 @@ public class LineDomainService {
     // @formatter:on
 
     private Mono<Map<Long, Station>> extractStations(List<Section> sections) {
-        return stationRepository.findAllById(extractStationIds(sections))
+        return stationFinder.findAllById(extractStationIds(sections))
                 .collectMap(Station::getId, Function.identity());
     }
 
@@ -0,0 +1,110 @@
+package nextstep.subway.line.domain;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import nextstep.subway.station.domain.Station;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * 전체 노선도 캐시 표현
+ * 역 테이블, 노선 테이블 각 1개와 구간을 (상행역 index, 하행역 index, 거리) int 배열로 저장해서 환승역 중복을 제거한다.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+@Getter
+public class NetworkSnapshot implements Serializable {
+    private static final long serialVersionUID = 4731539015316471962L;
+    private static final int SECTION_FIELD_COUNT = 3;
+
+    private List<Station> stations;
+    private List<LineRow> lines;
+
+    private NetworkSnapshot(List<Station> stations, List<LineRow> lines) {
+        this.stations = stations;
+        this.lines = lines;
+    }
+
+    public static NetworkSnapshot of(List<Line> lines) {
+        Map<Long, Integer> stationIndexes = new HashMap<>();
+        List<Station> stations = new ArrayList<>();
+        List<LineRow> lineRows = new ArrayList<>(lines.size());
+        for (Line line : lines) {
+            lineRows.add(LineRow.of(line, station -> stationIndexes.computeIfAbsent(station.getId(), id -> {
+                stations.add(station);
+                return stations.size() - 1;
+            })));
+        }
+        return new NetworkSnapshot(stations, lineRows);
+    }
+
+    public List<Line> toLines() {
+        List<Line> result = new ArrayList<>(lines.size());
+        for (LineRow lineRow : lines) {
+            result.add(lineRow.toLine(stations));
+        }
+        return result;
+    }
+
+    @NoArgsConstructor(access = AccessLevel.PRIVATE)
+    @Getter
+    public static class LineRow implements Serializable {
+        private static final long serialVersionUID = -2716395047251948416L;
+
+        private Long id;
+        private String name;
+        private String color;
+        private LocalDateTime createdDate;
+        private LocalDateTime modifiedDate;
+        private long[] sectionIds;
+        private int[] sections;
+
+        private LineRow(Line line, long[] sectionIds, int[] sections) {
+            this.id = line.getId();
+            this.name = line.getName();
+            this.color = line.getColor();
+            this.createdDate = line.getCreatedDate();
+            this.modifiedDate = line.getModifiedDate();
+            this.sectionIds = sectionIds;
+            this.sections = sections;
+        }
+
+        private static LineRow of(Line line, StationIndexer stationIndexer) {
+            List<Section> lineSections = line.getSections();
+            long[] sectionIds = new long[lineSections.size()];
+            int[] sections = new int[lineSections.size() * SECTION_FIELD_COUNT];
+            for (int i = 0; i < lineSections.size(); i++) {
+                Section section = lineSections.get(i);
+                sectionIds[i] = section.getId();
+                sections[i * SECTION_FIELD_COUNT] = stationIndexer.indexOf(section.getUpStation());
+                sections[i * SECTION_FIELD_COUNT + 1] = stationIndexer.indexOf(section.getDownStation());
+                sections[i * SECTION_FIELD_COUNT + 2] = section.getDistance();
+            }
+            return new LineRow(line, sectionIds, sections);
+        }
+
+        // @formatter:off
+        private Line toLine(List<Station> stations) {
+            Line line = new Line(id, name, color, createdDate, modifiedDate);
+            List<Section> lineSections = new ArrayList<>(sectionIds.length);
+            for (int i = 0; i < sectionIds.length; i++) {
+                lineSections.add(Section.builder()
+                                         .id(sectionIds[i])
+                                         .line(line)
+                                         .upStation(stations.get(sections[i * SECTION_FIELD_COUNT]))
+                                         .downStation(stations.get(sections[i * SECTION_FIELD_COUNT + 1]))
+                                         .distance(sections[i * SECTION_FIELD_COUNT + 2])
+                                         .build());
+            }
+            return line.initSections(lineSections);
+        }
+        // @formatter:on
+    }
+
+    @FunctionalInterface
+    private interface StationIndexer {
+        int indexOf(Station station);
+    }
+}
@@ -7,5 +7,7 @@ import reactor.core.publisher.Mono;
 public interface SectionRepository extends R2dbcRepository<Section, Long> {
     Flux<Section> findByLineId(Long lineId);
 
+    Mono<Boolean> existsByUpStationIdOrDownStationId(Long upStationId, Long downStationId);
+
     Mono<Void> deleteByLineId(Long id);
 }
@@ -1,24 +1,29 @@
 package nextstep.subway.line.ui;
 
+import nextstep.subway.common.cache.domain.JsonResponseCache;
+import nextstep.subway.config.web.ApiRepresentations;
 import nextstep.subway.line.application.LineService;
 import nextstep.subway.line.dto.LineRequest;
 import nextstep.subway.line.dto.LineResponse;
-import nextstep.subway.line.dto.LineSimpleResponse;
 import nextstep.subway.line.dto.SectionRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.net.URI;
-import java.util.List;
 
 @RequestMapping("/lines")
 @RestController
 public class LineController {
     private final LineService lineService;
+    private final JsonResponseCache jsonResponseCache;
 
-    public LineController(LineService lineService) {
+    public LineController(LineService lineService, JsonResponseCache jsonResponseCache) {
         this.lineService = lineService;
+        this.jsonResponseCache = jsonResponseCache;
     }
 
     @PostMapping
@@ -28,11 +33,22 @@ public class LineController {
                                 .body(lineResponse));
     }
 
+    /**
+     * JSON 은 캐시한 바이트를 그대로 쓰고, 다른 표현(Smile)은 코덱으로 인코딩한다.
+     */
     @GetMapping
-    public Mono<ResponseEntity<List<LineSimpleResponse>>> findAllLines() {
-        return lineService.findLineResponses()
-                .collectList()
-                .map(ResponseEntity::ok);
+    public Mono<ResponseEntity<?>> findAllLines(@RequestHeader HttpHeaders headers) {
+        if (!ApiRepresentations.isJson(headers)) {
+            return lineService.findLineResponses()
+                    .collectList()
+                    .map(body -> ResponseEntity.ok()
+                            .contentType(ApiRepresentations.select(headers))
+                            .body(body));
+        }
+        return jsonResponseCache.get(LineService.LINE_SIMPLE_RESPONSES, Flux.defer(lineService::findLineResponses))
+                .map(body -> ResponseEntity.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(body));
     }
 
     @GetMapping("/{id}")
@@ -4,33 +4,56 @@ import nextstep.subway.common.log.annotation.Loggable;
 import nextstep.subway.line.application.LineService;
 import nextstep.subway.map.dto.PathResponse;
 import nextstep.subway.map.dto.PathResponseAssembler;
+import nextstep.subway.station.application.StationIdFilter;
 import nextstep.subway.station.application.StationService;
+import nextstep.subway.station.domain.Station;
+import nextstep.subway.station.domain.StationNotFoundException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import reactor.core.publisher.Mono;
 
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 노선과 역 조회는 각 서비스의 읽기 전용 트랜잭션에서 하고, 경로 계산은 트랜잭션 밖에서 한다.
+ */
 @Service
-@Transactional(readOnly = true)
 public class MapService {
     private final LineService lineService;
     private final StationService stationService;
     private final PathService pathService;
+    private final StationIdFilter stationIdFilter;
 
-    public MapService(LineService lineService, StationService stationService, PathService pathService) {
+    public MapService(LineService lineService, StationService stationService, PathService pathService,
+                      StationIdFilter stationIdFilter) {
         this.lineService = lineService;
         this.stationService = stationService;
         this.pathService = pathService;
+        this.stationIdFilter = stationIdFilter;
     }
 
     // @formatter:off
     @Loggable(json = true)
     public Mono<PathResponse> findPath(Long source, Long target) {
-        return Mono.zip(lineService.findLines()
-                                .collectList(),
-                        stationService.findById(source),
-                        stationService.findById(target))
-                .flatMap(tuple -> pathService.findPath(tuple.getT1(), tuple.getT2(), tuple.getT3()))
+        return stationIdFilter.requireExisting(source, target)
+                .then(Mono.defer(() -> Mono.zip(lineService.findLines()
+                                                         .collectList(),
+                                                 stationService.findAllById(Stream.of(source, target)
+                                                                                    .collect(Collectors.toSet()))
+                                                         .collectMap(Station::getId, Function.identity()))))
+                .flatMap(tuple -> pathService.findPath(tuple.getT1(), getStation(tuple.getT2(), source),
+                                                       getStation(tuple.getT2(), target)))
                 .map(PathResponseAssembler::assemble);
     }
     // @formatter:on
+
+    private static Station getStation(Map<Long, Station> stations, Long id) {
+        Station station = stations.get(id);
+        if (station == null) {
+            throw new StationNotFoundException(id);
+        }
+        return station;
+    }
 }
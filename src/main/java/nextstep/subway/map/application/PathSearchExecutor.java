@@ -0,0 +1,122 @@
+package nextstep.subway.map.application;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+
+/**
+ * 경로 계산처럼 CPU 를 오래 쓰는 작업을 이벤트 루프 밖의 전용 스레드(기본은 CPU 코어 수)에서 실행한다.
+ * 스레드가 모두 바쁘면 queue-capacity 까지 대기하고, 넘으면 기다리지 않고 {@link PathSearchRejectedException} 으로 거절한다.
+ * 구독이 취소되면(클라이언트 연결 종료 등) 작업에 넘긴 취소 여부가 true 가 되고, 아직 시작하지 않은 작업은 실행하지 않는다.
+ * {@link ThreadPoolExecutor} 는 취소된 작업을 대기열에서 빼지 않으므로 취소되면 대기열을 정리해서 자리를 돌려준다.
+ */
+@Component
+public class PathSearchExecutor {
+    private static final String NAME = "path-search";
+
+    private final ThreadPoolExecutor executor;
+    private final Scheduler scheduler;
+    private final Timer queueTime;
+    private final Timer executionTime;
+    private final Counter rejected;
+    private final Counter cancelled;
+
+    // @formatter:off
+    public PathSearchExecutor(MeterRegistry meterRegistry,
+                              @Value("${path-search.threads:0}") int threads,
+                              @Value("${path-search.queue-capacity:100}") int queueCapacity) {
+        if (threads < 0 || queueCapacity < 1) {
+            throw new IllegalArgumentException("스레드 수는 0 이상, 대기열 크기는 1 이상이어야 합니다.");
+        }
+        int poolSize = threads == 0 ? Runtime.getRuntime().availableProcessors() : threads;
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                                               new ArrayBlockingQueue<>(queueCapacity), threadFactory(),
+                                               new ThreadPoolExecutor.AbortPolicy());
+        this.scheduler = Schedulers.fromExecutorService(executor, NAME);
+        this.queueTime = Timer.builder("path.search.queue")
+                .description("경로 계산 작업이 대기열에서 기다린 시간")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.executionTime = Timer.builder("path.search.execution")
+                .description("경로 계산 시간")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.rejected = Counter.builder("path.search.rejected")
+                .description("대기열이 가득 차서 거절한 경로 계산 수")
+                .register(meterRegistry);
+        this.cancelled = Counter.builder("path.search.cancelled")
+                .description("계산 중에 구독이 취소되어 중단한 경로 계산 수")
+                .register(meterRegistry);
+        Gauge.builder("path.search.queue.size", executor, e -> e.getQueue().size())
+                .register(meterRegistry);
+        Gauge.builder("path.search.active", executor, ThreadPoolExecutor::getActiveCount)
+                .register(meterRegistry);
+    }
+    // @formatter:on
+
+    @PreDestroy
+    public void dispose() {
+        scheduler.dispose();
+    }
+
+    // @formatter:off
+    public <T> Mono<T> execute(Function<BooleanSupplier, T> task) {
+        return Mono.defer(() -> {
+                    long submittedAt = System.nanoTime();
+                    return Mono.<T>create(sink -> {
+                                long startedAt = System.nanoTime();
+                                queueTime.record(startedAt - submittedAt, TimeUnit.NANOSECONDS);
+                                AtomicBoolean cancelRequested = new AtomicBoolean();
+                                sink.onCancel(() -> cancelRequested.set(true));
+                                try {
+                                    sink.success(task.apply(cancelRequested::get));
+                                } catch (CancellationException e) {
+                                    cancelled.increment();
+                                } catch (RuntimeException e) {
+                                    sink.error(e);
+                                } finally {
+                                    executionTime.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                                }
+                            })
+                            .subscribeOn(scheduler)
+                            .doFinally(signal -> {
+                                if (signal == SignalType.CANCEL) {
+                                    executor.purge();
+                                }
+                            });
+                })
+                .onErrorMap(RejectedExecutionException.class, e -> {
+                    rejected.increment();
+                    return new PathSearchRejectedException();
+                });
+    }
+    // @formatter:on
+
+    private static ThreadFactory threadFactory() {
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, NAME + "-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,12 @@
+package nextstep.subway.map.application;
+
+/**
+ * 경로 계산 대기열이 가득 차서 거절한 경우. 과부하 상태이므로 스택 트레이스를 만들지 않는다.
+ */
+public class PathSearchRejectedException extends RuntimeException {
+    private static final long serialVersionUID = 3319532937526425805L;
+
+    public PathSearchRejectedException() {
+        super("경로 계산 대기열이 가득 찼습니다.", null, false, false);
+    }
+}
@@ -1,6 +1,7 @@
 package nextstep.subway.map.application;
 
 import nextstep.subway.line.domain.Line;
+import nextstep.subway.map.domain.CancellableGraph;
 import nextstep.subway.map.domain.SectionEdge;
 import nextstep.subway.map.domain.SubwayGraph;
 import nextstep.subway.map.domain.SubwayPath;
@@ -8,24 +9,38 @@ import nextstep.subway.station.domain.Station;
 import org.jgrapht.GraphPath;
 import org.jgrapht.alg.shortestpath.DijkstraShortestPath;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import reactor.core.publisher.Mono;
 
 import java.util.List;
+import java.util.function.BooleanSupplier;
 
+/**
+ * 경로 계산은 DB 를 조회하지 않으므로 트랜잭션 없이 {@link PathSearchExecutor} 에서 실행한다.
+ * 트랜잭션 안에서 대기열을 기다리면 그동안 DB 커넥션을 잡고 있게 된다.
+ */
 @Service
-@Transactional(readOnly = true)
 public class PathService {
+    private final PathSearchExecutor pathSearchExecutor;
+
+    public PathService(PathSearchExecutor pathSearchExecutor) {
+        this.pathSearchExecutor = pathSearchExecutor;
+    }
+
     public Mono<SubwayPath> findPath(List<Line> lines, Station source, Station target) {
+        return pathSearchExecutor.execute(cancelled -> search(lines, source, target, cancelled));
+    }
+
+    private SubwayPath search(List<Line> lines, Station source, Station target, BooleanSupplier cancelled) {
         SubwayGraph graph = new SubwayGraph(SectionEdge.class);
         graph.addVertexWith(lines);
         graph.addEdge(lines);
 
         // 다익스트라 최단 경로 찾기
-        DijkstraShortestPath<Station, SectionEdge> dijkstraShortestPath = new DijkstraShortestPath<>(graph);
+        DijkstraShortestPath<Station, SectionEdge> dijkstraShortestPath =
+                new DijkstraShortestPath<>(new CancellableGraph<>(graph, cancelled));
         GraphPath<Station, SectionEdge> path = dijkstraShortestPath.getPath(source, target);
 
-        return Mono.just(convertSubwayPath(path));
+        return convertSubwayPath(path);
     }
 
     private SubwayPath convertSubwayPath(GraphPath<Station, SectionEdge> graphPath) {
@@ -0,0 +1,30 @@
+package nextstep.subway.map.domain;
+
+import org.jgrapht.Graph;
+import org.jgrapht.graph.GraphDelegator;
+
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.function.BooleanSupplier;
+
+/**
+ * 최단 경로 탐색이 정점마다 인접 간선을 조회할 때 취소 여부를 확인해서, 취소되면 탐색을 중단한다.
+ */
+public class CancellableGraph<V, E> extends GraphDelegator<V, E> {
+    private static final long serialVersionUID = -6483371046658052093L;
+
+    private final transient BooleanSupplier cancelled;
+
+    public CancellableGraph(Graph<V, E> graph, BooleanSupplier cancelled) {
+        super(graph);
+        this.cancelled = cancelled;
+    }
+
+    @Override
+    public Set<E> edgesOf(V vertex) {
+        if (cancelled.getAsBoolean()) {
+            throw new CancellationException("경로 탐색이 취소되었습니다.");
+        }
+        return super.edgesOf(vertex);
+    }
+}
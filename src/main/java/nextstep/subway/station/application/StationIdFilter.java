@@ -0,0 +1,196 @@
+package nextstep.subway.station.application;
+
+import lombok.extern.slf4j.Slf4j;
+import nextstep.subway.common.cache.domain.CacheGenerationRepository;
+import nextstep.subway.common.cache.domain.LongBloomFilter;
+import nextstep.subway.station.domain.Station;
+import nextstep.subway.station.domain.StationNotFoundException;
+import nextstep.subway.station.domain.StationRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 존재하는 역 id 의 블룸 필터
+ * 필터에 없는 역 id 는 DB 에서 확인해서, 없으면 거절하고 있으면 필터에 넣는다.
+ * 다른 인스턴스에서 추가된 역은 알림을 받아 필터를 다시 만들기 전까지 필터에 없을 수 있기 때문이다.
+ * DB 에도 없던 id 는 negative-ttl 동안 기억해서 같은 id 를 다시 받으면 I/O 없이 거절한다.
+ * 역이 추가/삭제되면 "station-ids" 세대 번호 변경으로 모든 인스턴스에 알리고, 알림을 받을 때마다 DB 에서 다시 만든다.
+ * 다시 만드는 동안 추가된 역은 새 필터에도 넣는다.
+ * 필터를 만들기 전에는 모든 id 를 통과시킨다.
+ */
+@Slf4j
+@Component
+public class StationIdFilter {
+    private static final String STATION_IDS = "station-ids";
+    private static final int MIN_EXPECTED_SIZE = 1024;
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+    private static final int MAX_ABSENT_IDS = 10_000;
+
+    private final StationRepository stationRepository;
+    private final CacheGenerationRepository cacheGenerationRepository;
+    private final Set<Long> addedIds = ConcurrentHashMap.newKeySet();
+    private final Map<Long, Long> absentIds = new ConcurrentHashMap<>();
+    private final long negativeTtlNanos;
+    private volatile LongBloomFilter filter;
+    private Disposable subscription;
+
+    public StationIdFilter(StationRepository stationRepository, CacheGenerationRepository cacheGenerationRepository,
+                           @Value("${reactive-cache.negative-ttl:30s}") Duration negativeTtl) {
+        this.stationRepository = stationRepository;
+        this.cacheGenerationRepository = cacheGenerationRepository;
+        this.negativeTtlNanos = negativeTtl.toNanos();
+    }
+
+    // @formatter:off
+    @EventListener(ApplicationReadyEvent.class)
+    public void subscribe() {
+        subscription = cacheGenerationRepository.changes()
+                .filter(STATION_IDS::equals)
+                .startWith(STATION_IDS)
+                .switchMap(cacheName -> rebuild().onErrorResume(throwable -> {
+                    log.warn("station id filter rebuild failed", throwable);
+                    return Mono.empty();
+                }))
+                .subscribe();
+    }
+    // @formatter:on
+
+    @PreDestroy
+    public void dispose() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+
+    public boolean mightContain(Long id) {
+        if (id == null) {
+            return false;
+        }
+        LongBloomFilter current = filter;
+        return current == null || current.mightContain(id);
+    }
+
+    /**
+     * 필터에 없는 id 가 DB 에도 없으면 {@link StationNotFoundException} 으로 실패한다.
+     */
+    public Mono<Void> requireExisting(Long... ids) {
+        List<Long> uncertainIds = new ArrayList<>();
+        long now = System.nanoTime();
+        for (Long id : ids) {
+            if (id == null || isKnownAbsent(id, now)) {
+                return Mono.error(new StationNotFoundException(id));
+            }
+            if (!mightContain(id)) {
+                uncertainIds.add(id);
+            }
+        }
+        return Flux.fromIterable(uncertainIds)
+                .concatMap(this::confirmExisting)
+                .then();
+    }
+
+    /**
+     * 다른 인스턴스도 필터를 다시 만들게 한다.
+     */
+    // @formatter:off
+    public Mono<Void> publishChange() {
+        return cacheGenerationRepository.increment(List.of(STATION_IDS))
+                .onErrorResume(throwable -> {
+                    log.warn("station id filter change publish failed", throwable);
+                    return Mono.empty();
+                });
+    }
+    // @formatter:on
+
+    public void add(Long id) {
+        absentIds.remove(id);
+        addedIds.add(id);
+        LongBloomFilter current = filter;
+        if (current != null) {
+            current.add(id);
+        }
+    }
+
+    public void remove(Long id) {
+        addedIds.remove(id);
+    }
+
+    // @formatter:off
+    private Mono<Void> confirmExisting(Long id) {
+        return stationRepository.existsById(id)
+                .flatMap(exists -> {
+                    if (!exists) {
+                        markAbsent(id, System.nanoTime());
+                        return Mono.error(new StationNotFoundException(id));
+                    }
+                    add(id);
+                    return Mono.empty();
+                });
+    }
+    // @formatter:on
+
+    private boolean isKnownAbsent(Long id, long now) {
+        Long expiresAt = absentIds.get(id);
+        if (expiresAt == null) {
+            return false;
+        }
+        if (now - expiresAt > 0) {
+            absentIds.remove(id, expiresAt);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * 가득 차면 기간이 지난 id 를 정리하고, 그래도 자리가 없으면 기억하지 않는다.
+     */
+    private void markAbsent(Long id, long now) {
+        if (negativeTtlNanos <= 0) {
+            return;
+        }
+        if (absentIds.size() >= MAX_ABSENT_IDS) {
+            absentIds.values()
+                    .removeIf(expiresAt -> now - expiresAt > 0);
+        }
+        if (absentIds.size() < MAX_ABSENT_IDS) {
+            absentIds.put(id, now + negativeTtlNanos);
+        }
+    }
+
+    // @formatter:off
+    private Mono<Void> rebuild() {
+        return stationRepository.findAll()
+                .map(Station::getId)
+                .collectList()
+                .doOnNext(this::rebuild)
+                .then();
+    }
+    // @formatter:on
+
+    private void rebuild(List<Long> ids) {
+        LongBloomFilter rebuilt = LongBloomFilter.of(Math.max(ids.size() * 2, MIN_EXPECTED_SIZE),
+                                                     FALSE_POSITIVE_RATE);
+        ids.forEach(rebuilt::add);
+        addedIds.forEach(rebuilt::add);
+        filter = rebuilt;
+        // 다른 인스턴스에서 추가된 역일 수 있으므로 없다고 기억한 id 를 잊는다.
+        absentIds.clear();
+        // 교체 직전에 이전 필터에만 추가된 id 를 옮기고, DB 에서 확인된 id 는 더 추적하지 않는다.
+        addedIds.forEach(rebuilt::add);
+        ids.forEach(addedIds::remove);
+        log.debug("station id filter rebuilt: {}", ids.size());
+    }
+}
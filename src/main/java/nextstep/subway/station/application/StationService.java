@@ -1,9 +1,12 @@
 package nextstep.subway.station.application;
 
-import nextstep.subway.common.cache.annotation.ReactiveCacheEvict;
 import nextstep.subway.common.cache.annotation.ReactiveCacheable;
-import nextstep.subway.common.cache.annotation.ReactiveCaching;
+import nextstep.subway.common.cache.annotation.ReactiveCacheableAll;
+import nextstep.subway.common.cache.domain.ReactiveCacheTemplate;
+import nextstep.subway.line.domain.SectionRepository;
 import nextstep.subway.station.domain.Station;
+import nextstep.subway.station.domain.StationFinder;
+import nextstep.subway.station.domain.StationNotFoundException;
 import nextstep.subway.station.domain.StationRepository;
 import nextstep.subway.station.dto.StationRequest;
 import nextstep.subway.station.dto.StationResponse;
@@ -13,28 +16,60 @@ import org.springframework.transaction.annotation.Transactional;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
 import java.util.Set;
 
 @Service
 @Transactional(readOnly = true)
-public class StationService {
+public class StationService implements StationFinder {
+    private static final String STATION = "station";
+    private static final String STATIONS = "stations";
+    public static final String STATION_RESPONSES = "station-responses";
+    private static final String LINES = "lines";
+    private static final String STATIONS_VERSION = "stations-version";
+    private static final String NETWORK_VERSION = "network-version";
+
     private final StationRepository stationRepository;
+    private final SectionRepository sectionRepository;
+    private final StationIdFilter stationIdFilter;
+    private final ReactiveCacheTemplate reactiveCacheTemplate;
 
-    public StationService(StationRepository stationRepository) {
+    public StationService(StationRepository stationRepository, SectionRepository sectionRepository,
+                          StationIdFilter stationIdFilter, ReactiveCacheTemplate reactiveCacheTemplate) {
         this.stationRepository = stationRepository;
+        this.sectionRepository = sectionRepository;
+        this.stationIdFilter = stationIdFilter;
+        this.reactiveCacheTemplate = reactiveCacheTemplate;
     }
 
     // @formatter:off
-    @ReactiveCacheEvict(value = {"station-responses", "stations", "lines", "line-simple-responses"})
     @Transactional
     public Mono<StationResponse> saveStation(StationRequest stationRequest) {
         return stationRepository.save(stationRequest.toStation())
                 .onErrorMap(RuntimeException::new)
                 .onErrorResume(throwable -> Mono.defer(() -> Mono.error(throwable)))
+                .doOnNext(station -> stationIdFilter.add(station.getId()))
+                .flatMap(station -> reactiveCacheTemplate.afterCommit(cacheSaved(station))
+                        .thenReturn(station))
                 .map(StationResponse::of);
     }
     // @formatter:on
 
+    /**
+     * 새 역은 아직 구간에 없으므로 노선 캐시는 그대로 두고, 역 캐시와 역 목록 캐시에만 추가한다.
+     * 역 목록의 버전 번호(ETag)는 목록 캐시를 고친 뒤에 올려야 새 버전으로 이전 목록을 응답하지 않는다.
+     */
+    // @formatter:off
+    private Mono<Void> cacheSaved(Station station) {
+        return Mono.when(reactiveCacheTemplate.put(STATION, station.getId(), station),
+                         reactiveCacheTemplate.append(STATIONS, station, Station.class),
+                         reactiveCacheTemplate.append(STATION_RESPONSES, StationResponse.of(station),
+                                                      StationResponse.class),
+                         stationIdFilter.publishChange())
+                .then(reactiveCacheTemplate.evict(List.of(STATIONS_VERSION)));
+    }
+    // @formatter:on
+
     @ReactiveCacheable("station-responses")
     public Flux<StationResponse> findAllStations() {
         return findAll()
@@ -46,12 +81,16 @@ public class StationService {
         return stationRepository.findAll();
     }
 
+    /**
+     * 없는 역은 비어 있는 결과를 짧게 캐시하므로 호출하는 쪽에서 {@link StationNotFoundException} 으로 바꾼다.
+     */
     @ReactiveCacheable(value = "station", key = "#id")
     public Mono<Station> findById(Long id) {
-        return stationRepository.findById(id)
-                .switchIfEmpty(Mono.defer(() -> Mono.error(new RuntimeException())));
+        return stationRepository.findById(id);
     }
 
+    @Override
+    @ReactiveCacheableAll(value = "station", key = "#stationIds", elementKey = "id")
     public Flux<Station> findAllById(Set<Long> stationIds) {
         return stationRepository.findAllById(stationIds);
     }
@@ -61,10 +100,28 @@ public class StationService {
                 .map(StationResponse::of);
     }
 
-    @ReactiveCaching(evict = {@ReactiveCacheEvict(value = {"station-responses", "stations", "lines", "line-simple-responses"}),
-                    @ReactiveCacheEvict(value = "station", key = "#id")})
+    // @formatter:off
     @Transactional
     public Mono<Void> deleteStationById(Long id) {
-        return stationRepository.deleteById(id);
+        return sectionRepository.existsByUpStationIdOrDownStationId(id, id)
+                .flatMap(inSection -> stationRepository.deleteById(id)
+                        .then(reactiveCacheTemplate.afterCommit(cacheDeleted(id, inSection))))
+                .doOnSuccess(v -> stationIdFilter.remove(id));
     }
+    // @formatter:on
+
+    /**
+     * 역 목록 캐시에서 역을 지우고, 노선 캐시와 노선도 버전 번호는 역이 구간에 있을 때만 무효화한다.
+     */
+    // @formatter:off
+    private Mono<Void> cacheDeleted(Long id, boolean inSection) {
+        return Mono.when(reactiveCacheTemplate.evict(STATION, id),
+                         reactiveCacheTemplate.removeIf(STATIONS, station -> id.equals(station.getId()), Station.class),
+                         reactiveCacheTemplate.removeIf(STATION_RESPONSES, response -> id.equals(response.getId()),
+                                                        StationResponse.class),
+                         inSection ? reactiveCacheTemplate.evict(List.of(LINES, NETWORK_VERSION)) : Mono.empty(),
+                         stationIdFilter.publishChange())
+                .then(reactiveCacheTemplate.evict(List.of(STATIONS_VERSION)));
+    }
+    // @formatter:on
 }
@@ -0,0 +1,12 @@
+package nextstep.subway.station.domain;
+
+import reactor.core.publisher.Flux;
+
+import java.util.Set;
+
+/**
+ * 다른 도메인이 역을 조회할 때 사용한다. 구현체는 역 캐시를 거쳐서 조회한다.
+ */
+public interface StationFinder {
+    Flux<Station> findAllById(Set<Long> stationIds);
+}
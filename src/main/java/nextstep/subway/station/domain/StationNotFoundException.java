@@ -0,0 +1,12 @@
+package nextstep.subway.station.domain;
+
+/**
+ * 없는 역 조회는 잘못된 요청이므로 스택 트레이스를 만들지 않는다.
+ */
+public class StationNotFoundException extends RuntimeException {
+    private static final long serialVersionUID = -2365012870935541745L;
+
+    public StationNotFoundException(Long id) {
+        super(String.format("존재하지 않는 역입니다. id: %s", id), null, false, false);
+    }
+}
@@ -1,15 +1,20 @@
 package nextstep.subway.station.handler;
 
+import nextstep.subway.common.cache.domain.JsonResponseCache;
 import nextstep.subway.common.request.RequestConverter;
 import nextstep.subway.common.request.RequestValidator;
+import nextstep.subway.config.web.ApiRepresentations;
 import nextstep.subway.station.application.StationService;
 import nextstep.subway.station.dto.StationRequest;
 import nextstep.subway.station.dto.StationResponse;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.BodyInserters;
 import org.springframework.web.reactive.function.server.ServerRequest;
 import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.net.URI;
@@ -19,12 +24,14 @@ public class StationHandler {
     private final StationService stationService;
     private final RequestValidator requestValidator;
     private final RequestConverter requestConverter;
+    private final JsonResponseCache jsonResponseCache;
 
     public StationHandler(StationService stationService, RequestValidator requestValidator,
-                          RequestConverter requestConverter) {
+                          RequestConverter requestConverter, JsonResponseCache jsonResponseCache) {
         this.stationService = stationService;
         this.requestValidator = requestValidator;
         this.requestConverter = requestConverter;
+        this.jsonResponseCache = jsonResponseCache;
     }
 
     // @formatter:off
@@ -38,10 +45,24 @@ public class StationHandler {
     }
     // @formatter:on
 
-    public Mono<ServerResponse> showStations() {
+    /**
+     * JSON 은 캐시한 바이트를 그대로 쓰고, 다른 표현(Smile)은 코덱으로 인코딩한다.
+     */
+    // @formatter:off
+    public Mono<ServerResponse> showStations(ServerRequest request) {
+        HttpHeaders headers = request.headers()
+                .asHttpHeaders();
+        if (!ApiRepresentations.isJson(headers)) {
+            return ServerResponse.ok()
+                    .contentType(ApiRepresentations.select(headers))
+                    .body(stationService.findAllStations(), StationResponse.class);
+        }
         return ServerResponse.ok()
-                .body(stationService.findAllStations(), StationResponse.class);
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(jsonResponseCache.get(StationService.STATION_RESPONSES,
+                                            Flux.defer(stationService::findAllStations)), byte[].class);
     }
+    // @formatter:on
 
     // @formatter:off
     public Mono<ServerResponse> pagingStations(ServerRequest request) {
@@ -10,12 +10,17 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
 import reactor.test.StepVerifier;
 
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -43,6 +48,84 @@ class StaticResourcesTest extends AcceptanceTest {
         css();
     }
 
+    /**
+     * When 메인 페이지를 요청하면
+     * Then 자바스크립트 경로에 내용 해시가 들어가 있다.
+     * When 내용 해시가 들어간 경로를 요청하면
+     * Then 응답 상태 코드가 200 OK, 1년 동안 다시 검증하지 않는 캐시 설정, 바디가 전송된다.
+     */
+    @DisplayName("내용 해시가 들어간 정적 자원 테스트")
+    @Test
+    void fingerprintedResource() {
+        // when
+        String indexHtml = webClient().get()
+                .uri("/")
+                .accept(MediaType.TEXT_HTML)
+                .retrieve()
+                .bodyToMono(String.class)
+                .block();
+
+        // then
+        Matcher matcher = Pattern.compile("/js/main\\.[0-9a-f]{32}\\.js").matcher(indexHtml);
+        assertThat(matcher.find()).isTrue();
+
+        // when
+        Mono<ResponseEntity<String>> javascriptResponse = webClient().get()
+                .uri(matcher.group())
+                .exchangeToMono(clientResponse -> clientResponse.toEntity(String.class));
+
+        // then
+        StepVerifier.create(javascriptResponse)
+                .assertNext(r -> {
+                    assertThat(r.getStatusCode()).isEqualTo(HttpStatus.OK);
+                    assertThat(r.getHeaders().getFirst(HttpHeaders.CACHE_CONTROL)).isEqualTo("max-age=31536000, public, immutable");
+                    assertThat(r.getBody()).isNotBlank();
+                })
+                .verifyComplete();
+    }
+
+    /**
+     * When gzip 을 허용하는 요청으로 javascript 정적 자원을 요청하면
+     * Then 미리 만든 gzip 압축본과 압축본의 ETag, Vary 헤더가 응답된다.
+     * When 압축을 허용하지 않는 요청으로 요청하면
+     * Then 원본과 원본의 ETag 가 응답된다.
+     */
+    @DisplayName("미리 압축한 정적 자원 테스트")
+    @Test
+    void precompressedResource() {
+        // when
+        ResponseEntity<byte[]> gzipResponse = uncompressedWebClient().get()
+                .uri("/js/main.js")
+                .header(HttpHeaders.ACCEPT_ENCODING, "br;q=0, gzip")
+                .exchangeToMono(clientResponse -> clientResponse.toEntity(byte[].class))
+                .block();
+
+        // then
+        assertThat(gzipResponse.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(gzipResponse.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(gzipResponse.getHeaders().getVary()).contains(HttpHeaders.ACCEPT_ENCODING);
+        assertThat(gzipResponse.getHeaders().getETag()).endsWith("-gzip\"");
+
+        // when
+        ResponseEntity<byte[]> identityResponse = uncompressedWebClient().get()
+                .uri("/js/main.js")
+                .exchangeToMono(clientResponse -> clientResponse.toEntity(byte[].class))
+                .block();
+
+        // then
+        assertThat(identityResponse.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(identityResponse.getHeaders().getETag()).doesNotEndWith("-gzip\"");
+        assertThat(identityResponse.getBody()).hasSizeGreaterThan(gzipResponse.getBody().length);
+    }
+
+    private WebClient uncompressedWebClient() {
+        return WebClient.builder()
+                .baseUrl("http://localhost:" + port)
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create()))
+                .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(-1))
+                .build();
+    }
+
     private void javascript() {
         // when
         Mono<ResponseEntity<String>> javascriptResponse = webClient().get()
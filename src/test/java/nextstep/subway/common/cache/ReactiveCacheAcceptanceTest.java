@@ -0,0 +1,110 @@
+package nextstep.subway.common.cache;
+
+import nextstep.subway.AcceptanceTest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("캐시 관리 기능")
+class ReactiveCacheAcceptanceTest extends AcceptanceTest {
+    private static final String CACHE_NAME = "station-responses";
+    private static final ParameterizedTypeReference<Map<String, Object>> MAP_TYPE =
+            new ParameterizedTypeReference<>() {
+            };
+
+    @Value("${local.management.port}")
+    private int managementPort;
+
+    @DisplayName("캐시 통계를 조회하고 캐시를 갱신, 무효화한다.")
+    @Test
+    void manageCache() {
+        // given
+        지하철역_등록되어_있음("강남역");
+        지하철역_목록_조회됨();
+
+        // when
+        Mono<ResponseEntity<Map<String, Object>>> stats = 캐시_요청(HttpMethod.GET, "");
+
+        // then
+        StepVerifier.create(stats)
+                .assertNext(response -> {
+                    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+                    assertThat(response.getBody()).containsKey(CACHE_NAME);
+                })
+                .verifyComplete();
+
+        // when
+        Mono<ResponseEntity<Map<String, Object>>> refresh = 캐시_요청(HttpMethod.POST, "/" + CACHE_NAME);
+
+        // then
+        StepVerifier.create(refresh)
+                .assertNext(response -> {
+                    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+                    assertThat(response.getBody()).containsEntry("loaders", 1)
+                            .containsEntry("loaded", 1);
+                })
+                .verifyComplete();
+
+        // when
+        Mono<ResponseEntity<Map<String, Object>>> size = 캐시_요청(HttpMethod.GET, "/" + CACHE_NAME);
+
+        // then
+        StepVerifier.create(size)
+                .assertNext(response -> assertThat(response.getBody()).containsKeys("key", "generation", "bytes"))
+                .verifyComplete();
+
+        // when
+        Mono<ResponseEntity<Map<String, Object>>> evict = 캐시_요청(HttpMethod.DELETE, "/" + CACHE_NAME);
+
+        // then
+        StepVerifier.create(evict)
+                .assertNext(response -> {
+                    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+                    assertThat(response.getBody()).containsEntry("cache", CACHE_NAME);
+                })
+                .verifyComplete();
+    }
+
+    @DisplayName("캐시 관리 endpoint 는 서비스 포트에 노출하지 않는다.")
+    @Test
+    void notExposedOnServerPort() {
+        // when
+        Mono<ResponseEntity<Void>> evict = webClient().delete()
+                .uri("/actuator/reactivecache/" + CACHE_NAME)
+                .exchangeToMono(ClientResponse::toBodilessEntity);
+
+        // then
+        StepVerifier.create(evict)
+                .assertNext(response -> assertThat(response.getStatusCode().is4xxClientError()).isTrue())
+                .verifyComplete();
+    }
+
+    private void 지하철역_목록_조회됨() {
+        webClient().get()
+                .uri("/stations")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchangeToMono(ClientResponse::toBodilessEntity)
+                .block();
+    }
+
+    private Mono<ResponseEntity<Map<String, Object>>> 캐시_요청(HttpMethod method, String path) {
+        return WebClient.create("http://localhost:" + managementPort)
+                .method(method)
+                .uri("/actuator/reactivecache" + path)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchangeToMono(clientResponse -> clientResponse.toEntity(MAP_TYPE));
+    }
+}
@@ -0,0 +1,172 @@
+package nextstep.subway.common.cache.codec;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import nextstep.subway.config.cache.ReactiveCacheConfig;
+import nextstep.subway.config.mapper.ObjectMapperConfig;
+import nextstep.subway.line.domain.Line;
+import nextstep.subway.line.domain.NetworkSnapshot;
+import nextstep.subway.line.domain.Section;
+import nextstep.subway.station.domain.Station;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("캐시 코덱 payload 크기, 디코딩 시간 비교 (시간 비교는 benchmarkTest 에서만 실행)")
+class CacheCodecBenchmarkTest {
+    private static final int LINE_COUNT = 9;
+    private static final int STATION_COUNT_PER_LINE = 40;
+    private static final int WARM_UP = 200;
+    private static final int ITERATIONS = 500;
+    private static final String BENCHMARK = "benchmark";
+
+    private ObjectMapper objectMapper;
+    private CacheCodec jsonCodec;
+    private CacheCodec smileCodec;
+    private JavaType linesType;
+    private JavaType networkType;
+    private List<Line> lines;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapperConfig().objectMapper();
+        jsonCodec = new ReactiveCacheConfig().cacheCodec("json", objectMapper);
+        smileCodec = new ReactiveCacheConfig().cacheCodec("smile", objectMapper);
+        linesType = objectMapper.getTypeFactory().constructCollectionType(List.class, Line.class);
+        networkType = objectMapper.getTypeFactory().constructType(NetworkSnapshot.class);
+        lines = createLines();
+    }
+
+    @DisplayName("lines 캐시 엔트리는 Smile 이 JSON 보다 작고 두 코덱 모두 같은 값으로 디코딩한다.")
+    @Test
+    void lines() throws JsonProcessingException {
+        String jsonString = objectMapper.writeValueAsString(lines);
+        byte[] json = jsonCodec.encode(lines);
+        byte[] smile = smileCodec.encode(lines);
+
+        assertThat(smile.length).isLessThan(json.length);
+        assertThat(jsonCodec.<List<Line>>decode(json, linesType)).isEqualTo(lines);
+        assertThat(smileCodec.<List<Line>>decode(smile, linesType)).isEqualTo(lines);
+        assertThat(legacyDecode(jsonString)).isEqualTo(lines);
+    }
+
+    @DisplayName("정규화된 노선도 스냅샷은 lines 캐시 엔트리보다 작고 같은 노선으로 복원한다.")
+    @Test
+    void network() {
+        byte[] lineBytes = smileCodec.encode(lines);
+        byte[] networkBytes = smileCodec.encode(NetworkSnapshot.of(lines));
+
+        assertThat(networkBytes.length).isLessThan(lineBytes.length);
+        assertThat(smileCodec.<NetworkSnapshot>decode(networkBytes, networkType).toLines()).isEqualTo(lines);
+    }
+
+    /**
+     * "lines" 캐시 엔트리 기준
+     * 기존 방식: JSON 문자열 -> Object 트리 -> convertValue
+     * 변경 방식: bytes -> 대상 타입으로 바로 디코딩
+     */
+    @DisplayName("lines 캐시 엔트리의 디코딩 시간을 JSON, Smile 코덱으로 비교한다.")
+    @Tag(BENCHMARK)
+    @Test
+    void linesDecodeTime() throws JsonProcessingException {
+        String jsonString = objectMapper.writeValueAsString(lines);
+        byte[] json = jsonCodec.encode(lines);
+        byte[] smile = smileCodec.encode(lines);
+
+        double legacyNanos = measure(() -> legacyDecode(jsonString));
+        double jsonNanos = measure(() -> jsonCodec.decode(json, linesType));
+        double smileNanos = measure(() -> smileCodec.decode(smile, linesType));
+
+        System.out.printf("[lines] legacy json: %d bytes, %.1f us%n",
+                          jsonString.getBytes(StandardCharsets.UTF_8).length, legacyNanos / 1_000);
+        System.out.printf("[lines] json codec : %d bytes, %.1f us%n", json.length, jsonNanos / 1_000);
+        System.out.printf("[lines] smile codec: %d bytes, %.1f us%n", smile.length, smileNanos / 1_000);
+    }
+
+    @DisplayName("lines 캐시 엔트리와 정규화된 노선도 스냅샷의 디코딩 시간을 비교한다.")
+    @Tag(BENCHMARK)
+    @Test
+    void networkDecodeTime() {
+        byte[] lineBytes = smileCodec.encode(lines);
+        byte[] networkBytes = smileCodec.encode(NetworkSnapshot.of(lines));
+
+        double lineNanos = measure(() -> smileCodec.decode(lineBytes, linesType));
+        double networkNanos = measure(() -> smileCodec.<NetworkSnapshot>decode(networkBytes, networkType).toLines());
+
+        System.out.printf("[lines] smile lines   : %d bytes, %.1f us%n", lineBytes.length, lineNanos / 1_000);
+        System.out.printf("[lines] smile network : %d bytes, %.1f us%n", networkBytes.length, networkNanos / 1_000);
+    }
+
+    private List<Line> legacyDecode(String jsonString) {
+        try {
+            List<?> data = objectMapper.readValue(jsonString, new TypeReference<>() {
+            });
+            return data.stream()
+                    .map(item -> objectMapper.convertValue(item, Line.class))
+                    .collect(Collectors.toList());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static double measure(Supplier<?> decode) {
+        for (int i = 0; i < WARM_UP; i++) {
+            decode.get();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            decode.get();
+        }
+        return (System.nanoTime() - start) / (double) ITERATIONS;
+    }
+
+    private static List<Line> createLines() {
+        List<Station> transferStations = new ArrayList<>();
+        for (int i = 0; i < STATION_COUNT_PER_LINE; i++) {
+            transferStations.add(station((long) i + 1, "환승역" + i));
+        }
+
+        List<Line> lines = new ArrayList<>();
+        long stationId = STATION_COUNT_PER_LINE;
+        long sectionId = 0;
+        for (long lineId = 1; lineId <= LINE_COUNT; lineId++) {
+            Line line = new Line(lineId + "호선", "bg-red-600");
+            ReflectionTestUtils.setField(line, "id", lineId);
+            List<Section> sections = new ArrayList<>();
+            Station upStation = station(++stationId, lineId + "호선 기점");
+            for (int i = 0; i < STATION_COUNT_PER_LINE; i++) {
+                Station downStation = i % 5 == 0 ? transferStations.get(i)
+                        : station(++stationId, lineId + "호선역" + i);
+                sections.add(Section.builder()
+                                     .id(++sectionId)
+                                     .line(line)
+                                     .upStation(upStation)
+                                     .downStation(downStation)
+                                     .distance(i + 1)
+                                     .build());
+                upStation = downStation;
+            }
+            ReflectionTestUtils.setField(line, "sections", sections);
+            lines.add(line);
+        }
+        return lines;
+    }
+
+    private static Station station(Long id, String name) {
+        Station station = new Station(name);
+        ReflectionTestUtils.setField(station, "id", id);
+        return station;
+    }
+}
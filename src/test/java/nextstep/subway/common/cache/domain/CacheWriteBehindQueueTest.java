@@ -0,0 +1,95 @@
+package nextstep.subway.common.cache.domain;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import nextstep.subway.common.cache.metrics.ReactiveCacheMetrics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("캐시 쓰기 큐 테스트")
+class CacheWriteBehindQueueTest {
+    private static final Duration TTL = Duration.ofMinutes(1);
+
+    private final Map<String, Object> store = new ConcurrentHashMap<>();
+    private final List<List<String>> batches = new ArrayList<>();
+    private final ReactiveCacheMetrics metrics = new ReactiveCacheMetrics(new SimpleMeterRegistry());
+    private Sinks.Empty<Void> redis = Sinks.empty();
+
+    @DisplayName("쓰는 중에 들어온 같은 키의 저장은 마지막 값만 쓰고, 큐 크기를 넘는 새 키는 버린다.")
+    @Test
+    void coalesceAndDrop() {
+        // given
+        CacheWriteBehindQueue queue = new CacheWriteBehindQueue(new SlowCacheRepository(), metrics, 2, 10,
+                                                                Schedulers.immediate());
+        queue.offer("lines", "lines:g0", 0, TTL);
+
+        // when
+        queue.offer("lines", "lines:g0", 1, TTL);
+        queue.offer("lines", "lines:g0", 2, TTL);
+        queue.offer("stations", "stations:g0", 3, TTL);
+        boolean accepted = queue.offer("station", "station:g0:1", 4, TTL);
+        Sinks.Empty<Void> first = redis;
+        redis = Sinks.empty();
+        first.tryEmitEmpty();
+
+        // then
+        assertThat(accepted).isFalse();
+        assertThat(batches).containsExactly(List.of("lines:g0"), List.of("lines:g0", "stations:g0"));
+        assertThat(store).containsEntry("lines:g0", 2);
+        assertThat(metrics.stats()
+                           .get("lines")).containsEntry("writeCoalesces", 1L);
+        assertThat(metrics.stats()
+                           .get("station")).containsEntry("writeDrops", 1L);
+    }
+
+    @DisplayName("쓰는 중인 키를 취소하면 배치를 다 쓴 뒤에 다시 삭제한다.")
+    @Test
+    void removeWhileWriting() {
+        // given
+        CacheWriteBehindQueue queue = new CacheWriteBehindQueue(new SlowCacheRepository(), metrics, 10, 10,
+                                                                Schedulers.immediate());
+        queue.offer("lines", "lines:g0", 0, TTL);
+        queue.offer("stations", "stations:g0", 1, TTL);
+
+        // when
+        queue.remove("lines:g0");
+        store.remove("lines:g0");
+        // 삭제보다 늦게 도착한 저장
+        store.put("lines:g0", 0);
+        Sinks.Empty<Void> first = redis;
+        redis = Sinks.empty();
+        first.tryEmitEmpty();
+        redis.tryEmitEmpty();
+
+        // then
+        assertThat(batches).containsExactly(List.of("lines:g0"), List.of("stations:g0"));
+        assertThat(store).doesNotContainKey("lines:g0")
+                .containsEntry("stations:g0", 1);
+    }
+
+    /**
+     * 저장 요청은 바로 반영하지만, 완료 신호는 테스트가 보낼 때까지 미룬다.
+     */
+    private class SlowCacheRepository extends MapCacheRepository {
+        private SlowCacheRepository() {
+            super(store);
+        }
+
+        @Override
+        public Mono<Void> multiPut(Map<String, Object> values, Duration timeout) {
+            batches.add(new ArrayList<>(values.keySet()));
+            return super.multiPut(values, timeout)
+                    .then(redis.asMono());
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package nextstep.subway.common.cache.domain;
+
+import com.fasterxml.jackson.databind.JavaType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import nextstep.subway.common.cache.metrics.ReactiveCacheMetrics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.test.StepVerifier;
+import reactor.test.scheduler.VirtualTimeScheduler;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("캐시 저장소 회로 차단기 테스트")
+class CircuitBreakerCacheRepositoryTest {
+    private static final String KEY = "numbers:g0";
+    private static final Duration OPEN_DURATION = Duration.ofSeconds(5);
+    private static final Duration SLOW_CALL = Duration.ofMillis(60);
+
+    private final VirtualTimeScheduler scheduler = VirtualTimeScheduler.create();
+    private final FlakyCacheRepository flakyCacheRepository = new FlakyCacheRepository(scheduler);
+    private final CircuitBreakerCacheRepository<Object> cacheRepository = new CircuitBreakerCacheRepository<>(
+            flakyCacheRepository, new ReactiveCacheMetrics(new SimpleMeterRegistry()), Duration.ofMillis(100),
+            Duration.ofSeconds(1), Duration.ofMillis(50), 2, OPEN_DURATION, scheduler);
+
+    @DisplayName("연속으로 실패하면 회로를 열고 저장소를 호출하지 않는다.")
+    @Test
+    void open() {
+        // given
+        flakyCacheRepository.down = true;
+        get().verifyError(RedisConnectionFailureException.class);
+        get().verifyError(RedisConnectionFailureException.class);
+
+        // when
+        StepVerifier.FirstStep<Object> rejected = get();
+
+        // then
+        rejected.verifyError(CacheUnavailableException.class);
+        assertThat(cacheRepository.isAvailable()).isFalse();
+        assertThat(flakyCacheRepository.calls.get()).isEqualTo(2);
+    }
+
+    @DisplayName("제한 시간을 넘는 호출은 실패로 센다.")
+    @Test
+    void timeout() {
+        // given
+        flakyCacheRepository.hang = true;
+
+        // when
+        for (int i = 0; i < 2; i++) {
+            get().then(() -> scheduler.advanceTimeBy(Duration.ofMillis(100)))
+                    .verifyError(TimeoutException.class);
+        }
+
+        // then
+        assertThat(cacheRepository.isAvailable()).isFalse();
+    }
+
+    @DisplayName("느린 조회는 실패로 센다.")
+    @Test
+    void slowRead() {
+        // given
+        flakyCacheRepository.slow = true;
+
+        // when
+        for (int i = 0; i < 2; i++) {
+            get().then(() -> scheduler.advanceTimeBy(SLOW_CALL))
+                    .verifyComplete();
+        }
+
+        // then
+        assertThat(cacheRepository.isAvailable()).isFalse();
+    }
+
+    @DisplayName("제한 시간 안에 끝난 쓰기는 느려도 실패로 세지 않는다.")
+    @Test
+    void slowWrite() {
+        // given
+        flakyCacheRepository.slow = true;
+
+        // when
+        for (int i = 0; i < 3; i++) {
+            StepVerifier.create(cacheRepository.multiPut(Map.of(KEY, 1), Duration.ofMinutes(1)))
+                    .then(() -> scheduler.advanceTimeBy(SLOW_CALL))
+                    .verifyComplete();
+        }
+
+        // then
+        assertThat(cacheRepository.isAvailable()).isTrue();
+    }
+
+    @DisplayName("복구를 확인하면 회로를 닫는다.")
+    @Test
+    void probe() {
+        // given
+        flakyCacheRepository.down = true;
+        get().verifyError(RedisConnectionFailureException.class);
+        get().verifyError(RedisConnectionFailureException.class);
+
+        // when
+        scheduler.advanceTimeBy(OPEN_DURATION);
+        boolean stillOpen = !cacheRepository.isAvailable();
+        flakyCacheRepository.down = false;
+        scheduler.advanceTimeBy(OPEN_DURATION);
+
+        // then
+        assertThat(stillOpen).isTrue();
+        assertThat(cacheRepository.isAvailable()).isTrue();
+        get().verifyComplete();
+    }
+
+    private StepVerifier.FirstStep<Object> get() {
+        return StepVerifier.create(cacheRepository.get(KEY, null));
+    }
+
+    private static class FlakyCacheRepository extends MapCacheRepository {
+        private final AtomicInteger calls = new AtomicInteger();
+        private final Scheduler scheduler;
+        private volatile boolean down;
+        private volatile boolean hang;
+        private volatile boolean slow;
+
+        private FlakyCacheRepository(Scheduler scheduler) {
+            super(new ConcurrentHashMap<>());
+            this.scheduler = scheduler;
+        }
+
+        @Override
+        public Mono<Object> get(String key, JavaType javaType) {
+            calls.incrementAndGet();
+            if (down) {
+                return Mono.error(new RedisConnectionFailureException("down"));
+            }
+            if (hang) {
+                return Mono.never();
+            }
+            return delayIfSlow(super.get(key, javaType));
+        }
+
+        @Override
+        public Mono<Void> multiPut(Map<String, Object> values, Duration timeout) {
+            return delayIfSlow(super.multiPut(values, timeout));
+        }
+
+        private <T> Mono<T> delayIfSlow(Mono<T> call) {
+            if (slow) {
+                return Mono.delay(SLOW_CALL, scheduler)
+                        .then(call);
+            }
+            return call;
+        }
+
+        @Override
+        public Mono<Long> size(String key) {
+            if (down) {
+                return Mono.error(new RedisConnectionFailureException("down"));
+            }
+            return super.size(key);
+        }
+    }
+}
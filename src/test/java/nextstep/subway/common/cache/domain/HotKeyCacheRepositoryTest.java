@@ -0,0 +1,69 @@
+package nextstep.subway.common.cache.domain;
+
+import com.fasterxml.jackson.databind.JavaType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import nextstep.subway.common.cache.metrics.ReactiveCacheMetrics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("핫 키 로컬 복사 테스트")
+class HotKeyCacheRepositoryTest {
+    private static final String KEY = "lines:g0";
+    private static final int THRESHOLD = 2;
+
+    private final Map<String, Object> store = new ConcurrentHashMap<>(Map.of(KEY, List.of(1, 2, 3)));
+    private final CountingCacheRepository countingCacheRepository = new CountingCacheRepository(store);
+    private final ReactiveCacheMetrics metrics = new ReactiveCacheMetrics(new SimpleMeterRegistry());
+    private final HotKeyCacheRepository<Object> cacheRepository = new HotKeyCacheRepository<>(
+            countingCacheRepository, metrics, THRESHOLD, Duration.ofMinutes(1), Duration.ofMinutes(1), 10);
+
+    @DisplayName("기준 횟수보다 많이 조회한 키는 로컬 복사본으로 응답하고, 저장하면 복사본을 버린다.")
+    @Test
+    void hotKey() {
+        // given
+        for (int i = 0; i <= THRESHOLD; i++) {
+            get();
+        }
+
+        // when
+        Object local = get();
+        cacheRepository.put(KEY, List.of(4))
+                .block();
+        Object updated = get();
+
+        // then
+        assertThat(local).isEqualTo(List.of(1, 2, 3));
+        assertThat(updated).isEqualTo(List.of(4));
+        assertThat(countingCacheRepository.gets.get()).isEqualTo(THRESHOLD + 2);
+        assertThat(metrics.stats()
+                           .get("lines")).containsEntry("localHits", 1L);
+    }
+
+    private Object get() {
+        return cacheRepository.get(KEY, null)
+                .block();
+    }
+
+    private static class CountingCacheRepository extends MapCacheRepository {
+        private final AtomicInteger gets = new AtomicInteger();
+
+        private CountingCacheRepository(Map<String, Object> store) {
+            super(store);
+        }
+
+        @Override
+        public Mono<Object> get(String key, JavaType javaType) {
+            gets.incrementAndGet();
+            return super.get(key, javaType);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package nextstep.subway.common.cache.domain;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import nextstep.subway.common.cache.metrics.ReactiveCacheMetrics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("JSON 응답 바이트 캐시 테스트")
+class JsonResponseCacheTest {
+    private static final String CACHE_NAME = "numbers";
+    private static final String KEY = "numbers:g0";
+
+    private final Map<String, Object> store = new ConcurrentHashMap<>();
+    private final CacheGenerationRepository cacheGenerationRepository = new LocalCacheGenerationRepository();
+    private final CacheRepository<String, Object> cacheRepository = new MapCacheRepository(store);
+    private final ReactiveCacheMetrics metrics = new ReactiveCacheMetrics(new SimpleMeterRegistry());
+    private final ReactiveCacheSupport support = new ReactiveCacheSupport(
+            cacheRepository, cacheGenerationRepository,
+            new CacheWriteBehindQueue(cacheRepository, metrics, 100, 10, Schedulers.immediate()),
+            metrics, 3, Duration.ofMinutes(1), Duration.ofSeconds(30), Duration.ZERO);
+    private final JsonResponseCache jsonResponseCache = new JsonResponseCache(support, new ObjectMapper(),
+                                                                              Set.of(CACHE_NAME));
+    private final ReactiveCacheTemplate reactiveCacheTemplate = new ReactiveCacheTemplate(support);
+    private final AtomicInteger subscribeCount = new AtomicInteger();
+
+    @DisplayName("같은 세대에서는 원본을 다시 조회하지 않고 인코딩한 바이트를 그대로 돌려준다.")
+    @Test
+    void get() {
+        // given
+        jsonResponseCache.get(CACHE_NAME, numbers(1, 2, 3))
+                .block();
+
+        // when
+        byte[] bytes = jsonResponseCache.get(CACHE_NAME, numbers(1, 2, 3))
+                .block();
+
+        // then
+        assertThat(new String(bytes, StandardCharsets.UTF_8)).isEqualTo("[1,2,3]");
+        assertThat(subscribeCount.get()).isEqualTo(1);
+        assertThat(store).containsKey(JsonResponseCache.getKey(KEY));
+    }
+
+    @DisplayName("목록 캐시에 원소를 추가하면 새 세대에서 다시 인코딩한다.")
+    @Test
+    void encodeAfterAppend() {
+        // given
+        store.put(KEY, CacheChunks.of(1));
+        store.put(CacheChunks.chunkKey(KEY, 0), List.of(1, 2));
+        jsonResponseCache.get(CACHE_NAME, numbers(1, 2))
+                .block();
+
+        // when
+        reactiveCacheTemplate.append(CACHE_NAME, 3, Integer.class)
+                .block();
+        byte[] bytes = jsonResponseCache.get(CACHE_NAME, numbers(1, 2, 3))
+                .block();
+
+        // then
+        assertThat(new String(bytes, StandardCharsets.UTF_8)).isEqualTo("[1,2,3]");
+        assertThat(subscribeCount.get()).isEqualTo(2);
+    }
+
+    @DisplayName("원소를 추가하기 전에 시작한 인코딩이 늦게 끝나도 추가한 뒤의 응답으로 쓰지 않는다.")
+    @Test
+    void staleEncodeAfterAppend() {
+        // given
+        store.put(KEY, CacheChunks.of(1));
+        store.put(CacheChunks.chunkKey(KEY, 0), List.of(1, 2));
+        Sinks.Empty<Void> gate = Sinks.empty();
+        Mono<byte[]> stale = jsonResponseCache.get(CACHE_NAME, gate.asMono()
+                        .thenMany(numbers(1, 2)))
+                .cache();
+        stale.subscribe();
+
+        // when
+        reactiveCacheTemplate.append(CACHE_NAME, 3, Integer.class)
+                .block();
+        gate.tryEmitEmpty();
+        byte[] bytes = jsonResponseCache.get(CACHE_NAME, numbers(1, 2, 3))
+                .block();
+
+        // then
+        assertThat(new String(stale.block(), StandardCharsets.UTF_8)).isEqualTo("[1,2]");
+        assertThat(new String(bytes, StandardCharsets.UTF_8)).isEqualTo("[1,2,3]");
+        assertThat(store).containsKeys(JsonResponseCache.getKey(KEY), JsonResponseCache.getKey("numbers:g1"));
+    }
+
+    @DisplayName("세대 번호가 바뀌면 새로 인코딩한다.")
+    @Test
+    void newGeneration() {
+        // given
+        jsonResponseCache.get(CACHE_NAME, numbers(1))
+                .block();
+
+        // when
+        cacheGenerationRepository.increment(List.of(CACHE_NAME))
+                .block();
+        jsonResponseCache.get(CACHE_NAME, numbers(2))
+                .block();
+
+        // then
+        assertThat(subscribeCount.get()).isEqualTo(2);
+        assertThat(store).containsKey(JsonResponseCache.getKey("numbers:g1"));
+    }
+
+    @DisplayName("지정하지 않은 캐시 이름은 캐시하지 않는다.")
+    @Test
+    void notCached() {
+        // when
+        jsonResponseCache.get("others", numbers(1))
+                .block();
+        jsonResponseCache.get("others", numbers(1))
+                .block();
+
+        // then
+        assertThat(subscribeCount.get()).isEqualTo(2);
+        assertThat(store).isEmpty();
+    }
+
+    private Flux<Integer> numbers(Integer... numbers) {
+        return Flux.just(numbers)
+                .doOnSubscribe(subscription -> subscribeCount.incrementAndGet());
+    }
+}
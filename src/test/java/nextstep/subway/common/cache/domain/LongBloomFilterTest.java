@@ -0,0 +1,32 @@
+package nextstep.subway.common.cache.domain;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("블룸 필터 테스트")
+class LongBloomFilterTest {
+    private static final int SIZE = 10_000;
+
+    @DisplayName("추가한 키는 항상 포함하고, 추가하지 않은 키의 오탐률은 설정값 근처다.")
+    @Test
+    void mightContain() {
+        // given
+        LongBloomFilter filter = LongBloomFilter.of(SIZE, 0.01);
+        LongStream.rangeClosed(1, SIZE)
+                .forEach(filter::add);
+
+        // when
+        long falsePositives = LongStream.rangeClosed(SIZE + 1, SIZE * 2)
+                .filter(filter::mightContain)
+                .count();
+
+        // then
+        assertThat(LongStream.rangeClosed(1, SIZE)
+                           .allMatch(filter::mightContain)).isTrue();
+        assertThat(falsePositives).isLessThan(SIZE / 50);
+    }
+}
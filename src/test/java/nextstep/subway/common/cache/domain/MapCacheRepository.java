@@ -0,0 +1,64 @@
+package nextstep.subway.common.cache.domain;
+
+import com.fasterxml.jackson.databind.JavaType;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 맵에 그대로 저장하는 테스트용 캐시 저장소
+ */
+class MapCacheRepository implements CacheRepository<String, Object> {
+    private final Map<String, Object> store;
+
+    MapCacheRepository(Map<String, Object> store) {
+        this.store = store;
+    }
+
+    @Override
+    public Mono<Object> get(String key, JavaType javaType) {
+        return Mono.justOrEmpty(store.get(key));
+    }
+
+    @Override
+    public Mono<List<Object>> multiGet(List<String> keys, JavaType javaType) {
+        return Mono.fromCallable(() -> {
+            List<Object> values = new ArrayList<>(keys.size());
+            keys.forEach(key -> values.add(store.get(key)));
+            return values;
+        });
+    }
+
+    @Override
+    public Mono<Object> put(String key, Object value) {
+        return Mono.fromCallable(() -> store.put(key, value));
+    }
+
+    @Override
+    public Mono<Object> put(String key, Object value, Duration timeout) {
+        return put(key, value);
+    }
+
+    @Override
+    public Mono<Void> multiPut(Map<String, Object> values, Duration timeout) {
+        return Mono.fromRunnable(() -> store.putAll(values));
+    }
+
+    @Override
+    public Mono<Boolean> putIfAbsent(String key, Object value, Duration timeout) {
+        return Mono.fromCallable(() -> store.putIfAbsent(key, value) == null);
+    }
+
+    @Override
+    public Mono<Long> evict(String key) {
+        return Mono.fromCallable(() -> store.remove(key) == null ? 0L : 1L);
+    }
+
+    @Override
+    public Mono<Long> size(String key) {
+        return Mono.just(store.containsKey(key) ? 1L : 0L);
+    }
+}
@@ -0,0 +1,104 @@
+package nextstep.subway.common.cache.domain;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import nextstep.subway.common.cache.codec.JacksonCacheCodec;
+import nextstep.subway.common.cache.metrics.ReactiveCacheMetrics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("오프힙 캐시 저장소 테스트")
+class OffHeapCacheRepositoryTest {
+    private static final Duration TTL = Duration.ofMinutes(1);
+    private static final JavaType STRING_TYPE = new ObjectMapper().constructType(String.class);
+
+    private final ReactiveCacheMetrics metrics = new ReactiveCacheMetrics(new SimpleMeterRegistry());
+
+    @DisplayName("여러 블록에 걸친 값을 저장하고 지우는 동안 맵과 같은 결과를 돌려준다.")
+    @Test
+    void putAndEvict() {
+        // given
+        OffHeapCacheRepository repository = repository(1 << 20);
+        Map<String, String> expected = new HashMap<>();
+        Random random = new Random(0);
+
+        // when
+        for (int i = 0; i < 5_000; i++) {
+            String key = "numbers:g0:" + random.nextInt(500);
+            if (random.nextInt(4) == 0) {
+                repository.evict(key)
+                        .block();
+                expected.remove(key);
+                continue;
+            }
+            String value = "v".repeat(random.nextInt(100)) + i;
+            repository.put(key, value, TTL)
+                    .block();
+            expected.put(key, value);
+        }
+
+        // then
+        for (int i = 0; i < 500; i++) {
+            String key = "numbers:g0:" + i;
+            assertThat(repository.get(key, STRING_TYPE)
+                               .block()).isEqualTo(expected.get(key));
+        }
+        assertThat(repository.entryCount()).isEqualTo(expected.size());
+    }
+
+    @DisplayName("공간이 모자라면 최근에 읽지 않은 항목을 지운다.")
+    @Test
+    void clockEviction() {
+        // given
+        OffHeapCacheRepository repository = repository(16 * 64);
+        for (int i = 0; i < 16; i++) {
+            repository.put("numbers:g0:" + i, "value", TTL)
+                    .block();
+        }
+        repository.get("numbers:g0:0", STRING_TYPE)
+                .block();
+
+        // when
+        repository.put("numbers:g0:16", "value", TTL)
+                .block();
+
+        // then
+        assertThat(repository.multiGet(List.of("numbers:g0:0", "numbers:g0:16"), STRING_TYPE)
+                           .block()).containsExactly("value", "value");
+        assertThat(repository.entryCount()).isEqualTo(16);
+    }
+
+    @DisplayName("만료된 키는 없는 키로 보고, 없는 키만 putIfAbsent 로 저장한다.")
+    @Test
+    void expireAndPutIfAbsent() {
+        // given
+        OffHeapCacheRepository repository = repository(1 << 16);
+        repository.put("lock", "a", Duration.ofNanos(1))
+                .block();
+
+        // when
+        Boolean first = repository.putIfAbsent("lock", "b", TTL)
+                .block();
+        Boolean second = repository.putIfAbsent("lock", "c", TTL)
+                .block();
+
+        // then
+        assertThat(first).isTrue();
+        assertThat(second).isFalse();
+        assertThat(repository.get("lock", STRING_TYPE)
+                           .block()).isEqualTo("b");
+    }
+
+    private OffHeapCacheRepository repository(long capacity) {
+        return new OffHeapCacheRepository(new JacksonCacheCodec(new ObjectMapper()), metrics, capacity, 64);
+    }
+}
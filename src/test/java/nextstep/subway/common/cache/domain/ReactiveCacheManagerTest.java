@@ -0,0 +1,297 @@
+package nextstep.subway.common.cache.domain;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import nextstep.subway.common.cache.annotation.ReactiveCacheEvict;
+import nextstep.subway.common.cache.annotation.ReactiveCacheable;
+import nextstep.subway.common.cache.annotation.ReactiveCacheableAll;
+import nextstep.subway.common.cache.metrics.ReactiveCacheMetrics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("리액티브 캐시 매니저 테스트")
+class ReactiveCacheManagerTest {
+    private static final int CHUNK_SIZE = 3;
+    private static final String KEY = "numbers:g0";
+    private static final List<Integer> NUMBERS = IntStream.rangeClosed(1, 10)
+            .boxed()
+            .collect(Collectors.toList());
+
+    private final Map<String, Object> store = new ConcurrentHashMap<>();
+    private final List<String> reads = new CopyOnWriteArrayList<>();
+    private final CacheRepository<String, Object> cacheRepository = new MapCacheRepository(store) {
+        @Override
+        public Mono<Object> get(String key, JavaType javaType) {
+            return super.get(key, javaType)
+                    .doOnSubscribe(subscription -> reads.add(key));
+        }
+    };
+    private final CacheGenerationRepository cacheGenerationRepository = new LocalCacheGenerationRepository();
+    private final ReactiveCacheMetrics metrics = new ReactiveCacheMetrics(new SimpleMeterRegistry());
+    private final CacheWriteBehindQueue writeBehindQueue = new CacheWriteBehindQueue(cacheRepository, metrics, 100, 10,
+                                                                                      Schedulers.immediate());
+    private final ReactiveCacheSupport support = new ReactiveCacheSupport(cacheRepository, cacheGenerationRepository,
+                                                                          writeBehindQueue, metrics, CHUNK_SIZE,
+                                                                          Duration.ofMinutes(1), Duration.ofSeconds(30),
+                                                                          Duration.ZERO);
+    private final AtomicInteger proceedCount = new AtomicInteger();
+    private ReactiveCacheMetadata metadata;
+
+    @BeforeEach
+    void setUp() throws NoSuchMethodException {
+        metadata = ReactiveCacheMetadata.of(Numbers.class.getDeclaredMethod("findAll"), new ObjectMapper());
+    }
+
+    @DisplayName("Flux 결과를 청크로 나눠 저장하고 헤더는 마지막에 저장한다.")
+    @Test
+    void putChunks() {
+        // when
+        StepVerifier.create(findAll())
+                .expectNextSequence(NUMBERS)
+                .verifyComplete();
+
+        // then
+        assertThat(((CacheChunks) store.get(KEY)).getCount()).isEqualTo(4);
+        assertThat(store.get(chunkKey(0))).isEqualTo(List.of(1, 2, 3));
+        assertThat(store.get(chunkKey(3))).isEqualTo(List.of(10));
+    }
+
+    @DisplayName("캐시된 청크를 요청한 만큼만 읽는다.")
+    @Test
+    void getChunks() {
+        // given
+        findAll().blockLast();
+
+        // when
+        StepVerifier.create(findAll(), 2)
+                .expectNext(1, 2)
+                .thenRequest(8)
+                .expectNextSequence(NUMBERS.subList(2, NUMBERS.size()))
+                .verifyComplete();
+
+        // then
+        assertThat(proceedCount.get()).isEqualTo(1);
+        assertThat(metrics.stats()
+                           .get("numbers")).containsEntry("hits", 1L)
+                .containsEntry("misses", 1L)
+                .containsEntry("loadCount", 1L);
+    }
+
+    @DisplayName("하위 구독자가 요청한 원소의 청크와 다음 청크 1개만 조회한다.")
+    @Test
+    void getChunksLazily() {
+        // given
+        findAll().blockLast();
+        reads.clear();
+
+        // when
+        StepVerifier.create(findAll(), 2)
+                .expectNext(1, 2)
+                .then(() -> assertThat(reads).doesNotContain(chunkKey(2)))
+                .thenRequest(2)
+                .expectNext(3, 4)
+                .then(() -> assertThat(reads).doesNotContain(chunkKey(3)))
+                .thenCancel()
+                .verify();
+    }
+
+    @DisplayName("완료되지 않은 Flux 는 헤더를 저장하지 않는다.")
+    @Test
+    void cancel() {
+        // when
+        StepVerifier.create(findAll().take(5))
+                .expectNextCount(5)
+                .verifyComplete();
+
+        // then
+        assertThat(store).doesNotContainKey(KEY);
+    }
+
+    @DisplayName("원소를 내보내기 전에 청크가 없으면 원본 조회로 처음부터 내보낸다.")
+    @Test
+    void restartMissingFirstChunk() {
+        // given
+        findAll().blockLast();
+        store.remove(chunkKey(0));
+
+        // when
+        StepVerifier.create(findAll())
+                .expectNextSequence(NUMBERS)
+                .verifyComplete();
+
+        // then
+        assertThat(proceedCount.get()).isEqualTo(2);
+        assertThat(store).doesNotContainKey(KEY);
+    }
+
+    @DisplayName("원소를 내보낸 뒤에 청크가 없으면 원본 조회를 이어 붙이지 않고 에러로 끝낸다.")
+    @Test
+    void failMissingChunkAfterEmit() {
+        // given
+        findAll().blockLast();
+        store.remove(chunkKey(2));
+
+        // when
+        StepVerifier.create(findAll())
+                .expectNextSequence(NUMBERS.subList(0, 6))
+                .verifyError(IllegalStateException.class);
+
+        // then
+        assertThat(proceedCount.get()).isEqualTo(1);
+        assertThat(store).doesNotContainKey(KEY);
+    }
+
+    @DisplayName("캐시 이름의 세대 번호를 올리면 이전 세대의 캐시는 조회되지 않는다.")
+    @Test
+    void incrementGeneration() {
+        // given
+        findAll().blockLast();
+
+        // when
+        cacheGenerationRepository.increment(List.of("numbers"))
+                .block();
+        findAll().blockLast();
+
+        // then
+        assertThat(proceedCount.get()).isEqualTo(2);
+        assertThat(store).containsKey("numbers:g1");
+    }
+
+    @DisplayName("원본 메서드가 완료된 뒤에 무효화한다.")
+    @Test
+    void evictAfterCompletion() throws NoSuchMethodException {
+        // given
+        Sinks.One<Integer> result = Sinks.one();
+        Mono<Integer> save = save(result.asMono());
+
+        // when
+        StepVerifier.create(save)
+                .then(() -> assertThat(cacheGenerationRepository.get("numbers")
+                                               .block()).isZero())
+                .then(() -> result.tryEmitValue(1))
+                .expectNext(1)
+                .verifyComplete();
+
+        // then
+        assertThat(cacheGenerationRepository.get("numbers")
+                           .block()).isEqualTo(1L);
+    }
+
+    @DisplayName("원본 메서드가 실패하면 무효화하지 않는다.")
+    @Test
+    void notEvictOnError() throws NoSuchMethodException {
+        // when
+        StepVerifier.create(save(Mono.error(new IllegalStateException())))
+                .verifyError(IllegalStateException.class);
+
+        // then
+        assertThat(cacheGenerationRepository.get("numbers")
+                           .block()).isZero();
+    }
+
+    @DisplayName("키 컬렉션 중 캐시에 없는 키만 모아서 원본을 한 번 조회하고 원소별로 저장한다.")
+    @Test
+    void getAll() throws NoSuchMethodException {
+        // given
+        List<Set<Integer>> proceedIds = new ArrayList<>();
+        findAllById(Set.of(1, 2), proceedIds).blockLast();
+
+        // when
+        StepVerifier.create(findAllById(new LinkedHashSet<>(List.of(1, 2, 3)), proceedIds))
+                .expectNext(1, 2, 3)
+                .verifyComplete();
+
+        // then
+        assertThat(proceedIds).containsExactly(Set.of(1, 2), Set.of(3));
+        assertThat(store).containsKeys("numbers:g0:1", "numbers:g0:2", "numbers:g0:3");
+        assertThat(metrics.stats()
+                           .get("numbers")).containsEntry("hits", 2L)
+                .containsEntry("misses", 3L);
+    }
+
+    @DisplayName("원본에 없는 키는 툼스톤을 저장해서 다시 조회하지 않는다.")
+    @Test
+    void getAllAbsent() throws NoSuchMethodException {
+        // given
+        List<Set<Integer>> proceedIds = new ArrayList<>();
+        findAllById(Set.of(-1), proceedIds).blockLast();
+
+        // when
+        StepVerifier.create(findAllById(Set.of(-1), proceedIds))
+                .verifyComplete();
+
+        // then
+        assertThat(proceedIds).hasSize(1);
+        assertThat(store.get("numbers:g0:-1")).isSameAs(CacheTombstone.INSTANCE);
+    }
+
+    private String chunkKey(int index) {
+        return ((CacheChunks) store.get(KEY)).getChunkKey(KEY, index);
+    }
+
+    private Flux<Integer> findAllById(Set<Integer> ids, List<Set<Integer>> proceedIds) throws NoSuchMethodException {
+        ReactiveCacheMetadata findAllByIdMetadata = ReactiveCacheMetadata.of(
+                Numbers.class.getDeclaredMethod("findAllById", Set.class), new ObjectMapper());
+        Function<Object[], Object> proceed = args -> {
+            Set<Integer> missingIds = ((Set<?>) args[0]).stream()
+                    .map(Integer.class::cast)
+                    .collect(Collectors.toSet());
+            proceedIds.add(missingIds);
+            return Flux.fromIterable(missingIds)
+                    .filter(id -> id > 0);
+        };
+        return ((Flux<?>) ReactiveCacheManager.of(support, proceed, findAllByIdMetadata, new Object[]{ids})
+                .get()).cast(Integer.class);
+    }
+
+    private Flux<Integer> findAll() {
+        Function<String, Object> proceed = key -> {
+            proceedCount.incrementAndGet();
+            return Flux.fromIterable(NUMBERS);
+        };
+        return ((Flux<?>) manager(metadata, proceed).get()).cast(Integer.class);
+    }
+
+    private Mono<Integer> save(Mono<Integer> result) throws NoSuchMethodException {
+        ReactiveCacheMetadata saveMetadata = ReactiveCacheMetadata.of(Numbers.class.getDeclaredMethod("save"),
+                                                                      new ObjectMapper());
+        return ((Mono<?>) manager(saveMetadata, key -> result).get()).cast(Integer.class);
+    }
+
+    private ReactiveCacheManager manager(ReactiveCacheMetadata metadata, Function<String, Object> proceed) {
+        return ReactiveCacheManager.of(support, args -> proceed.apply(""), metadata, new Object[0]);
+    }
+
+    private interface Numbers {
+        @ReactiveCacheable("numbers")
+        Flux<Integer> findAll();
+
+        @ReactiveCacheableAll(value = "numbers", key = "#ids", elementKey = "#this")
+        Flux<Integer> findAllById(Set<Integer> ids);
+
+        @ReactiveCacheEvict("numbers")
+        Mono<Integer> save();
+    }
+}
@@ -0,0 +1,50 @@
+package nextstep.subway.common.cache.domain;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import nextstep.subway.common.cache.annotation.ReactiveCacheable;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("캐시 메타데이터 레지스트리 테스트")
+class ReactiveCacheMetadataRegistryTest {
+    @DisplayName("시작 시점에 인자가 없는 캐시 메서드를 찾아서 호출 전에도 갱신할 수 있다.")
+    @Test
+    void discoverLoaders() {
+        // given
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("numberService", new NumberService());
+        ReactiveCacheMetadataRegistry registry = new ReactiveCacheMetadataRegistry(new ObjectMapper(), beanFactory);
+
+        // when
+        registry.afterSingletonsInstantiated();
+
+        // then
+        List<ReactiveCacheLoader> loaders = registry.getLoaders("numbers");
+        assertThat(loaders).hasSize(1);
+        assertThat(registry.getLoaders("number")).isEmpty();
+        StepVerifier.create(loaders.get(0)
+                                    .load()
+                                    .cast(Integer.class))
+                .expectNext(1, 2, 3)
+                .verifyComplete();
+    }
+
+    public static class NumberService {
+        @ReactiveCacheable("numbers")
+        public Flux<Integer> findAll() {
+            return Flux.just(1, 2, 3);
+        }
+
+        @ReactiveCacheable(value = "number", key = "#id")
+        public Flux<Integer> findById(Integer id) {
+            return Flux.just(id);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package nextstep.subway.common.cache.domain;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import nextstep.subway.common.cache.metrics.ReactiveCacheMetrics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("리액티브 캐시 템플릿 테스트")
+class ReactiveCacheTemplateTest {
+    private static final String CACHE_NAME = "numbers";
+    private static final String KEY = "numbers:g0";
+    private static final String NEXT_KEY = "numbers:g1";
+
+    private final Map<String, Object> store = new ConcurrentHashMap<>();
+    private final AtomicBoolean concurrentEvict = new AtomicBoolean();
+    private final CacheGenerationRepository cacheGenerationRepository = new LocalCacheGenerationRepository() {
+        @Override
+        public Mono<Long> incrementAndGet(String cacheName) {
+            if (concurrentEvict.get()) {
+                return super.incrementAndGet(cacheName)
+                        .then(super.incrementAndGet(cacheName));
+            }
+            return super.incrementAndGet(cacheName);
+        }
+    };
+    private final CacheRepository<String, Object> cacheRepository = new MapCacheRepository(store);
+    private final ReactiveCacheMetrics metrics = new ReactiveCacheMetrics(new SimpleMeterRegistry());
+    private final ReactiveCacheTemplate reactiveCacheTemplate = new ReactiveCacheTemplate(
+            new ReactiveCacheSupport(cacheRepository, cacheGenerationRepository,
+                                     new CacheWriteBehindQueue(cacheRepository, metrics, 100, 10, Schedulers.immediate()),
+                                     metrics, 3, Duration.ofMinutes(1), Duration.ofSeconds(30), Duration.ZERO));
+
+    @BeforeEach
+    void setUp() {
+        store.put(KEY, CacheChunks.of(2));
+        store.put(CacheChunks.chunkKey(KEY, 0), List.of(1, 2, 3));
+        store.put(CacheChunks.chunkKey(KEY, 1), List.of(4));
+    }
+
+    @DisplayName("원소를 추가한 목록을 다음 세대에 쓰고 세대 번호를 올린다.")
+    @Test
+    void append() {
+        // when
+        reactiveCacheTemplate.append(CACHE_NAME, 5, Integer.class)
+                .block();
+
+        // then
+        assertThat(getChunks(NEXT_KEY)).containsExactly(List.of(1, 2, 3), List.of(4, 5));
+        assertThat(getChunks(KEY)).containsExactly(List.of(1, 2, 3), List.of(4));
+        assertThat(cacheGenerationRepository.get(CACHE_NAME)
+                           .block()).isEqualTo(1L);
+    }
+
+    @DisplayName("청크가 가득 찼으면 새 청크에 이어서 쓴다.")
+    @Test
+    void appendNewChunk() {
+        // given
+        store.put(CacheChunks.chunkKey(KEY, 1), List.of(4, 5, 6));
+
+        // when
+        reactiveCacheTemplate.append(CACHE_NAME, 7, Integer.class)
+                .block();
+
+        // then
+        assertThat(getChunks(NEXT_KEY)).containsExactly(List.of(1, 2, 3), List.of(4, 5, 6), List.of(7));
+    }
+
+    @DisplayName("이미 있는 원소를 추가하면 끝으로 옮긴다.")
+    @Test
+    void appendExisting() {
+        // when
+        reactiveCacheTemplate.append(CACHE_NAME, 2, Integer.class)
+                .block();
+
+        // then
+        assertThat(getChunks(NEXT_KEY)).containsExactly(List.of(1, 3, 4), List.of(2));
+    }
+
+    @DisplayName("조건에 맞는 원소를 지운 목록을 다시 나눠서 쓴다.")
+    @Test
+    void removeIf() {
+        // when
+        reactiveCacheTemplate.removeIf(CACHE_NAME, number -> number == 2, Integer.class)
+                .block();
+
+        // then
+        assertThat(getChunks(NEXT_KEY)).containsExactly(List.of(1, 3, 4));
+    }
+
+    @DisplayName("캐시된 목록이 없으면 세대 번호만 올린다.")
+    @Test
+    void appendNotCached() {
+        // given
+        store.clear();
+
+        // when
+        reactiveCacheTemplate.append(CACHE_NAME, 1, Integer.class)
+                .block();
+
+        // then
+        assertThat(store).isEmpty();
+        assertThat(cacheGenerationRepository.get(CACHE_NAME)
+                           .block()).isEqualTo(1L);
+    }
+
+    @DisplayName("읽은 뒤 다른 요청이 세대 번호를 올렸으면 목록을 옮기지 않는다.")
+    @Test
+    void skipWhenGenerationChanged() {
+        // given
+        concurrentEvict.set(true);
+
+        // when
+        reactiveCacheTemplate.append(CACHE_NAME, 5, Integer.class)
+                .block();
+
+        // then
+        assertThat(store).doesNotContainKeys(NEXT_KEY, "numbers:g2");
+        assertThat(cacheGenerationRepository.get(CACHE_NAME)
+                           .block()).isEqualTo(2L);
+    }
+
+    private List<Object> getChunks(String key) {
+        CacheChunks chunks = (CacheChunks) store.get(key);
+        List<Object> values = new ArrayList<>();
+        for (int index = 0; index < chunks.getCount(); index++) {
+            values.add(store.get(chunks.getChunkKey(key, index)));
+        }
+        return values;
+    }
+}
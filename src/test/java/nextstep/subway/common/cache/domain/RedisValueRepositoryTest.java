@@ -0,0 +1,199 @@
+package nextstep.subway.common.cache.domain;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import nextstep.subway.common.cache.codec.JacksonCacheCodec;
+import nextstep.subway.common.cache.metrics.ReactiveCacheMetrics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles({"test"})
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@DisplayName("Redis 캐시 저장소 조각 저장 테스트")
+class RedisValueRepositoryTest {
+    private static final String KEY = "shard-test:g0";
+    private static final int SHARD_SIZE = 16;
+    private static final Duration TTL = Duration.ofMinutes(1);
+    private static final JavaType LIST_TYPE = TypeFactory.defaultInstance()
+            .constructCollectionType(List.class, Integer.class);
+
+    @Autowired
+    private ReactiveRedisTemplate<String, byte[]> reactiveByteArrayRedisTemplate;
+    @Value("${spring.redis.port}")
+    private int redisPort;
+
+    private RedisValueRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new RedisValueRepository(reactiveByteArrayRedisTemplate, reactiveByteArrayRedisTemplate, Set.of(),
+                                              new JacksonCacheCodec(new ObjectMapper()),
+                                              new ReactiveCacheMetrics(new SimpleMeterRegistry()), SHARD_SIZE);
+    }
+
+    @AfterEach
+    void tearDown() {
+        shardKeys().forEach(key -> reactiveByteArrayRedisTemplate.delete(key)
+                .block());
+        reactiveByteArrayRedisTemplate.delete(KEY)
+                .block();
+    }
+
+    @DisplayName("큰 값은 조각으로 나눠 저장하고 다시 이어 붙여서 읽는다.")
+    @Test
+    void putAndGet() {
+        // when
+        repository.put(KEY, numbers(20), TTL)
+                .block();
+
+        // then
+        assertThat(repository.get(KEY, LIST_TYPE)
+                           .block()).isEqualTo(numbers(20));
+        assertThat(repository.size(KEY)
+                           .block()).isEqualTo(numbers(20).toString()
+                                                       .replace(" ", "")
+                                                       .length());
+        assertThat(shardKeys()).hasSizeGreaterThan(1);
+    }
+
+    @DisplayName("덮어쓰면 이전 값과 다른 하위 키에 조각을 저장한다.")
+    @Test
+    void overwrite() {
+        // given
+        repository.put(KEY, numbers(20), TTL)
+                .block();
+        List<String> previousShardKeys = shardKeys();
+
+        // when
+        repository.put(KEY, numbers(30), TTL)
+                .block();
+
+        // then
+        assertThat(repository.get(KEY, LIST_TYPE)
+                           .block()).isEqualTo(numbers(30));
+        assertThat(shardKeys()).containsAll(previousShardKeys)
+                .hasSizeGreaterThan(previousShardKeys.size());
+    }
+
+    @DisplayName("조각의 길이를 합한 값이 매니페스트와 다르면 캐시 미스로 처리한다.")
+    @Test
+    void lengthMismatch() {
+        // given
+        repository.put(KEY, numbers(20), TTL)
+                .block();
+        String shardKey = shardKeys().get(0);
+        reactiveByteArrayRedisTemplate.opsForValue()
+                .set(shardKey, new byte[SHARD_SIZE * 2])
+                .block();
+
+        // when, then
+        assertThat(repository.get(KEY, LIST_TYPE)
+                           .block()).isNull();
+    }
+
+    /**
+     * 같은 서버의 다른 DB 를 아직 복제되지 않은 복제 노드로 쓴다.
+     */
+    @DisplayName("복제 노드에 없는 값은 마스터에서 다시 읽는다.")
+    @Test
+    void replicaMiss() {
+        // given
+        RedisStandaloneConfiguration replicaConfiguration = new RedisStandaloneConfiguration("localhost", redisPort);
+        replicaConfiguration.setDatabase(1);
+        LettuceConnectionFactory replicaConnectionFactory = new LettuceConnectionFactory(replicaConfiguration);
+        replicaConnectionFactory.afterPropertiesSet();
+        ReactiveRedisTemplate<String, byte[]> replicaRedisTemplate = new ReactiveRedisTemplate<>(
+                replicaConnectionFactory, RedisSerializationContext
+                .<String, byte[]>newSerializationContext(RedisSerializer.byteArray())
+                .key(StringRedisSerializer.UTF_8)
+                .build());
+        RedisValueRepository replicaReadRepository = new RedisValueRepository(
+                reactiveByteArrayRedisTemplate, replicaRedisTemplate, Set.of("shard-test"),
+                new JacksonCacheCodec(new ObjectMapper()), new ReactiveCacheMetrics(new SimpleMeterRegistry()),
+                SHARD_SIZE);
+        replicaReadRepository.put(KEY, numbers(20), TTL)
+                .block();
+
+        try {
+            // when, then
+            assertThat(replicaReadRepository.get(KEY, LIST_TYPE)
+                               .block()).isEqualTo(numbers(20));
+            assertThat(replicaReadRepository.multiGet(List.of(KEY), LIST_TYPE)
+                               .block()).containsExactly(numbers(20));
+        } finally {
+            replicaConnectionFactory.destroy();
+        }
+    }
+
+    @DisplayName("삭제하면 조각도 함께 지운다.")
+    @Test
+    void evict() {
+        // given
+        repository.put(KEY, numbers(20), TTL)
+                .block();
+
+        // when
+        Long deleted = repository.evict(KEY)
+                .block();
+
+        // then
+        assertThat(deleted).isEqualTo(1L);
+        assertThat(shardKeys()).isEmpty();
+        assertThat(repository.get(KEY, LIST_TYPE)
+                           .block()).isNull();
+    }
+
+    @DisplayName("나누지 않은 값도 삭제한다.")
+    @Test
+    void evictUnsharded() {
+        // given
+        repository.put(KEY, numbers(2), TTL)
+                .block();
+
+        // when
+        Long deleted = repository.evict(KEY)
+                .block();
+
+        // then
+        assertThat(deleted).isEqualTo(1L);
+        assertThat(repository.get(KEY, LIST_TYPE)
+                           .block()).isNull();
+    }
+
+    private List<String> shardKeys() {
+        return reactiveByteArrayRedisTemplate.scan(ScanOptions.scanOptions()
+                                                           .match("{" + KEY + "#*")
+                                                           .build())
+                .collectList()
+                .block();
+    }
+
+    private static List<Integer> numbers(int count) {
+        return IntStream.rangeClosed(1, count)
+                .boxed()
+                .collect(Collectors.toList());
+    }
+}
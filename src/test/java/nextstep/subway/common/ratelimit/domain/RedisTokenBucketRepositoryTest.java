@@ -0,0 +1,52 @@
+package nextstep.subway.common.ratelimit.domain;
+
+import nextstep.subway.AcceptanceTest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Redis 토큰 버킷 테스트")
+class RedisTokenBucketRepositoryTest extends AcceptanceTest {
+    private static final String NAME = "test";
+
+    @Autowired
+    private RedisTokenBucketRepository redisTokenBucketRepository;
+
+    @DisplayName("클라이언트 버킷에 남은 토큰만큼만 꺼내고, 비면 토큰이 채워질 때까지 기다릴 시간을 알려준다.")
+    @Test
+    void clientBucket() {
+        // given
+        TokenBucketLimits limits = new TokenBucketLimits(1, 3, 100, 100);
+
+        // when, then
+        StepVerifier.create(redisTokenBucketRepository.acquire(NAME, "client", 2, limits))
+                .assertNext(grant -> assertThat(grant.getTokens()).isEqualTo(2))
+                .verifyComplete();
+        StepVerifier.create(redisTokenBucketRepository.acquire(NAME, "client", 2, limits))
+                .assertNext(grant -> assertThat(grant.getTokens()).isEqualTo(1))
+                .verifyComplete();
+        StepVerifier.create(redisTokenBucketRepository.acquire(NAME, "client", 2, limits))
+                .assertNext(grant -> {
+                    assertThat(grant.isGranted()).isFalse();
+                    assertThat(grant.getRetryAfterMillis()).isBetween(1L, 1_000L);
+                })
+                .verifyComplete();
+    }
+
+    @DisplayName("전체 버킷이 비면 다른 클라이언트도 꺼낼 수 없다.")
+    @Test
+    void globalBucket() {
+        // given
+        TokenBucketLimits limits = new TokenBucketLimits(100, 100, 1, 3);
+        redisTokenBucketRepository.acquire(NAME, "client1", 3, limits)
+                .block();
+
+        // when, then
+        StepVerifier.create(redisTokenBucketRepository.acquire(NAME, "client2", 1, limits))
+                .assertNext(grant -> assertThat(grant.isGranted()).isFalse())
+                .verifyComplete();
+    }
+}
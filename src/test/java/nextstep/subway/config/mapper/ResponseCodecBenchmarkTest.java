@@ -0,0 +1,141 @@
+package nextstep.subway.config.mapper;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import nextstep.subway.line.dto.LineResponse;
+import nextstep.subway.map.dto.PathResponse;
+import nextstep.subway.station.domain.Station;
+import nextstep.subway.station.dto.StationResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("API 응답 JSON, Smile 인코딩 payload 크기, 인코딩 시간 비교 (시간 비교는 benchmarkTest 에서만 실행)")
+class ResponseCodecBenchmarkTest {
+    private static final int STATION_COUNT = 40;
+    private static final int WARM_UP = 200;
+    private static final int ITERATIONS = 500;
+    private static final String BENCHMARK = "benchmark";
+
+    private ObjectMapper jsonObjectMapper;
+    private ObjectMapper smileObjectMapper;
+    private List<StationResponse> stations;
+
+    @BeforeEach
+    void setUp() {
+        jsonObjectMapper = new ObjectMapperConfig().objectMapper();
+        smileObjectMapper = ObjectMapperConfig.smileObjectMapper();
+        stations = createStations();
+    }
+
+    @DisplayName("노선 조회 응답은 Smile 이 JSON 보다 작고 같은 값으로 디코딩한다.")
+    @Test
+    void line() throws IOException {
+        LineResponse line = LineResponse.builder()
+                .id(1L)
+                .name("신분당선")
+                .color("bg-red-600")
+                .stations(stations)
+                .createdDate(LocalDateTime.of(2022, 8, 1, 10, 30, 15))
+                .modifiedDate(LocalDateTime.of(2022, 8, 2, 11, 45, 30))
+                .build();
+
+        byte[] json = compare(line);
+
+        LineResponse decoded = smileObjectMapper.readValue(smileObjectMapper.writeValueAsBytes(line),
+                                                           LineResponse.class);
+        assertThat(jsonObjectMapper.writeValueAsBytes(decoded)).isEqualTo(json);
+    }
+
+    @DisplayName("경로 조회 응답은 Smile 이 JSON 보다 작고 같은 값으로 디코딩한다.")
+    @Test
+    void path() throws IOException {
+        PathResponse path = new PathResponse(stations, 120);
+
+        byte[] json = compare(path);
+
+        PathResponse decoded = smileObjectMapper.readValue(smileObjectMapper.writeValueAsBytes(path),
+                                                           PathResponse.class);
+        assertThat(jsonObjectMapper.writeValueAsBytes(decoded)).isEqualTo(json);
+    }
+
+    @DisplayName("노선 조회 응답의 인코딩 시간을 JSON, Smile 로 비교한다.")
+    @Tag(BENCHMARK)
+    @Test
+    void lineEncodeTime() {
+        measure("line", LineResponse.builder()
+                .id(1L)
+                .name("신분당선")
+                .color("bg-red-600")
+                .stations(stations)
+                .createdDate(LocalDateTime.of(2022, 8, 1, 10, 30, 15))
+                .modifiedDate(LocalDateTime.of(2022, 8, 2, 11, 45, 30))
+                .build());
+    }
+
+    @DisplayName("경로 조회 응답의 인코딩 시간을 JSON, Smile 로 비교한다.")
+    @Tag(BENCHMARK)
+    @Test
+    void pathEncodeTime() {
+        measure("path", new PathResponse(stations, 120));
+    }
+
+    private byte[] compare(Object response) throws IOException {
+        byte[] json = jsonObjectMapper.writeValueAsBytes(response);
+        byte[] smile = smileObjectMapper.writeValueAsBytes(response);
+
+        assertThat(smile.length).isLessThan(json.length);
+        return json;
+    }
+
+    private void measure(String name, Object response) {
+        byte[] json = encode(jsonObjectMapper, response);
+        byte[] smile = encode(smileObjectMapper, response);
+
+        double jsonNanos = measure(() -> encode(jsonObjectMapper, response));
+        double smileNanos = measure(() -> encode(smileObjectMapper, response));
+
+        System.out.printf("[%s] json : %d bytes, %.1f us%n", name, json.length, jsonNanos / 1_000);
+        System.out.printf("[%s] smile: %d bytes, %.1f us%n", name, smile.length, smileNanos / 1_000);
+    }
+
+    private static byte[] encode(ObjectMapper objectMapper, Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static double measure(Supplier<?> encode) {
+        for (int i = 0; i < WARM_UP; i++) {
+            encode.get();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            encode.get();
+        }
+        return (System.nanoTime() - start) / (double) ITERATIONS;
+    }
+
+    private static List<StationResponse> createStations() {
+        List<StationResponse> stations = new ArrayList<>();
+        for (long id = 1; id <= STATION_COUNT; id++) {
+            Station station = new Station("역" + id);
+            ReflectionTestUtils.setField(station, "id", id);
+            ReflectionTestUtils.setField(station, "createdDate", LocalDateTime.of(2022, 8, 1, 10, 0, (int) id));
+            ReflectionTestUtils.setField(station, "modifiedDate", LocalDateTime.of(2022, 8, 1, 10, 0, (int) id));
+            stations.add(StationResponse.of(station));
+        }
+        return stations;
+    }
+}
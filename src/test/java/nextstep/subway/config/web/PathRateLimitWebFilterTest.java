@@ -0,0 +1,144 @@
+package nextstep.subway.config.web;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.netty.channel.DefaultEventLoop;
+import nextstep.subway.common.ratelimit.domain.EventLoopLagMonitor;
+import nextstep.subway.common.ratelimit.domain.TokenBucketRepository;
+import nextstep.subway.common.ratelimit.domain.TokenGrant;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("경로 조회 요청 제한 필터 테스트")
+class PathRateLimitWebFilterTest {
+    private static final Duration SHED_LAG_THRESHOLD = Duration.ofMillis(10);
+
+    private final AtomicInteger acquireCount = new AtomicInteger();
+    private final AtomicInteger handleCount = new AtomicInteger();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final DefaultEventLoop eventLoop = new DefaultEventLoop(executor);
+    private final EventLoopLagMonitor eventLoopLagMonitor = new EventLoopLagMonitor(
+            new SimpleMeterRegistry(), Duration.ofMillis(5), () -> eventLoop);
+    private final WebFilterChain chain = exchange -> {
+        handleCount.incrementAndGet();
+        return Mono.empty();
+    };
+
+    @AfterEach
+    void tearDown() {
+        eventLoopLagMonitor.stop();
+        eventLoop.shutdownGracefully(0, 0, TimeUnit.MILLISECONDS);
+        executor.shutdown();
+    }
+
+    @DisplayName("Redis 에서 받은 토큰을 다 쓸 때까지는 Redis 를 다시 조회하지 않는다.")
+    @Test
+    void localAllowance() {
+        // given
+        PathRateLimitWebFilter filter = filter(tokens -> Mono.just(TokenGrant.granted(tokens)));
+
+        // when
+        for (int i = 0; i < 7; i++) {
+            get(filter, "/paths?source=1&target=2");
+        }
+
+        // then
+        assertThat(handleCount.get()).isEqualTo(7);
+        assertThat(acquireCount.get()).isEqualTo(3);
+    }
+
+    @DisplayName("토큰을 꺼낼 수 없으면 429 와 Retry-After(초, 올림)로 응답한다.")
+    @Test
+    void limited() {
+        // given
+        PathRateLimitWebFilter filter = filter(tokens -> Mono.just(TokenGrant.rejected(1_500)));
+
+        // when
+        MockServerWebExchange exchange = get(filter, "/paths?source=1&target=2");
+
+        // then
+        assertThat(handleCount.get()).isZero();
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(exchange.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("2");
+    }
+
+    @DisplayName("Redis 를 조회할 수 없거나 경로 조회가 아니면 제한하지 않는다.")
+    @Test
+    void notLimited() {
+        // given
+        PathRateLimitWebFilter filter = filter(tokens -> Mono.error(new IllegalStateException("redis down")));
+
+        // when
+        get(filter, "/paths?source=1&target=2");
+        get(filter, "/stations");
+
+        // then
+        assertThat(handleCount.get()).isEqualTo(2);
+        assertThat(acquireCount.get()).isEqualTo(1);
+    }
+
+    @DisplayName("이벤트 루프 지연이 기준의 두 배를 넘으면 버킷과 상관없이 모두 거절한다.")
+    @Test
+    void shed() throws InterruptedException {
+        // given
+        PathRateLimitWebFilter filter = filter(tokens -> Mono.just(TokenGrant.granted(tokens)));
+        CountDownLatch released = new CountDownLatch(1);
+        eventLoopLagMonitor.start();
+        eventLoop.execute(() -> {
+            try {
+                released.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        for (int i = 0; i < 100 && eventLoopLagMonitor.getLagNanos() <= SHED_LAG_THRESHOLD.toNanos() * 2; i++) {
+            Thread.sleep(10);
+        }
+
+        // when
+        MockServerWebExchange exchange = get(filter, "/paths?source=1&target=2");
+        released.countDown();
+
+        // then
+        assertThat(handleCount.get()).isZero();
+        assertThat(acquireCount.get()).isZero();
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(exchange.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+    }
+
+    private PathRateLimitWebFilter filter(IntFunction<Mono<TokenGrant>> acquire) {
+        TokenBucketRepository tokenBucketRepository = (name, clientId, tokens, limits) -> {
+            acquireCount.incrementAndGet();
+            return acquire.apply(tokens);
+        };
+        return new PathRateLimitWebFilter(tokenBucketRepository, eventLoopLagMonitor, new SimpleMeterRegistry(),
+                                          20, 40, 1000, 2000, 3, Duration.ofMinutes(1), 100,
+                                          Duration.ofSeconds(1), SHED_LAG_THRESHOLD);
+    }
+
+    private MockServerWebExchange get(PathRateLimitWebFilter filter, String uri) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.get(uri)
+                        .remoteAddress(new InetSocketAddress("127.0.0.1", 12345)));
+        filter.filter(exchange, chain)
+                .block();
+        return exchange;
+    }
+}
@@ -0,0 +1,124 @@
+package nextstep.subway.config.web;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import nextstep.subway.common.cache.domain.CacheGenerationRepository;
+import nextstep.subway.common.cache.domain.LocalCacheGenerationRepository;
+import nextstep.subway.common.cache.metrics.ReactiveCacheMetrics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("조회 API 응답 캐시 필터 테스트")
+class ResponseCacheWebFilterTest {
+    private final CacheGenerationRepository cacheGenerationRepository = new LocalCacheGenerationRepository();
+    private final ResponseCacheWebFilter filter = new ResponseCacheWebFilter(
+            new ApiResourceVersions(cacheGenerationRepository), new ReactiveCacheMetrics(new SimpleMeterRegistry()),
+            Duration.ofMinutes(1), Duration.ofMinutes(1), Duration.ZERO, 100, DataSize.ofBytes(16));
+    private final AtomicInteger handleCount = new AtomicInteger();
+
+    @DisplayName("같은 요청은 핸들러를 호출하지 않고 저장한 상태, 헤더, 본문을 내보낸다.")
+    @Test
+    void replay() {
+        // given
+        get("/stations", respond(HttpStatus.OK, "[1,2]"));
+
+        // when
+        MockServerWebExchange exchange = get("/stations", respond(HttpStatus.OK, "[3]"));
+
+        // then
+        assertThat(handleCount.get()).isEqualTo(1);
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(exchange.getResponse().getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(exchange.getResponse().getBodyAsString().block()).isEqualTo("[1,2]");
+    }
+
+    @DisplayName("데이터 버전 번호가 바뀌면 핸들러를 다시 호출한다.")
+    @Test
+    void newVersion() {
+        // given
+        get("/lines/1", respond(HttpStatus.OK, "{}"));
+
+        // when
+        cacheGenerationRepository.increment(List.of("network-version"))
+                .block();
+        get("/lines/1", respond(HttpStatus.OK, "{}"));
+
+        // then
+        assertThat(handleCount.get()).isEqualTo(2);
+    }
+
+    @DisplayName("오류 응답, 크기 제한을 넘는 응답, TTL 이 0 인 경로는 저장하지 않는다.")
+    @Test
+    void notCached() {
+        // when
+        get("/lines/1", respond(HttpStatus.NOT_FOUND, ""));
+        get("/lines/1", respond(HttpStatus.NOT_FOUND, ""));
+        get("/lines", respond(HttpStatus.OK, "[12345678901234567]"));
+        get("/lines", respond(HttpStatus.OK, "[12345678901234567]"));
+        get("/paths?source=1&target=2", respond(HttpStatus.OK, "{}"));
+        get("/paths?source=1&target=2", respond(HttpStatus.OK, "{}"));
+
+        // then
+        assertThat(handleCount.get()).isEqualTo(6);
+    }
+
+    @DisplayName("같은 키를 동시에 조회하면 먼저 들어온 요청만 핸들러를 호출한다.")
+    @Test
+    void coalesce() {
+        // given
+        Sinks.Empty<Void> handling = Sinks.empty();
+        MockServerWebExchange leader = exchange("/stations");
+        MockServerWebExchange follower = exchange("/stations");
+        filter.filter(leader, exchange -> handling.asMono()
+                        .then(Mono.defer(() -> respond(HttpStatus.OK, "[1]").filter(exchange))))
+                .subscribe();
+
+        // when
+        Mono<Void> waiting = filter.filter(follower, respond(HttpStatus.OK, "[2]"));
+        waiting.subscribe();
+        handling.tryEmitEmpty();
+
+        // then
+        assertThat(handleCount.get()).isEqualTo(1);
+        assertThat(follower.getResponse().getBodyAsString().block()).isEqualTo("[1]");
+    }
+
+    private MockServerWebExchange get(String uri, WebFilterChain chain) {
+        MockServerWebExchange exchange = exchange(uri);
+        filter.filter(exchange, chain)
+                .block();
+        return exchange;
+    }
+
+    private static MockServerWebExchange exchange(String uri) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get(uri)
+                                                  .accept(MediaType.APPLICATION_JSON));
+    }
+
+    private WebFilterChain respond(HttpStatus status, String body) {
+        return exchange -> {
+            handleCount.incrementAndGet();
+            ServerHttpResponse response = exchange.getResponse();
+            response.setStatusCode(status);
+            response.getHeaders()
+                    .setContentType(MediaType.APPLICATION_JSON);
+            return response.writeWith(Mono.just(response.bufferFactory()
+                                                        .wrap(body.getBytes(StandardCharsets.UTF_8))));
+        };
+    }
+}
@@ -0,0 +1,96 @@
+package nextstep.subway.config.web;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.EntityExchangeResult;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.util.StreamUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * hot-reload 를 끈 운영 설정으로 기동할 때 만든 다이렉트 버퍼에서 내보내는 경로를 확인한다.
+ * 인수 테스트는 hot-reload 를 켜고 실행하므로 이 경로를 거치지 않는다.
+ */
+@DisplayName("정적 자원 핸들러 테스트")
+class StaticAssetHandlerTest {
+    private static final String MAIN_JS = "static/js/main.js";
+
+    private WebTestClient webTestClient;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        StaticAssetManifest staticAssetManifest = new StaticAssetManifest(
+                new DefaultResourceLoader(), "classpath:/static/",
+                List.of(MediaType.TEXT_HTML, MediaType.valueOf("text/css"), MediaType.valueOf("application/javascript")),
+                DataSize.ofKilobytes(2), false);
+        staticAssetManifest.load();
+        StaticAssetHandler staticAssetHandler = new StaticAssetHandler(staticAssetManifest,
+                                                                       new ClassPathResource("templates/index.html"));
+        RouterFunctionConfig routerFunctionConfig = new RouterFunctionConfig();
+        webTestClient = WebTestClient.bindToRouterFunction(
+                        routerFunctionConfig.routeIndex(staticAssetHandler)
+                                .and(routerFunctionConfig.routeStaticAssets(staticAssetHandler)))
+                .build();
+    }
+
+    @DisplayName("메인 페이지는 요청마다 같은 버퍼의 내용을 전부 내보낸다.")
+    @Test
+    void index() {
+        // when
+        EntityExchangeResult<byte[]> first = get("/");
+        EntityExchangeResult<byte[]> second = get("/");
+
+        // then
+        assertThat(new String(first.getResponseBody())).containsPattern("/js/main\\.[0-9a-f]{32}\\.js");
+        assertThat(second.getResponseBody()).isEqualTo(first.getResponseBody());
+        assertThat(second.getResponseHeaders()
+                           .getContentLength()).isEqualTo(first.getResponseBody().length);
+    }
+
+    @DisplayName("정적 자원은 요청마다 같은 버퍼의 내용을 전부 내보내고, ETag 가 같으면 304 로 응답한다.")
+    @Test
+    void asset() throws IOException {
+        // given
+        byte[] mainJs = StreamUtils.copyToByteArray(new ClassPathResource(MAIN_JS).getInputStream());
+
+        // when
+        EntityExchangeResult<byte[]> first = get("/js/main.js");
+        EntityExchangeResult<byte[]> second = get("/js/main.js");
+
+        // then
+        assertThat(first.getResponseBody()).isEqualTo(mainJs);
+        assertThat(second.getResponseBody()).isEqualTo(mainJs);
+        assertThat(second.getResponseHeaders()
+                           .getContentLength()).isEqualTo(mainJs.length);
+
+        // when, then
+        webTestClient.get()
+                .uri("/js/main.js")
+                .header(HttpHeaders.IF_NONE_MATCH, first.getResponseHeaders()
+                        .getETag())
+                .exchange()
+                .expectStatus()
+                .isNotModified();
+    }
+
+    private EntityExchangeResult<byte[]> get(String uri) {
+        return webTestClient.get()
+                .uri(uri)
+                .accept(MediaType.TEXT_HTML, MediaType.ALL)
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectBody()
+                .returnResult();
+    }
+}
@@ -6,6 +6,7 @@ import nextstep.subway.station.dto.StationResponse;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -21,6 +22,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 @DisplayName("지하철 노선 관련 기능")
 public class LineAcceptanceTest extends AcceptanceTest {
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
     private StationResponse 강남역;
     private StationResponse 광교역;
     private Map<String, String> lineCreateParams;
@@ -85,6 +88,35 @@ public class LineAcceptanceTest extends AcceptanceTest {
         지하철_노선_목록_포함됨(response, Arrays.asList(createResponse1, createResponse2));
     }
 
+    /**
+     * Given 지하철 노선을 등록하고
+     * When Smile 만 받는 Accept 로 지하철 노선 목록을 조회하면
+     * Then 응답 본문과 ETag 가 모두 Smile 표현이다.
+     */
+    @DisplayName("지하철 노선 목록을 Smile 로 조회한다.")
+    @Test
+    void getLinesAsSmile() {
+        // given
+        지하철_노선_등록되어_있음(lineCreateParams);
+
+        // when
+        Mono<ResponseEntity<List<LineResponse>>> response = webClient().get()
+                .uri("/lines")
+                .accept(SMILE)
+                .exchangeToMono(clientResponse -> clientResponse.toEntityList(LineResponse.class));
+
+        // then
+        StepVerifier.create(response)
+                .assertNext(r -> {
+                    assertThat(r.getStatusCode()).isEqualTo(HttpStatus.OK);
+                    assertThat(r.getHeaders().getContentType()).isEqualTo(SMILE);
+                    assertThat(r.getHeaders().getETag()).contains(SMILE.getSubtype());
+                    assertThat(r.getBody()).extracting(LineResponse::getName)
+                            .containsExactly("신분당선");
+                })
+                .verifyComplete();
+    }
+
     @DisplayName("지하철 노선을 조회한다.")
     @Test
     void getLine() {
@@ -98,6 +130,105 @@ public class LineAcceptanceTest extends AcceptanceTest {
         지하철_노선_응답됨(response, createResponse);
     }
 
+    @DisplayName("지하철 노선을 Smile 로 조회한다.")
+    @Test
+    void getLineAsSmile() {
+        // given
+        ResponseEntity<LineResponse> createResponse = 지하철_노선_등록되어_있음(lineCreateParams);
+
+        // when
+        Mono<ResponseEntity<LineResponse>> response = webClient().get()
+                .uri(Objects.requireNonNull(createResponse.getHeaders().getLocation()).getPath())
+                .accept(SMILE)
+                .exchangeToMono(clientResponse -> clientResponse.toEntity(LineResponse.class));
+
+        // then
+        StepVerifier.create(response)
+                .assertNext(r -> {
+                    assertThat(r.getStatusCode()).isEqualTo(HttpStatus.OK);
+                    assertThat(r.getHeaders().getContentType()).isEqualTo(SMILE);
+                    assertThat(r.getHeaders().getVary()).contains(HttpHeaders.ACCEPT);
+                    assertThat(Objects.requireNonNull(r.getBody()).getName()).isEqualTo("신분당선");
+                    assertThat(r.getBody().getStations()).hasSize(2);
+                })
+                .verifyComplete();
+    }
+
+    /**
+     * Given 지하철 노선을 JSON 으로 두 번 조회해서 (두 번째는 응답 캐시에서) ETag 를 받고
+     * When 헤더에 ETag 를 담아서 Smile 로 조회하면
+     * Then 응답 상태 코드가 200 OK, JSON 과 다른 ETag 가 전송된다.
+     */
+    @DisplayName("JSON 으로 받은 ETag 로 Smile 을 조건부 조회하면 다시 내려받는다.")
+    @Test
+    void getLineAsSmileWithJsonEtag() {
+        // given
+        ResponseEntity<LineResponse> createResponse = 지하철_노선_등록되어_있음(lineCreateParams);
+        지하철_노선_조회_요청(createResponse).block();
+        ResponseEntity<LineResponse> jsonResponse = Objects.requireNonNull(지하철_노선_조회_요청(createResponse).block());
+        String etag = jsonResponse.getHeaders()
+                .getETag();
+        assertThat(etag).isNotNull();
+        assertThat(jsonResponse.getHeaders().getVary()).contains(HttpHeaders.ACCEPT);
+
+        // when
+        Mono<ResponseEntity<LineResponse>> response = webClient().get()
+                .uri(Objects.requireNonNull(createResponse.getHeaders().getLocation()).getPath())
+                .accept(SMILE)
+                .ifNoneMatch(etag)
+                .exchangeToMono(clientResponse -> clientResponse.toEntity(LineResponse.class));
+
+        // then
+        StepVerifier.create(response)
+                .assertNext(r -> {
+                    assertThat(r.getStatusCode()).isEqualTo(HttpStatus.OK);
+                    assertThat(r.getHeaders().getContentType()).isEqualTo(SMILE);
+                    assertThat(r.getHeaders().getETag()).isNotEqualTo(etag);
+                })
+                .verifyComplete();
+    }
+
+    /**
+     * Given 지하철 노선을 조회해서 ETag 를 받고
+     * When 헤더에 ETag 를 담아서 다시 조회하면
+     * Then 응답 상태 코드가 304 Not Modified
+     * When 지하철 노선을 수정하고 헤더에 이전 ETag 를 담아서 조회하면
+     * Then 응답 상태 코드가 200 OK, 새 ETag 가 전송된다.
+     */
+    @DisplayName("지하철 노선을 조건부로 조회한다.")
+    @Test
+    void getLineNotModified() {
+        // given
+        ResponseEntity<LineResponse> createResponse = 지하철_노선_등록되어_있음(lineCreateParams);
+        String etag = Objects.requireNonNull(지하철_노선_조회_요청(createResponse).block())
+                .getHeaders()
+                .getETag();
+        assertThat(etag).isNotNull();
+
+        // when
+        Mono<ResponseEntity<LineResponse>> notModifiedResponse = 지하철_노선_조건부_조회_요청(createResponse, etag);
+
+        // then
+        StepVerifier.create(notModifiedResponse)
+                .assertNext(r -> assertThat(r.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED))
+                .verifyComplete();
+
+        // when
+        Map<String, String> params = new HashMap<>(lineCreateParams);
+        params.put("name", "구분당선");
+        지하철_노선_수정_요청(createResponse, params).block();
+        Mono<ResponseEntity<LineResponse>> modifiedResponse = 지하철_노선_조건부_조회_요청(createResponse, etag);
+
+        // then
+        StepVerifier.create(modifiedResponse)
+                .assertNext(r -> {
+                    assertThat(r.getStatusCode()).isEqualTo(HttpStatus.OK);
+                    assertThat(r.getHeaders().getETag()).isNotEqualTo(etag);
+                    assertThat(Objects.requireNonNull(r.getBody()).getName()).isEqualTo("구분당선");
+                })
+                .verifyComplete();
+    }
+
     @DisplayName("지하철 노선을 수정한다.")
     @Test
     void updateLine() {
@@ -138,6 +269,18 @@ public class LineAcceptanceTest extends AcceptanceTest {
                 .exchangeToMono(clientResponse -> clientResponse.toEntityList(LineResponse.class));
     }
 
+    public Mono<ResponseEntity<LineResponse>> 지하철_노선_조건부_조회_요청(ResponseEntity<LineResponse> response,
+                                                                String etag) {
+        String uri = response.getHeaders().getFirst("Location");
+        assert uri != null;
+
+        return webClient().get()
+                .uri(uri)
+                .accept(MediaType.APPLICATION_JSON)
+                .ifNoneMatch(etag)
+                .exchangeToMono(clientResponse -> clientResponse.toEntity(LineResponse.class));
+    }
+
     public Mono<ResponseEntity<Void>> 지하철_노선_수정_요청(ResponseEntity<LineResponse> response,
                                                              Map<String, String> params) {
         String uri = response.getHeaders().getFirst("Location");
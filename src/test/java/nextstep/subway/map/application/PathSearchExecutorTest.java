@@ -0,0 +1,115 @@
+package nextstep.subway.map.application;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.test.StepVerifier;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("경로 계산 전용 스케줄러 테스트")
+class PathSearchExecutorTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final PathSearchExecutor pathSearchExecutor = new PathSearchExecutor(meterRegistry, 1, 1);
+
+    @AfterEach
+    void tearDown() {
+        pathSearchExecutor.dispose();
+    }
+
+    @DisplayName("전용 스레드에서 실행하고 대기 시간을 기록한다.")
+    @Test
+    void execute() {
+        // when, then
+        StepVerifier.create(pathSearchExecutor.execute(cancelled -> Thread.currentThread().getName()))
+                .assertNext(threadName -> assertThat(threadName).startsWith("path-search-"))
+                .verifyComplete();
+        assertThat(meterRegistry.get("path.search.queue").timer().count()).isEqualTo(1);
+    }
+
+    @DisplayName("스레드와 대기열이 모두 차 있으면 기다리지 않고 거절한다.")
+    @Test
+    void reject() throws InterruptedException {
+        // given
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        pathSearchExecutor.execute(cancelled -> await(started, release))
+                .subscribe();
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        pathSearchExecutor.execute(cancelled -> "queued")
+                .subscribe();
+
+        // when, then
+        StepVerifier.create(pathSearchExecutor.execute(cancelled -> "rejected"))
+                .verifyError(PathSearchRejectedException.class);
+        assertThat(meterRegistry.get("path.search.rejected").counter().count()).isEqualTo(1);
+        release.countDown();
+    }
+
+    @DisplayName("구독을 취소하면 실행 중인 계산에 취소 여부를 알린다.")
+    @Test
+    void cancel() throws InterruptedException {
+        // given
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch stopped = new CountDownLatch(1);
+        Disposable search = pathSearchExecutor.execute(cancelled -> {
+                    started.countDown();
+                    while (!cancelled.getAsBoolean()) {
+                        Thread.onSpinWait();
+                    }
+                    stopped.countDown();
+                    throw new CancellationException();
+                })
+                .subscribe();
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // when
+        search.dispose();
+
+        // then
+        assertThat(stopped.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @DisplayName("대기 중에 구독을 취소하면 대기열에서 빼서 다음 계산을 받는다.")
+    @Test
+    void cancelQueued() throws Exception {
+        // given
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        pathSearchExecutor.execute(cancelled -> await(started, release))
+                .subscribe();
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        AtomicBoolean executed = new AtomicBoolean();
+        Disposable queued = pathSearchExecutor.execute(cancelled -> executed.getAndSet(true))
+                .subscribe();
+
+        // when
+        queued.dispose();
+
+        // then
+        assertThat(meterRegistry.get("path.search.queue.size").gauge().value()).isZero();
+        CompletableFuture<String> next = pathSearchExecutor.execute(cancelled -> "next")
+                .toFuture();
+        release.countDown();
+        assertThat(next.get(5, TimeUnit.SECONDS)).isEqualTo("next");
+        assertThat(executed).isFalse();
+    }
+
+    private static String await(CountDownLatch started, CountDownLatch release) {
+        started.countDown();
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return "done";
+    }
+}
@@ -19,6 +19,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 class StationAcceptanceTest extends AcceptanceTest {
     private static final String 강남역 = "강남역";
     private static final String 역삼역 = "역삼역";
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
 
     @DisplayName("지하철역을 생성한다.")
     @Test
@@ -57,6 +58,73 @@ class StationAcceptanceTest extends AcceptanceTest {
         지하철역_목록_포함됨(response, Arrays.asList(createResponse1, createResponse2));
     }
 
+    /**
+     * When 지하철역 목록을 조회하면
+     * Then 헤더에 ETag 가 존재한다.
+     * When 헤더에 ETag 를 담아서 다시 조회하면
+     * Then 응답 상태 코드가 304 Not Modified, 바디가 비어있다.
+     * When 지하철역을 등록하고 헤더에 이전 ETag 를 담아서 조회하면
+     * Then 응답 상태 코드가 200 OK, 새 ETag 와 등록한 역이 전송된다.
+     */
+    @DisplayName("지하철역 목록을 조건부로 조회한다.")
+    @Test
+    void getStationsNotModified() {
+        // given
+        ResponseEntity<StationResponse> createResponse1 = 지하철역_등록되어_있음(강남역);
+
+        // when
+        String etag = Objects.requireNonNull(지하철역_목록_조회_요청().block())
+                .getHeaders()
+                .getETag();
+
+        // then
+        assertThat(etag).isNotNull();
+
+        // when
+        Mono<ResponseEntity<List<StationResponse>>> notModifiedResponse = 지하철역_목록_조회_요청(etag);
+
+        // then
+        StepVerifier.create(notModifiedResponse)
+                .assertNext(r -> {
+                    assertThat(r.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+                    assertThat(r.getHeaders().getETag()).isEqualTo(etag);
+                    assertThat(r.getBody()).isNullOrEmpty();
+                })
+                .verifyComplete();
+
+        // when
+        ResponseEntity<StationResponse> createResponse2 = 지하철역_등록되어_있음(역삼역);
+        ResponseEntity<List<StationResponse>> modifiedResponse = 지하철역_목록_조회_요청(etag).block();
+
+        // then
+        assertThat(Objects.requireNonNull(modifiedResponse).getHeaders().getETag()).isNotEqualTo(etag);
+        지하철역_목록_포함됨(Mono.just(modifiedResponse), Arrays.asList(createResponse1, createResponse2));
+    }
+
+    @DisplayName("지하철역 목록을 Smile 로 조회한다.")
+    @Test
+    void getStationsAsSmile() {
+        // given
+        지하철역_등록되어_있음(강남역);
+
+        // when
+        Mono<ResponseEntity<List<StationResponse>>> response = webClient().get()
+                .uri("/stations")
+                .accept(SMILE)
+                .exchangeToMono(clientResponse -> clientResponse.toEntityList(StationResponse.class));
+
+        // then
+        StepVerifier.create(response)
+                .assertNext(r -> {
+                    assertThat(r.getStatusCode()).isEqualTo(HttpStatus.OK);
+                    assertThat(r.getHeaders().getContentType()).isEqualTo(SMILE);
+                    assertThat(r.getHeaders().getETag()).contains(SMILE.getSubtype());
+                    assertThat(r.getBody()).extracting(StationResponse::getName)
+                            .containsExactly(강남역);
+                })
+                .verifyComplete();
+    }
+
     @DisplayName("지하철역을 제거한다.")
     @Test
     void deleteStation() {
@@ -78,6 +146,14 @@ class StationAcceptanceTest extends AcceptanceTest {
                 .exchangeToMono(clientResponse -> clientResponse.toEntityList(StationResponse.class));
     }
 
+    public Mono<ResponseEntity<List<StationResponse>>> 지하철역_목록_조회_요청(String etag) {
+        return webClient().get()
+                .uri("/stations")
+                .accept(MediaType.APPLICATION_JSON)
+                .ifNoneMatch(etag)
+                .exchangeToMono(clientResponse -> clientResponse.toEntityList(StationResponse.class));
+    }
+
     public Mono<ResponseEntity<Void>> 지하철역_제거_요청(String uri) {
         return webClient().delete()
                 .uri(uri)
@@ -0,0 +1,115 @@
+package nextstep.subway.station.application;
+
+import nextstep.subway.common.cache.domain.LocalCacheGenerationRepository;
+import nextstep.subway.station.domain.Station;
+import nextstep.subway.station.domain.StationNotFoundException;
+import nextstep.subway.station.domain.StationRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("역 id 필터 테스트")
+@ExtendWith(MockitoExtension.class)
+class StationIdFilterTest {
+    @Mock
+    private StationRepository stationRepository;
+
+    private StationIdFilter stationIdFilter;
+
+    @BeforeEach
+    void setUp() {
+        Station station = new Station("강남역");
+        ReflectionTestUtils.setField(station, "id", 1L);
+        when(stationRepository.findAll()).thenReturn(Flux.just(station));
+        stationIdFilter = new StationIdFilter(stationRepository, new LocalCacheGenerationRepository(),
+                                              Duration.ofSeconds(30));
+        stationIdFilter.subscribe();
+    }
+
+    @AfterEach
+    void tearDown() {
+        stationIdFilter.dispose();
+    }
+
+    @DisplayName("필터에 있는 id 는 DB 를 조회하지 않는다.")
+    @Test
+    void requireExisting() {
+        StepVerifier.create(stationIdFilter.requireExisting(1L))
+                .verifyComplete();
+
+        verify(stationRepository, never()).existsById(anyLong());
+    }
+
+    @DisplayName("필터에 없어도 DB 에 있는 id 는 통과시키고 필터에 넣는다.")
+    @Test
+    void requireExistingAddedElsewhere() {
+        // given
+        when(stationRepository.existsById(2L)).thenReturn(Mono.just(true));
+
+        // when
+        StepVerifier.create(stationIdFilter.requireExisting(1L, 2L))
+                .verifyComplete();
+        StepVerifier.create(stationIdFilter.requireExisting(2L))
+                .verifyComplete();
+
+        // then
+        verify(stationRepository, times(1)).existsById(2L);
+    }
+
+    @DisplayName("필터와 DB 에 모두 없는 id 는 거절한다.")
+    @Test
+    void requireExistingAbsent() {
+        // given
+        when(stationRepository.existsById(2L)).thenReturn(Mono.just(false));
+
+        // when, then
+        StepVerifier.create(stationIdFilter.requireExisting(1L, 2L))
+                .verifyError(StationNotFoundException.class);
+    }
+
+    @DisplayName("DB 에 없던 id 를 다시 받으면 DB 를 조회하지 않고 거절한다.")
+    @Test
+    void requireExistingKnownAbsent() {
+        // given
+        when(stationRepository.existsById(2L)).thenReturn(Mono.just(false));
+        StepVerifier.create(stationIdFilter.requireExisting(2L))
+                .verifyError(StationNotFoundException.class);
+
+        // when, then
+        StepVerifier.create(stationIdFilter.requireExisting(2L))
+                .verifyError(StationNotFoundException.class);
+        verify(stationRepository, times(1)).existsById(2L);
+    }
+
+    @DisplayName("없던 id 의 역이 추가되면 다시 통과시킨다.")
+    @Test
+    void requireExistingAddedAfterAbsent() {
+        // given
+        when(stationRepository.existsById(2L)).thenReturn(Mono.just(false));
+        StepVerifier.create(stationIdFilter.requireExisting(2L))
+                .verifyError(StationNotFoundException.class);
+
+        // when
+        stationIdFilter.add(2L);
+
+        // then
+        StepVerifier.create(stationIdFilter.requireExisting(2L))
+                .verifyComplete();
+    }
+}
@@ -1,7 +1,11 @@
 package nextstep.subway.utils;
 
+import nextstep.subway.common.cache.domain.CacheGenerationRepository;
+import nextstep.subway.common.cache.domain.CacheRepository;
+import nextstep.subway.common.cache.domain.OffHeapCacheRepository;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.test.context.ActiveProfiles;
 
@@ -13,13 +17,24 @@ import java.util.stream.Collectors;
 @Service
 @ActiveProfiles("test")
 public class DatabaseCleanup implements InitializingBean {
+    private static final String GENERATIONS_KEY = "reactive-cache:generations";
+    private static final int DELETE_BATCH_SIZE = 100;
+
     private final R2dbcEntityTemplate template;
+    private final ReactiveStringRedisTemplate reactiveStringRedisTemplate;
+    private final CacheRepository<String, Object> cacheRepository;
+    private final CacheGenerationRepository cacheGenerationRepository;
 
     private boolean initProperties = false;
     private List<String> tableNames;
 
-    public DatabaseCleanup(R2dbcEntityTemplate template) {
+    public DatabaseCleanup(R2dbcEntityTemplate template, ReactiveStringRedisTemplate reactiveStringRedisTemplate,
+                           CacheRepository<String, Object> cacheRepository,
+                           CacheGenerationRepository cacheGenerationRepository) {
         this.template = template;
+        this.reactiveStringRedisTemplate = reactiveStringRedisTemplate;
+        this.cacheRepository = cacheRepository;
+        this.cacheGenerationRepository = cacheGenerationRepository;
     }
 
     @Override
@@ -59,5 +74,20 @@ public class DatabaseCleanup implements InitializingBean {
                 .fetch()
                 .rowsUpdated()
                 .block();
+
+        // 캐시는 변경을 직접 반영하므로 DB 를 비우면 캐시도 비운다.
+        // 세대 번호는 지우지 않고 올려서 이전 테스트가 저장한 세대의 값을 다시 읽지 않게 한다.
+        reactiveStringRedisTemplate.scan()
+                .filter(key -> !GENERATIONS_KEY.equals(key))
+                .buffer(DELETE_BATCH_SIZE)
+                .concatMap(keys -> reactiveStringRedisTemplate.delete(keys.toArray(String[]::new)))
+                .then(reactiveStringRedisTemplate.<String, String>opsForHash()
+                              .keys(GENERATIONS_KEY)
+                              .collectList())
+                .flatMap(cacheGenerationRepository::increment)
+                .block();
+        if (cacheRepository instanceof OffHeapCacheRepository) {
+            ((OffHeapCacheRepository) cacheRepository).clear();
+        }
     }
 }